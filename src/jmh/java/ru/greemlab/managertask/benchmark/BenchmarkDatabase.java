@@ -0,0 +1,40 @@
+package ru.greemlab.managertask.benchmark;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * PostgreSQL из Testcontainers со схемой, созданной миграциями Liquibase приложения.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+    private final Connection connection;
+
+    BenchmarkDatabase() throws Exception {
+        postgres.start();
+        connection = DriverManager.getConnection(
+                postgres.getJdbcUrl() + "&reWriteBatchedInserts=true", postgres.getUsername(), postgres.getPassword());
+        var liquibase = new Liquibase("db/changelog/db.changelog-master.yml",
+                new ClassLoaderResourceAccessor(), new JdbcConnection(connection));
+        liquibase.update(new Contexts(), new LabelExpression());
+    }
+
+    Connection connection() {
+        return connection;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+}
@@ -0,0 +1,143 @@
+package ru.greemlab.managertask.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Страница свежих комментариев задачи на большой истории: таблица {@code task_comments} с разделами
+ * по месяцам против одной таблицы, как до перехода на разделы.
+ * <p>
+ * Комментарии равномерно распределены по задачам и по последним 24 месяцам. Запрос повторяет
+ * {@code TaskCommentRepository.findResponsesByTaskIdAfter} с курсором месячной давности для случайной задачи.
+ * Индексы в обоих вариантах одинаковые и строятся после загрузки. Загрузка 50 000 000 комментариев
+ * занимает десятки минут и несколько десятков гигабайт диска, количество задается параметром {@code comments}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommentPartitionBenchmark {
+
+    private static final int TASKS = 100_000;
+    private static final int MONTHS = 24;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String HEAP_TABLE = """
+            create table task_comments_heap
+            (
+                id            bigint primary key,
+                task_id       bigint    not null references tasks (id) on delete cascade,
+                user_id       bigint    not null references users (id) on delete cascade,
+                comment       text      not null,
+                created_at    timestamp not null,
+                search_vector tsvector generated always as (
+                    setweight(to_tsvector('russian', coalesce(comment, '')), 'C')) stored
+            )""";
+    private static final String LOAD_COMMENTS = """
+            insert into %s (id, task_id, user_id, comment, created_at)
+            select g, 1 + g %% %d, 1 + g %% 2, 'Комментарий ' || g,
+                   ?::timestamp - (? - g) * (interval '1 month' * %d / ?)
+            from generate_series(1, ?) g""";
+    private static final String RECENT_PAGE = """
+            select c.id, c.comment, c.task_id, u.id, u.email, c.created_at
+            from %s c join users u on u.id = c.user_id
+            where c.task_id = ? and c.created_at >= ? and (c.created_at > ? or c.id > ?)
+            order by c.created_at, c.id fetch first ? rows only""";
+
+    @Param({"partitioned", "heap"})
+    private String layout;
+
+    @Param("50000000")
+    private long comments;
+
+    private BenchmarkDatabase database;
+    private Connection connection;
+    private String recentPage;
+    private LocalDateTime cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = new BenchmarkDatabase();
+        connection = database.connection();
+        var table = "partitioned".equals(layout) ? "task_comments" : "task_comments_heap";
+        var now = LocalDateTime.now().withNano(0);
+        populate(table, now);
+        recentPage = RECENT_PAGE.formatted(table);
+        cursor = now.minusMonths(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        database.close();
+    }
+
+    @Benchmark
+    public void recentPage(Blackhole blackhole) throws SQLException {
+        try (var statement = connection.prepareStatement(recentPage)) {
+            statement.setLong(1, ThreadLocalRandom.current().nextLong(1, TASKS + 1));
+            statement.setObject(2, cursor);
+            statement.setObject(3, cursor);
+            statement.setLong(4, 0L);
+            statement.setInt(5, PAGE_SIZE + 1);
+            consume(statement, blackhole);
+        }
+    }
+
+    private void populate(String table, LocalDateTime now) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("""
+                    insert into tasks (id, title, description, status, priority, author_id, assignee_id)
+                    select g, 'Задача ' || g, 'Описание задачи ' || g, 'PENDING', 'LOW', 1 + g %% 2, 2 - g %% 2
+                    from generate_series(1, %d) g""".formatted(TASKS));
+            if ("task_comments".equals(table)) {
+                statement.execute("drop index idx_task_comments_task_id_created_at_id");
+                statement.execute("drop index idx_task_comments_user_id");
+                statement.execute("drop index idx_task_comments_search_vector");
+                try (var partitions = connection.prepareStatement(
+                        "select task_comments_create_partitions(?, ?)")) {
+                    partitions.setObject(1, now.minusMonths(MONTHS).toLocalDate());
+                    partitions.setObject(2, now.toLocalDate());
+                    partitions.execute();
+                }
+            } else {
+                statement.execute(HEAP_TABLE);
+            }
+        }
+        try (var load = connection.prepareStatement(LOAD_COMMENTS.formatted(table, TASKS, MONTHS))) {
+            load.setObject(1, now);
+            load.setLong(2, comments);
+            load.setLong(3, comments);
+            load.setLong(4, comments);
+            load.execute();
+        }
+        try (var statement = connection.createStatement()) {
+            statement.execute("create index on %s (task_id, created_at, id)".formatted(table));
+            statement.execute("create index on %s (user_id)".formatted(table));
+            statement.execute("create index on %s using gin (search_vector)".formatted(table));
+            statement.execute("vacuum analyze");
+        }
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (var resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+    }
+}
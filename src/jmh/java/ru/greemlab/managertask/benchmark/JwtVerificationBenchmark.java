@@ -0,0 +1,74 @@
+package ru.greemlab.managertask.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.greemlab.managertask.domain.model.Role;
+import ru.greemlab.managertask.domain.model.User;
+import ru.greemlab.managertask.domain.model.VerifiedToken;
+import ru.greemlab.managertask.service.JwtService;
+import ru.greemlab.managertask.service.TokenVersionService;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость проверки JWT на один запрос.
+ * <p>
+ * {@code legacy} повторяет прежний путь фильтра: три разбора токена, каждый с декодированием секрета,
+ * созданием HMAC ключа и нового парсера. {@code singleParse} - текущий {@link JwtService#verify(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "53A73E5F1C4E0A2FSDFGKLDJFGKJLKFJGKLJFGLKDJLKGJFLKJGFLKJFDKLJGFKK";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // Проверка отзыва токена в замерах не участвует, хранилище версий не нужно.
+        jwtService = new JwtService(SECRET, new TokenVersionService(null, null));
+        token = jwtService.generateToken(User.builder()
+                .id(1L)
+                .username("admin")
+                .email("admin@mail.ru")
+                .role(Role.ROLE_ADMIN)
+                .build());
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        var email = legacyClaims().getSubject();
+        var validEmail = legacyClaims().getSubject();
+        var expiration = legacyClaims().getExpiration();
+        blackhole.consume(email.equals(validEmail) && !expiration.before(new Date()));
+    }
+
+    @Benchmark
+    public VerifiedToken singleParse() {
+        return jwtService.verify(token);
+    }
+
+    private Claims legacyClaims() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,180 @@
+package ru.greemlab.managertask.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Глубокие страницы списков задач и комментариев: {@code OFFSET} с подсчетом количества
+ * против вывода по курсору.
+ * <p>
+ * Схема создается миграциями Liquibase приложения в PostgreSQL из Testcontainers,
+ * поэтому запросы используют те же индексы, что и в рабочей базе.
+ * Запросы повторяют SQL, который Hibernate строит для методов репозиториев.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeysetPaginationBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int COMMENT_TASKS = 2;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String OFFSET_TASKS = """
+            select t.id, t.title, t.description, t.status, t.priority, t.author_id, t.assignee_id
+            from tasks t where t.author_id = ? order by t.id desc offset ? limit ?""";
+    private static final String COUNT_TASKS = "select count(t.id) from tasks t where t.author_id = ?";
+    private static final String KEYSET_TASKS = """
+            select t.id, t.title, t.description, t.status, t.priority, t.author_id, t.assignee_id
+            from tasks t where t.author_id = ? and t.id < ? order by t.id desc fetch first ? rows only""";
+
+    private static final String OFFSET_COMMENTS = """
+            select c.id, c.comment, c.task_id, u.id, u.email, c.created_at
+            from task_comments c join users u on u.id = c.user_id
+            where c.task_id = ? order by c.created_at, c.id offset ? limit ?""";
+    private static final String COUNT_COMMENTS = "select count(c.id) from task_comments c where c.task_id = ?";
+    private static final String KEYSET_COMMENTS = """
+            select c.id, c.comment, c.task_id, u.id, u.email, c.created_at
+            from task_comments c join users u on u.id = c.user_id
+            where c.task_id = ? and c.created_at >= ? and (c.created_at > ? or c.id > ?)
+            order by c.created_at, c.id fetch first ? rows only""";
+
+    @Param({"10", "1000", "20000"})
+    private int page;
+
+    private BenchmarkDatabase database;
+    private Connection connection;
+    private long commentTaskId;
+    private long taskCursor;
+    private Timestamp commentCursorCreatedAt;
+    private long commentCursorId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = new BenchmarkDatabase();
+        connection = database.connection();
+        populate();
+        taskCursor = lastTaskIdBeforePage();
+        lastCommentBeforePage();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        database.close();
+    }
+
+    @Benchmark
+    public void offsetTasks(Blackhole blackhole) throws SQLException {
+        try (var statement = connection.prepareStatement(OFFSET_TASKS)) {
+            statement.setLong(1, 1L);
+            statement.setInt(2, page * PAGE_SIZE);
+            statement.setInt(3, PAGE_SIZE);
+            consume(statement, blackhole);
+        }
+        try (var statement = connection.prepareStatement(COUNT_TASKS)) {
+            statement.setLong(1, 1L);
+            consume(statement, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void keysetTasks(Blackhole blackhole) throws SQLException {
+        try (var statement = connection.prepareStatement(KEYSET_TASKS)) {
+            statement.setLong(1, 1L);
+            statement.setLong(2, taskCursor);
+            statement.setInt(3, PAGE_SIZE + 1);
+            consume(statement, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void offsetComments(Blackhole blackhole) throws SQLException {
+        try (var statement = connection.prepareStatement(OFFSET_COMMENTS)) {
+            statement.setLong(1, commentTaskId);
+            statement.setInt(2, page * PAGE_SIZE);
+            statement.setInt(3, PAGE_SIZE);
+            consume(statement, blackhole);
+        }
+        try (var statement = connection.prepareStatement(COUNT_COMMENTS)) {
+            statement.setLong(1, commentTaskId);
+            consume(statement, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void keysetComments(Blackhole blackhole) throws SQLException {
+        try (var statement = connection.prepareStatement(KEYSET_COMMENTS)) {
+            statement.setLong(1, commentTaskId);
+            statement.setTimestamp(2, commentCursorCreatedAt);
+            statement.setTimestamp(3, commentCursorCreatedAt);
+            statement.setLong(4, commentCursorId);
+            statement.setInt(5, PAGE_SIZE + 1);
+            consume(statement, blackhole);
+        }
+    }
+
+    private void populate() throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("""
+                    insert into tasks (title, description, status, priority, author_id, assignee_id)
+                    select 'Задача ' || g, 'Описание задачи ' || g, 'PENDING', 'LOW', 1 + g %% 2, 2 - g %% 2
+                    from generate_series(1, %d) g""".formatted(ROWS));
+            statement.execute("select task_comments_create_partitions(date '2025-01-01', date '2025-01-01')");
+            statement.execute("""
+                    insert into task_comments (task_id, user_id, comment, created_at)
+                    select 1 + g %% %d, 1 + g %% 2, 'Комментарий ' || g,
+                           timestamp '2025-01-01' + g * interval '1 millisecond'
+                    from generate_series(1, %d) g""".formatted(COMMENT_TASKS, ROWS));
+            statement.execute("analyze");
+        }
+        commentTaskId = 1L;
+    }
+
+    private long lastTaskIdBeforePage() throws SQLException {
+        try (var statement = connection.prepareStatement(
+                "select id from tasks where author_id = 1 order by id desc offset ? limit 1")) {
+            statement.setInt(1, page * PAGE_SIZE - 1);
+            try (var resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private void lastCommentBeforePage() throws SQLException {
+        try (var statement = connection.prepareStatement(
+                "select created_at, id from task_comments where task_id = ? order by created_at, id offset ? limit 1")) {
+            statement.setLong(1, commentTaskId);
+            statement.setInt(2, page * PAGE_SIZE - 1);
+            try (var resultSet = statement.executeQuery()) {
+                resultSet.next();
+                commentCursorCreatedAt = resultSet.getTimestamp(1);
+                commentCursorId = resultSet.getLong(2);
+            }
+        }
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+    }
+}
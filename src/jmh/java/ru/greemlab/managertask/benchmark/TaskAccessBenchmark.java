@@ -0,0 +1,109 @@
+package ru.greemlab.managertask.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.util.SimpleMethodInvocation;
+import ru.greemlab.managertask.config.TaskAccessAuthorizationManager;
+import ru.greemlab.managertask.domain.dto.TaskCreateRequest;
+import ru.greemlab.managertask.domain.model.Role;
+import ru.greemlab.managertask.domain.model.TaskOwnership;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+import ru.greemlab.managertask.domain.model.User;
+import ru.greemlab.managertask.service.TaskOwnershipLoader;
+import ru.greemlab.managertask.service.TaskService;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость проверки доступа к методу {@link TaskService}.
+ * <p>
+ * {@code spel*} повторяет прежнюю проверку {@code @PreAuthorize}: контекст вычисления
+ * и выражение SpEL на каждый вызов. {@code compiled*} - текущий {@link TaskAccessAuthorizationManager}.
+ * Владельцы задачи в обоих случаях берутся из памяти, чтобы измерялась только сама проверка.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskAccessBenchmark {
+
+    private final TaskOwnership ownership = new TaskOwnership(3L, 1L, "admin@mail.ru", 2L, "user@mail.ru");
+
+    private Authentication authentication;
+    private SimpleMethodInvocation updateStatus;
+    private SimpleMethodInvocation createTask;
+    private DefaultMethodSecurityExpressionHandler expressionHandler;
+    private Expression assigneeExpression;
+    private Expression roleExpression;
+    private TaskAccessAuthorizationManager manager;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        var user = User.builder().id(2L).email("user@mail.ru").role(Role.ROLE_USER).build();
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        updateStatus = new SimpleMethodInvocation(null,
+                TaskService.class.getMethod("updateStatus", Long.class, TaskStatus.class), 3L, TaskStatus.COMPLETED);
+        createTask = new SimpleMethodInvocation(null,
+                TaskService.class.getMethod("createTask", TaskCreateRequest.class), (Object) null);
+
+        expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setPermissionEvaluator(new OwnershipPermissionEvaluator());
+        var parser = expressionHandler.getExpressionParser();
+        assigneeExpression = parser.parseExpression("hasRole('ADMIN') or hasPermission(#taskId, 'Task', 'assignee')");
+        roleExpression = parser.parseExpression("hasAnyRole('ADMIN', 'USER')");
+
+        manager = new TaskAccessAuthorizationManager(new TaskOwnershipLoader(null) {
+            @Override
+            public TaskOwnership load(Long taskId) {
+                return ownership;
+            }
+        });
+    }
+
+    @Benchmark
+    public boolean spelAssignee() {
+        var context = expressionHandler.createEvaluationContext(() -> authentication, updateStatus);
+        return ExpressionUtils.evaluateAsBoolean(assigneeExpression, context);
+    }
+
+    @Benchmark
+    public boolean compiledAssignee() {
+        return manager.check(() -> authentication, updateStatus).isGranted();
+    }
+
+    @Benchmark
+    public boolean spelRole() {
+        var context = expressionHandler.createEvaluationContext(() -> authentication, createTask);
+        return ExpressionUtils.evaluateAsBoolean(roleExpression, context);
+    }
+
+    @Benchmark
+    public boolean compiledRole() {
+        return manager.check(() -> authentication, createTask).isGranted();
+    }
+
+    private class OwnershipPermissionEvaluator implements PermissionEvaluator {
+
+        @Override
+        public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+            return false;
+        }
+
+        @Override
+        public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType,
+                                     Object permission) {
+            return ownership.isAssignee(authentication.getName());
+        }
+    }
+}
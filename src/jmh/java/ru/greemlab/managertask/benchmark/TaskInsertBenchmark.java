@@ -0,0 +1,113 @@
+package ru.greemlab.managertask.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вставка 100 000 задач.
+ * <p>
+ * {@code identityRowByRow} повторяет поведение Hibernate с {@code GenerationType.IDENTITY}:
+ * каждая строка - отдельный запрос, чтобы получить сгенерированный ID.
+ * {@code pooledSequenceBatched} повторяет текущую схему: ID берутся из последовательности
+ * по 50 за одно обращение, строки отправляются пакетами по {@code hibernate.jdbc.batch_size},
+ * а драйвер с {@code reWriteBatchedInserts} склеивает пакет в многострочный INSERT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class TaskInsertBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int BATCH_SIZE = 50;
+
+    private BenchmarkDatabase database;
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = new BenchmarkDatabase();
+        connection = database.connection();
+        connection.setAutoCommit(false);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("truncate table tasks cascade");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        database.close();
+    }
+
+    @Benchmark
+    public void identityRowByRow() throws SQLException {
+        try (var insert = connection.prepareStatement("""
+                insert into tasks (title, description, status, priority, author_id, assignee_id)
+                values (?, ?, ?, ?, ?, ?) returning id""")) {
+            for (var i = 0; i < ROWS; i++) {
+                bind(insert, 1, i);
+                try (var resultSet = insert.executeQuery()) {
+                    resultSet.next();
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    public void pooledSequenceBatched() throws SQLException {
+        try (var nextval = connection.prepareStatement("select nextval('tasks_id_seq')");
+             var insert = connection.prepareStatement("""
+                     insert into tasks (id, title, description, status, priority, author_id, assignee_id)
+                     values (?, ?, ?, ?, ?, ?, ?)""")) {
+            long nextId = 0;
+            long maxId = -1;
+            for (var i = 0; i < ROWS; i++) {
+                if (nextId > maxId) {
+                    try (var resultSet = nextval.executeQuery()) {
+                        resultSet.next();
+                        maxId = resultSet.getLong(1);
+                        nextId = maxId - BATCH_SIZE + 1;
+                    }
+                }
+                insert.setLong(1, nextId++);
+                bind(insert, 2, i);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private static void bind(PreparedStatement insert, int first, int i) throws SQLException {
+        insert.setString(first, "Задача " + i);
+        insert.setString(first + 1, "Описание задачи " + i);
+        insert.setString(first + 2, "PENDING");
+        insert.setString(first + 3, "LOW");
+        insert.setLong(first + 4, 1L);
+        insert.setLong(first + 5, 2L);
+    }
+}
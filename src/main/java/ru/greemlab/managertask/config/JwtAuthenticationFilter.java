@@ -7,19 +7,27 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import ru.greemlab.managertask.domain.model.VerifiedToken;
 import ru.greemlab.managertask.service.JwtService;
 import ru.greemlab.managertask.service.UserService;
+import ru.greemlab.managertask.service.VerifiedTokenCache;
 
 import java.io.IOException;
 
 /**
  * Фильтр аутентификации JWT.
  * Проверяет наличие JWT в заголовке запроса и валидирует его.
+ * <p>
+ * В режиме {@code app.jwt.stateless} пользователь строится из клеймов токена без запроса к базе данных,
+ * а отзыв токенов проверяется по версии из {@link ru.greemlab.managertask.service.TokenVersionService}.
+ * Повторно присланные токены берутся из {@link VerifiedTokenCache} без повторной проверки подписи.
  */
 @Component
 @RequiredArgsConstructor
@@ -30,6 +38,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserService userService;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${app.jwt.stateless:false}")
+    private boolean stateless;
 
     /**
      * Метод, выполняющий фильтрацию запроса на наличие и валидность JWT.
@@ -54,13 +66,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         var jwt = authHeader.substring(BEARER_PREFIX.length());
-        var email = jwtService.extractEmail(jwt);
+        var token = verifiedTokenCache.get(jwt, jwtService::verify);
+        var email = token.subject();
 
         if (StringUtils.isNoneEmpty(email) && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userDetails = userService
-                    .userDetailsService()
-                    .loadUserByUsername(email);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            var userDetails = resolveUser(token);
+            if (userDetails != null) {
                 var context = SecurityContextHolder.createEmptyContext();
 
                 var authToken = new UsernamePasswordAuthenticationToken(
@@ -76,4 +87,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Определяет пользователя по токену.
+     * В stateless режиме пользователь берется из клеймов, иначе загружается из базы данных.
+     *
+     * @param token Проверенный токен.
+     * @return Пользователь или null, если токен не может быть принят.
+     */
+    private UserDetails resolveUser(VerifiedToken token) {
+        if (stateless && token.hasPrincipalClaims()) {
+            return jwtService.isTokenCurrent(token) ? token.toPrincipal() : null;
+        }
+        var userDetails = userService
+                .userDetailsService()
+                .loadUserByUsername(token.subject());
+        return jwtService.isTokenValid(token, userDetails) ? userDetails : null;
+    }
 }
@@ -0,0 +1,13 @@
+package ru.greemlab.managertask.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Включает задачи по расписанию, например сверку счетчиков задач.
+ * Расписание задачи можно отключить значением {@code "-"}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
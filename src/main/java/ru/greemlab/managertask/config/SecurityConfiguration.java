@@ -1,11 +1,19 @@
 package ru.greemlab.managertask.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Role;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -38,6 +46,7 @@ public class SecurityConfiguration {
     /**
      * Настройка безопасности для HTTP.
      * Определяет доступные URL, разрешения и настройку CORS.
+     * Асинхронная отправка потокового ответа не проверяется повторно: права уже проверены в исходном запросе.
      *
      * @param http Объект HttpSecurity для настройки.
      * @return Конфигурация безопасности.
@@ -55,12 +64,16 @@ public class SecurityConfiguration {
                     return corsConfiguration;
                 }))
                 .authorizeHttpRequests(request -> request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers(
                                 "/swagger-ui/**",
                                 "/swagger-resources/*",
                                 "/v3/api-docs/**").permitAll()
                         .requestMatchers("/").permitAll()
+                        .requestMatchers("/error").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(
                                 "/api/v1/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
@@ -94,6 +107,23 @@ public class SecurityConfiguration {
         return authProvider;
     }
 
+    /**
+     * Перехватчик для методов с аннотацией {@link TaskAccess}.
+     * Выполняется на том же месте цепочки, что и {@code @PreAuthorize}.
+     *
+     * @param taskAccessAuthorizationManager Проверка правил доступа к задачам.
+     * @return Advisor для method security.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor taskAccessAuthorizationAdvisor(@Lazy TaskAccessAuthorizationManager taskAccessAuthorizationManager) {
+        var interceptor = new AuthorizationManagerBeforeMethodInterceptor(
+                new AnnotationMatchingPointcut(null, TaskAccess.class, true),
+                taskAccessAuthorizationManager);
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
+    }
+
     /**
      * Создание AuthenticationManager для аутентификации пользователей.
      *
@@ -0,0 +1,56 @@
+package ru.greemlab.managertask.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Проверка доступа к методу сервиса задач по правилу {@link TaskRule}.
+ * <p>
+ * Заменяет {@code @PreAuthorize} с выражениями SpEL: проверку выполняет
+ * {@link TaskAccessAuthorizationManager} до вызова метода.
+ * ID задачи, автора или исполнителя берется из первого аргумента метода.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TaskAccess {
+
+    /**
+     * Правило доступа.
+     */
+    TaskRule value();
+
+    /**
+     * Что передано в первом аргументе метода.
+     */
+    Subject subject() default Subject.NONE;
+
+    /**
+     * Объект проверки.
+     */
+    enum Subject {
+
+        /**
+         * Правило зависит только от роли пользователя.
+         */
+        NONE,
+
+        /**
+         * Первый аргумент - ID задачи, владельцы загружаются из базы данных.
+         */
+        TASK,
+
+        /**
+         * Первый аргумент - ID автора задач.
+         */
+        AUTHOR,
+
+        /**
+         * Первый аргумент - ID исполнителя задач.
+         */
+        ASSIGNEE
+    }
+}
@@ -0,0 +1,69 @@
+package ru.greemlab.managertask.config;
+
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import ru.greemlab.managertask.domain.model.AccessPrincipal;
+import ru.greemlab.managertask.domain.model.TaskOwnership;
+import ru.greemlab.managertask.service.TaskOwnershipLoader;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Проверка доступа для методов с аннотацией {@link TaskAccess}.
+ * <p>
+ * Аннотация метода читается один раз и запоминается, дальше проверка сводится
+ * к вызову предиката {@link TaskRule}. Владельцы задачи загружаются только когда правило
+ * действительно их проверяет. Решение возвращает {@link #authorize(Supplier, MethodInvocation)},
+ * устаревший {@code check} остается только потому, что его требует интерфейс.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskAccessAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private final TaskOwnershipLoader taskOwnershipLoader;
+    private final Map<Method, TaskAccess> accessByMethod = new ConcurrentHashMap<>();
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        return decide(authentication, invocation);
+    }
+
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        return decide(authentication, invocation);
+    }
+
+    private AuthorizationDecision decide(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        var access = accessByMethod.computeIfAbsent(invocation.getMethod(), TaskAccessAuthorizationManager::findAccess);
+        var principal = AccessPrincipal.of(authentication.get());
+        var arguments = invocation.getArguments();
+        return new AuthorizationDecision(access.value().test(principal, () -> subject(access.subject(), arguments)));
+    }
+
+    private TaskOwnership subject(TaskAccess.Subject subject, Object[] arguments) {
+        return switch (subject) {
+            case NONE -> null;
+            case TASK -> taskOwnershipLoader.load((Long) arguments[0]);
+            case AUTHOR -> TaskOwnership.ofAuthor((Long) arguments[0]);
+            case ASSIGNEE -> TaskOwnership.ofAssignee((Long) arguments[0]);
+        };
+    }
+
+    private static TaskAccess findAccess(Method method) {
+        var access = AnnotationUtils.findAnnotation(method, TaskAccess.class);
+        if (access == null) {
+            throw new IllegalStateException("Нет аннотации @TaskAccess: " + method);
+        }
+        return access;
+    }
+}
@@ -0,0 +1,100 @@
+package ru.greemlab.managertask.config;
+
+import ru.greemlab.managertask.domain.model.AccessPrincipal;
+import ru.greemlab.managertask.domain.model.TaskOwnership;
+
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Правила доступа к задачам.
+ * <p>
+ * Каждое правило - обычный предикат над пользователем и владельцами задачи, поэтому проверка
+ * не разбирает выражения и не обращается к бинам через рефлексию. Правила проверяет перехватчик
+ * {@link TaskAccess} для отдельных задач. Списки задач, поиск и подсказки не проверяют каждую задачу,
+ * а добавляют в запрос условие {@code author_id = :userScope or assignee_id = :userScope} - форму правила
+ * {@link #PARTICIPANT} для базы данных. Значение {@code userScope} дает {@link #listScope(AccessPrincipal)}.
+ */
+public enum TaskRule {
+
+    /**
+     * Любой пользователь с ролью.
+     */
+    AUTHENTICATED(false, (principal, task) -> principal.role() != null),
+
+    /**
+     * Только администратор.
+     */
+    ADMIN(true, (principal, task) -> false),
+
+    /**
+     * Администратор или автор задачи.
+     */
+    AUTHOR(true, (principal, task) -> task != null
+            && principal.is(task.authorId(), task.authorEmail())),
+
+    /**
+     * Администратор или исполнитель задачи.
+     */
+    ASSIGNEE(true, (principal, task) -> task != null
+            && principal.is(task.assigneeId(), task.assigneeEmail())),
+
+    /**
+     * Администратор, автор или исполнитель задачи.
+     */
+    PARTICIPANT(true, (principal, task) -> task != null
+            && (principal.is(task.authorId(), task.authorEmail())
+                || principal.is(task.assigneeId(), task.assigneeEmail())));
+
+    private final boolean adminBypass;
+    private final BiPredicate<AccessPrincipal, TaskOwnership> predicate;
+
+    TaskRule(boolean adminBypass, BiPredicate<AccessPrincipal, TaskOwnership> predicate) {
+        this.adminBypass = adminBypass;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Проверяет правило.
+     * Для администратора владельцы задачи не загружаются, если правило его пропускает.
+     *
+     * @param principal Текущий пользователь.
+     * @param task      Загрузка владельцев задачи, может вернуть null, если правило их не использует.
+     * @return true, если доступ разрешен.
+     */
+    public boolean test(AccessPrincipal principal, Supplier<TaskOwnership> task) {
+        if (adminBypass && principal.isAdmin()) {
+            return true;
+        }
+        return predicate.test(principal, task.get());
+    }
+
+    /**
+     * Ограничение видимости для списков задач по этому правилу.
+     * Пользователь, которого правило пропускает без проверки владельцев, видит все задачи.
+     *
+     * @param principal Текущий пользователь с известным ID.
+     * @return ID пользователя, который должен быть автором или исполнителем задачи, null без ограничения.
+     * @throws IllegalStateException если у правила нет формы для списков.
+     */
+    public Long listScope(AccessPrincipal principal) {
+        if (adminBypass && principal.isAdmin()) {
+            return null;
+        }
+        if (this != PARTICIPANT) {
+            throw new IllegalStateException("Правило не ограничивает списки задач: " + this);
+        }
+        return principal.userId();
+    }
+
+    /**
+     * Проверяет правило для уже загруженных владельцев задачи.
+     *
+     * @param principal Текущий пользователь.
+     * @param task      Владельцы задачи.
+     * @return true, если доступ разрешен.
+     */
+    public boolean test(AccessPrincipal principal, TaskOwnership task) {
+        return test(principal, () -> task);
+    }
+}
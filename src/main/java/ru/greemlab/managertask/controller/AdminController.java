@@ -7,13 +7,21 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import ru.greemlab.managertask.domain.dto.CommentPartition;
+import ru.greemlab.managertask.domain.dto.CountersRepairResponse;
+import ru.greemlab.managertask.domain.dto.PartitionDetachResponse;
 import ru.greemlab.managertask.domain.dto.UpdateUserRoleRequest;
 import ru.greemlab.managertask.domain.model.User;
+import ru.greemlab.managertask.service.TaskCommentPartitionService;
+import ru.greemlab.managertask.service.TaskCounterService;
 import ru.greemlab.managertask.service.UserService;
 
+import java.time.YearMonth;
+import java.util.List;
+
 /**
  * Контроллер для управления пользователями администраторами.
- * Позволяет обновлять роль пользователя.
+ * Позволяет обновлять роль пользователя, сверять счетчики задач и обслуживать разделы комментариев.
  */
 @RestController
 @RequestMapping("/api/v1/admin")
@@ -21,6 +29,8 @@ import ru.greemlab.managertask.service.UserService;
 public class AdminController {
 
     private final UserService userService;
+    private final TaskCounterService taskCounterService;
+    private final TaskCommentPartitionService partitionService;
 
     /**
      * Метод для повышения пользователя до роли администратора.
@@ -42,4 +52,60 @@ public class AdminController {
     public User makeAdmin(@RequestBody UpdateUserRoleRequest request) {
         return userService.updateUserRole(request.username(), request.role());
     }
+
+    /**
+     * Внеплановая сверка счетчиков задач с задачами.
+     * Доступно только для пользователей с ролью "ADMIN".
+     *
+     * @return Количество исправленных счетчиков.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/task-counters/reconcile")
+    @Operation(summary = "Сверка счетчиков задач",
+            description = "Этот метод пересчитывает счетчики задач по исполнителям и исправляет расхождения. Исполнители сверяются порциями без блокировки таблицы задач. Доступно только для пользователей с ролью 'ADMIN'.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Счетчики сверены"),
+            @ApiResponse(responseCode = "403", description = "Недостаточно прав для выполнения операции")
+    })
+    public CountersRepairResponse reconcileTaskCounters() {
+        return new CountersRepairResponse(taskCounterService.reconcile());
+    }
+
+    /**
+     * Получение разделов таблицы комментариев.
+     * Доступно только для пользователей с ролью "ADMIN".
+     *
+     * @return Разделы в порядке месяцев.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/comment-partitions")
+    @Operation(summary = "Разделы комментариев",
+            description = "Этот метод возвращает разделы таблицы комментариев по месяцам с оценкой количества комментариев. Доступно только для пользователей с ролью 'ADMIN'.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Разделы получены"),
+            @ApiResponse(responseCode = "403", description = "Недостаточно прав для выполнения операции")
+    })
+    public List<CommentPartition> getCommentPartitions() {
+        return partitionService.getPartitions();
+    }
+
+    /**
+     * Отсоединение раздела комментариев за прошедший месяц для выгрузки в архив.
+     * Доступно только для пользователей с ролью "ADMIN".
+     *
+     * @param month Месяц раздела.
+     * @return Имя архивной таблицы и количество отсоединенных комментариев.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/comment-partitions/{month}/detach")
+    @Operation(summary = "Отсоединение раздела комментариев",
+            description = "Этот метод отсоединяет раздел комментариев за прошедший месяц и оставляет его отдельной таблицей для выгрузки в архив. Комментарии раздела перестают быть видны, счетчики комментариев задач пересчитываются. Доступно только для пользователей с ролью 'ADMIN'.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Раздел отсоединен"),
+            @ApiResponse(responseCode = "403", description = "Недостаточно прав для выполнения операции"),
+            @ApiResponse(responseCode = "409", description = "Месяц еще не закончился")
+    })
+    public PartitionDetachResponse detachCommentPartition(@PathVariable YearMonth month) {
+        return partitionService.detach(month);
+    }
 }
@@ -0,0 +1,83 @@
+package ru.greemlab.managertask.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.greemlab.managertask.domain.dto.TaskExportFilter;
+import ru.greemlab.managertask.domain.model.ExportFormat;
+import ru.greemlab.managertask.service.TaskExportService;
+
+/**
+ * Контроллер для выгрузки задач и комментариев администраторами.
+ * Ответ пишется потоком по мере чтения из базы данных, без загрузки всей выгрузки в память.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final TaskExportService taskExportService;
+
+    /**
+     * Выгрузка задач.
+     *
+     * @param filter Условие выбора задач.
+     * @param format Формат выгрузки.
+     * @return Поток с задачами.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/tasks")
+    @Operation(summary = "Выгрузка задач",
+            description = "Этот метод выгружает задачи в формате NDJSON или CSV. Доступно только для пользователей с ролью 'ADMIN'.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Выгрузка началась"),
+            @ApiResponse(responseCode = "403", description = "Недостаточно прав для выполнения операции")
+    })
+    public ResponseEntity<StreamingResponseBody> exportTasks(@ParameterObject TaskExportFilter filter,
+                                                             @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return attachment("tasks", format, out -> taskExportService.exportTasks(filter, format, out));
+    }
+
+    /**
+     * Выгрузка комментариев к задачам.
+     *
+     * @param filter Условие выбора задач, к которым относятся комментарии.
+     * @param format Формат выгрузки.
+     * @return Поток с комментариями.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/comments")
+    @Operation(summary = "Выгрузка комментариев",
+            description = "Этот метод выгружает комментарии к задачам в формате NDJSON или CSV. Доступно только для пользователей с ролью 'ADMIN'.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Выгрузка началась"),
+            @ApiResponse(responseCode = "403", description = "Недостаточно прав для выполнения операции")
+    })
+    public ResponseEntity<StreamingResponseBody> exportComments(@ParameterObject TaskExportFilter filter,
+                                                                @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return attachment("comments", format, out -> taskExportService.exportComments(filter, format, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format,
+                                                                    StreamingResponseBody body) {
+        var disposition = ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .contentType(MediaType.parseMediaType(format.getMediaType() + ";charset=UTF-8"))
+                .body(body);
+    }
+}
@@ -0,0 +1,71 @@
+package ru.greemlab.managertask.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.greemlab.managertask.domain.dto.ImportResponse;
+import ru.greemlab.managertask.domain.model.ExportFormat;
+import ru.greemlab.managertask.service.TaskImportService;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Контроллер для импорта задач и комментариев администраторами.
+ * Тело запроса читается потоком и загружается порциями, без загрузки всего файла в память.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/import")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final TaskImportService taskImportService;
+
+    /**
+     * Импорт задач.
+     *
+     * @param body   Задачи в формате NDJSON или CSV с заголовком.
+     * @param format Формат загрузки.
+     * @return Итог импорта.
+     * @throws IOException если тело запроса не удалось прочитать.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/tasks")
+    @Operation(summary = "Импорт задач",
+            description = "Этот метод загружает задачи в формате NDJSON или CSV. Авторы и исполнители указываются по email. Доступно только для пользователей с ролью 'ADMIN'.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Импорт завершен, отклоненные строки перечислены в ответе"),
+            @ApiResponse(responseCode = "403", description = "Недостаточно прав для выполнения операции")
+    })
+    public ImportResponse importTasks(InputStream body,
+                                      @RequestParam(defaultValue = "NDJSON") ExportFormat format) throws IOException {
+        return taskImportService.importTasks(body, format);
+    }
+
+    /**
+     * Импорт комментариев к задачам.
+     *
+     * @param body   Комментарии в формате NDJSON или CSV с заголовком.
+     * @param format Формат загрузки.
+     * @return Итог импорта.
+     * @throws IOException если тело запроса не удалось прочитать.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/comments")
+    @Operation(summary = "Импорт комментариев",
+            description = "Этот метод загружает комментарии в формате NDJSON или CSV. Задача указывается по внешнему ключу taskRef или по taskId. Доступно только для пользователей с ролью 'ADMIN'.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Импорт завершен, отклоненные строки перечислены в ответе"),
+            @ApiResponse(responseCode = "403", description = "Недостаточно прав для выполнения операции")
+    })
+    public ImportResponse importComments(InputStream body,
+                                         @RequestParam(defaultValue = "NDJSON") ExportFormat format) throws IOException {
+        return taskImportService.importComments(body, format);
+    }
+}
@@ -7,16 +7,28 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.greemlab.managertask.domain.dto.*;
 import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskSort;
 import ru.greemlab.managertask.domain.model.TaskStatus;
+import ru.greemlab.managertask.exception.TaskVersionConflictException;
+import ru.greemlab.managertask.service.TaskCounterService;
+import ru.greemlab.managertask.service.TaskSearchService;
 import ru.greemlab.managertask.service.TaskService;
+import ru.greemlab.managertask.service.TaskSyncService;
+
+import java.util.List;
 
 /**
  * Контроллер для управления задачами.
  * Позволяет создавать, обновлять, удалять и получать задачи.
+ * Ответы с одной задачей содержат ETag с версией задачи. Изменения задачи принимают
+ * заголовок If-Match и отклоняются с 412, если задача уже изменена другим запросом.
  */
 @RestController
 @RequestMapping("/api/v1/tasks")
@@ -24,6 +36,9 @@ import ru.greemlab.managertask.service.TaskService;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskSyncService taskSyncService;
+    private final TaskSearchService taskSearchService;
+    private final TaskCounterService taskCounterService;
 
     /**
      * Создание новой задачи.
@@ -38,8 +53,150 @@ public class TaskController {
             @ApiResponse(responseCode = "201", description = "Задача успешно создана"),
             @ApiResponse(responseCode = "400", description = "Некорректные данные запроса")
     })
-    public TaskResponse createTask(@RequestBody @Valid TaskCreateRequest request) {
-        return taskService.createTask(request);
+    public ResponseEntity<TaskResponse> createTask(@RequestBody @Valid TaskCreateRequest request) {
+        return withETag(taskService.createTask(request));
+    }
+
+    /**
+     * Пакетное создание задач.
+     *
+     * @param requests Данные для создания задач.
+     * @return Результат по каждой задаче в порядке запросов.
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Пакетное создание задач",
+            description = "Этот метод создает несколько задач за один вызов и возвращает результат по каждой из них.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Пакет обработан, результаты по каждой задаче в ответе"),
+            @ApiResponse(responseCode = "400", description = "Слишком большой пакет")
+    })
+    public BulkTaskResponse createTasks(@RequestBody List<TaskCreateRequest> requests) {
+        return taskService.createTasks(requests);
+    }
+
+    /**
+     * Список задач по условиям.
+     *
+     * @param status Статусы задач.
+     * @param priority Приоритеты задач.
+     * @param authorId ID автора задач.
+     * @param assigneeId ID исполнителя задач.
+     * @param q Подстрока названия или описания задачи.
+     * @param sort Порядок вывода.
+     * @param cursor Курсор следующей страницы из предыдущего ответа.
+     * @param size Размер страницы.
+     * @return Страница задач в указанном порядке.
+     */
+    @GetMapping
+    @Operation(summary = "Список задач по условиям",
+            description = "Этот метод выводит задачи по сочетанию статусов, приоритетов, автора, исполнителя и подстроки текста, от новых к старым или по времени последнего комментария. Пользователь видит только задачи, где он автор или исполнитель, администратор - все задачи.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задачи успешно получены"),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор")
+    })
+    public CursorPage<TaskResponse> getTasks(@RequestParam(required = false) List<TaskStatus> status,
+                                             @RequestParam(required = false) List<TaskPriority> priority,
+                                             @RequestParam(required = false) Long authorId,
+                                             @RequestParam(required = false) Long assigneeId,
+                                             @RequestParam(required = false) String q,
+                                             @RequestParam(defaultValue = "NEWEST") TaskSort sort,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "20") int size) {
+        return taskSearchService.filter(new TaskFilter(status, priority, authorId, assigneeId, q), sort, cursor, size);
+    }
+
+    /**
+     * Полнотекстовый поиск задач.
+     *
+     * @param q Поисковый запрос.
+     * @param cursor Курсор следующей страницы из предыдущего ответа.
+     * @param size Размер страницы.
+     * @return Страница найденных задач, от более релевантных к менее релевантным.
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Поиск задач",
+            description = "Этот метод ищет задачи по названию, описанию и комментариям. Пользователь видит только задачи, где он автор или исполнитель, администратор - все задачи.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задачи успешно найдены"),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор")
+    })
+    public CursorPage<TaskResponse> searchTasks(@RequestParam String q,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int size) {
+        return taskSearchService.search(q, cursor, size);
+    }
+
+    /**
+     * Подсказки при выборе задачи.
+     *
+     * @param q Набранное начало названия задачи.
+     * @param status Статус задач.
+     * @param priority Приоритет задач.
+     * @param assigneeId ID исполнителя задач.
+     * @param size Максимальное количество задач.
+     * @return Подходящие задачи, от новых к старым.
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Подсказки при выборе задачи",
+            description = "Этот метод ищет задачи по началу слов названия с фильтрами по статусу, приоритету и исполнителю. Пользователь видит только задачи, где он автор или исполнитель.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Подсказки успешно получены")
+    })
+    public List<TaskSuggestion> suggestTasks(@RequestParam(defaultValue = "") String q,
+                                             @RequestParam(required = false) TaskStatus status,
+                                             @RequestParam(required = false) TaskPriority priority,
+                                             @RequestParam(required = false) Long assigneeId,
+                                             @RequestParam(defaultValue = "10") int size) {
+        return taskSearchService.suggest(q, status, priority, assigneeId, size);
+    }
+
+    /**
+     * Количество задач по исполнителям.
+     *
+     * @return Счетчики задач по статусам и приоритетам для каждого исполнителя.
+     */
+    @GetMapping("/counters")
+    @Operation(summary = "Количество задач по исполнителям",
+            description = "Этот метод возвращает количество задач каждого исполнителя по статусам и приоритетам. Пользователь получает только свои счетчики, администратор - счетчики всех исполнителей.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Счетчики успешно получены")
+    })
+    public List<TaskCounters> getTaskCounters() {
+        return taskCounterService.getCounters();
+    }
+
+    /**
+     * Получение задачи по ID.
+     * Если версия задачи совпадает с If-None-Match, возвращается 304 без чтения и сериализации задачи.
+     *
+     * @param taskId ID задачи.
+     * @param ifNoneMatch ETag задачи, которая уже есть у клиента.
+     * @return Ответ с задачей и ее ETag, либо 304.
+     */
+    @GetMapping("/{taskId}")
+    @Operation(summary = "Получение задачи",
+            description = "Этот метод возвращает задачу по ID и поддерживает условный запрос по ETag.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задача успешно получена"),
+            @ApiResponse(responseCode = "304", description = "Задача не изменилась"),
+            @ApiResponse(responseCode = "404", description = "Задача с указанным ID не найдена")
+    })
+    public ResponseEntity<TaskResponse> getTask(@PathVariable Long taskId,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            var etag = eTagOf(taskService.getTaskVersion(taskId));
+            if (matchesAny(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .eTag(etag)
+                        .build();
+            }
+        }
+        var task = taskService.getTask(taskId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(eTagOf(task.version()))
+                .body(task);
     }
 
     /**
@@ -47,6 +204,7 @@ public class TaskController {
      *
      * @param taskId ID задачи, которую нужно обновить.
      * @param request Данные для обновления задачи.
+     * @param ifMatch ETag задачи, на основе которой сделано изменение.
      * @return Ответ с информацией об обновленной задаче.
      */
     @PutMapping("/{taskId}")
@@ -54,11 +212,13 @@ public class TaskController {
             description = "Этот метод позволяет обновить данные существующей задачи.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Задача успешно обновлена"),
-            @ApiResponse(responseCode = "404", description = "Задача с указанным ID не найдена")
+            @ApiResponse(responseCode = "404", description = "Задача с указанным ID не найдена"),
+            @ApiResponse(responseCode = "412", description = "Задача изменена другим запросом")
     })
-    public TaskResponse updateTask(@PathVariable Long taskId,
-                                   @RequestBody @Valid TaskUpdateRequest request) {
-        return taskService.updateTask(taskId, request);
+    public ResponseEntity<TaskResponse> updateTask(@PathVariable Long taskId,
+                                                   @RequestBody @Valid TaskUpdateRequest request,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(taskService.updateTask(taskId, request, expectedVersion(taskId, ifMatch)));
     }
 
     /**
@@ -97,6 +257,28 @@ public class TaskController {
         return taskService.getTasksByAuthor(authorId, pageable);
     }
 
+    /**
+     * Получение задач по автору с выводом по курсору.
+     *
+     * @param authorId ID автора задач.
+     * @param cursor Курсор следующей страницы из предыдущего ответа.
+     * @param size Размер страницы.
+     * @return Страница задач, созданных данным автором, от новых к старым.
+     */
+    @GetMapping("/author/{authorId}/keyset")
+    @Operation(summary = "Получение задач по автору по курсору",
+            description = "Этот метод возвращает задачи автора от новых к старым без подсчета общего количества.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задачи успешно получены"),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор"),
+            @ApiResponse(responseCode = "404", description = "Автор с указанным ID не найден")
+    })
+    public CursorPage<TaskResponse> getTasksByAuthorKeyset(@PathVariable Long authorId,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "20") int size) {
+        return taskService.getTasksByAuthor(authorId, cursor, size);
+    }
+
     /**
      * Получение задач по исполнителю.
      *
@@ -116,11 +298,56 @@ public class TaskController {
         return taskService.getTasksByAssignee(assigneeId, pageable);
     }
 
+    /**
+     * Получение задач по исполнителю с выводом по курсору.
+     *
+     * @param assigneeId ID исполнителя задач.
+     * @param cursor Курсор следующей страницы из предыдущего ответа.
+     * @param size Размер страницы.
+     * @return Страница задач, назначенных этому исполнителю, от новых к старым.
+     */
+    @GetMapping("/assignee/{assigneeId}/keyset")
+    @Operation(summary = "Получение задач по исполнителю по курсору",
+            description = "Этот метод возвращает задачи исполнителя от новых к старым без подсчета общего количества.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задачи успешно получены"),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор"),
+            @ApiResponse(responseCode = "404", description = "Исполнитель с указанным ID не найден")
+    })
+    public CursorPage<TaskResponse> getTasksByAssigneeKeyset(@PathVariable Long assigneeId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "20") int size) {
+        return taskService.getTasksByAssignee(assigneeId, cursor, size);
+    }
+
+    /**
+     * Изменения в задачах исполнителя с момента предыдущей синхронизации.
+     *
+     * @param assigneeId ID исполнителя задач.
+     * @param watermark Отметка из предыдущего ответа, без нее возвращаются все задачи.
+     * @param size Максимальное количество задач в ответе.
+     * @return Созданные и измененные задачи, ID удаленных задач и новая отметка.
+     */
+    @GetMapping("/assignee/{assigneeId}/changes")
+    @Operation(summary = "Синхронизация задач исполнителя",
+            description = "Этот метод возвращает только задачи, созданные, измененные или удаленные после отметки.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Изменения успешно получены"),
+            @ApiResponse(responseCode = "400", description = "Некорректная отметка синхронизации"),
+            @ApiResponse(responseCode = "410", description = "Отметка синхронизации устарела, нужна полная синхронизация")
+    })
+    public TaskChangesResponse getTaskChangesByAssignee(@PathVariable Long assigneeId,
+                                                        @RequestParam(required = false) String watermark,
+                                                        @RequestParam(defaultValue = "100") int size) {
+        return taskSyncService.getChangesByAssignee(assigneeId, watermark, size);
+    }
+
     /**
      * Обновление статуса задачи.
      *
      * @param taskId ID задачи.
      * @param status Новый статус задачи.
+     * @param ifMatch ETag задачи, на основе которой сделано изменение.
      * @return Ответ с информацией о обновленной задаче.
      */
     @PatchMapping("/{taskId}/status")
@@ -128,11 +355,13 @@ public class TaskController {
             description = "Этот метод позволяет обновить статус задачи с указанным ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Статус задачи успешно обновлен"),
-            @ApiResponse(responseCode = "404", description = "Задача с указанным ID не найдена")
+            @ApiResponse(responseCode = "404", description = "Задача с указанным ID не найдена"),
+            @ApiResponse(responseCode = "412", description = "Задача изменена другим запросом")
     })
-    public TaskResponse updateStatus(@PathVariable Long taskId,
-                                     @RequestParam TaskStatus status) {
-        return taskService.updateStatus(taskId, status);
+    public ResponseEntity<TaskResponse> updateStatus(@PathVariable Long taskId,
+                                                     @RequestParam TaskStatus status,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(taskService.updateStatus(taskId, status, expectedVersion(taskId, ifMatch)));
     }
 
     /**
@@ -140,6 +369,7 @@ public class TaskController {
      *
      * @param taskId ID задачи.
      * @param priority Новый приоритет задачи.
+     * @param ifMatch ETag задачи, на основе которой сделано изменение.
      * @return Ответ с информацией о обновленной задаче.
      */
     @PatchMapping("/{taskId}/priority")
@@ -147,11 +377,13 @@ public class TaskController {
             description = "Этот метод позволяет обновить приоритет задачи с указанным ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Приоритет задачи успешно обновлен"),
-            @ApiResponse(responseCode = "404", description = "Задача с указанным ID не найдена")
+            @ApiResponse(responseCode = "404", description = "Задача с указанным ID не найдена"),
+            @ApiResponse(responseCode = "412", description = "Задача изменена другим запросом")
     })
-    public TaskResponse updatePriority(@PathVariable Long taskId,
-                                       @RequestParam TaskPriority priority) {
-        return taskService.updatePriority(taskId, priority);
+    public ResponseEntity<TaskResponse> updatePriority(@PathVariable Long taskId,
+                                                       @RequestParam TaskPriority priority,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(taskService.updatePriority(taskId, priority, expectedVersion(taskId, ifMatch)));
     }
 
     /**
@@ -159,6 +391,7 @@ public class TaskController {
      *
      * @param taskId ID задачи.
      * @param userId ID пользователя, которому назначается задача.
+     * @param ifMatch ETag задачи, на основе которой сделано изменение.
      * @return Ответ с информацией о назначенной задаче.
      */
     @PatchMapping("/{taskId}/assignee/{userId}")
@@ -166,11 +399,71 @@ public class TaskController {
             description = "Этот метод позволяет назначить задачу на нового исполнителя.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Задача успешно назначена"),
-            @ApiResponse(responseCode = "404", description = "Задача или пользователь не найдены")
+            @ApiResponse(responseCode = "404", description = "Задача или пользователь не найдены"),
+            @ApiResponse(responseCode = "412", description = "Задача изменена другим запросом")
     })
-    public TaskResponse assignTask(@PathVariable Long taskId,
-                                   @PathVariable Long userId) {
-        return taskService.assignTask(taskId, userId);
+    public ResponseEntity<TaskResponse> assignTask(@PathVariable Long taskId,
+                                                   @PathVariable Long userId,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(taskService.assignTask(taskId, userId, expectedVersion(taskId, ifMatch)));
+    }
+
+    /**
+     * Пакетное обновление статуса задач.
+     *
+     * @param status Новый статус задач.
+     * @param filter Условие выбора задач.
+     * @return Количество измененных задач.
+     */
+    @PatchMapping("/bulk/status")
+    @Operation(summary = "Пакетное обновление статуса задач",
+            description = "Этот метод меняет статус у всех задач, подходящих под условие. "
+                          + "Пользователь меняет статус только у своих задач.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Статус задач обновлен"),
+            @ApiResponse(responseCode = "400", description = "Не указано условие выбора задач")
+    })
+    public BulkUpdateResponse updateStatuses(@RequestParam TaskStatus status,
+                                             @RequestBody @Valid BulkTaskFilter filter) {
+        return taskService.updateStatuses(filter, status);
+    }
+
+    /**
+     * Пакетное обновление приоритета задач.
+     *
+     * @param priority Новый приоритет задач.
+     * @param filter Условие выбора задач.
+     * @return Количество измененных задач.
+     */
+    @PatchMapping("/bulk/priority")
+    @Operation(summary = "Пакетное обновление приоритета задач",
+            description = "Этот метод меняет приоритет у всех задач, подходящих под условие.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Приоритет задач обновлен"),
+            @ApiResponse(responseCode = "400", description = "Не указано условие выбора задач")
+    })
+    public BulkUpdateResponse updatePriorities(@RequestParam TaskPriority priority,
+                                               @RequestBody @Valid BulkTaskFilter filter) {
+        return taskService.updatePriorities(filter, priority);
+    }
+
+    /**
+     * Пакетное назначение задач на исполнителя.
+     *
+     * @param userId ID нового исполнителя.
+     * @param filter Условие выбора задач.
+     * @return Количество измененных задач.
+     */
+    @PatchMapping("/bulk/assignee/{userId}")
+    @Operation(summary = "Пакетное назначение задач",
+            description = "Этот метод назначает все задачи, подходящие под условие, на указанного исполнителя.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задачи назначены"),
+            @ApiResponse(responseCode = "400", description = "Не указано условие выбора задач")
+    })
+    public BulkUpdateResponse assignTasks(@PathVariable Long userId,
+                                          @RequestBody @Valid BulkTaskFilter filter) {
+        return taskService.assignTasks(filter, userId);
     }
 
     /**
@@ -191,6 +484,28 @@ public class TaskController {
         return taskService.getCommentsByTask(taskId, pageable);
     }
 
+    /**
+     * Получение комментариев к задаче с выводом по курсору.
+     *
+     * @param taskId ID задачи.
+     * @param cursor Курсор следующей страницы из предыдущего ответа.
+     * @param size Размер страницы.
+     * @return Страница комментариев к задаче в порядке добавления.
+     */
+    @GetMapping("/{taskId}/comments/keyset")
+    @Operation(summary = "Получение комментариев к задаче по курсору",
+            description = "Этот метод возвращает комментарии в порядке добавления без подсчета общего количества.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Комментарии успешно получены"),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор"),
+            @ApiResponse(responseCode = "404", description = "Задача с указанным ID не найдена")
+    })
+    public CursorPage<CommentResponse> getCommentsKeyset(@PathVariable Long taskId,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "20") int size) {
+        return taskService.getCommentsByTask(taskId, cursor, size);
+    }
+
     /**
      * Добавление комментария к задаче.
      *
@@ -210,4 +525,88 @@ public class TaskController {
                                       @RequestBody @Valid CommentRequest request) {
         return taskService.addComment(taskId, request);
     }
+
+    /**
+     * Удаление комментария к задаче.
+     *
+     * @param taskId ID задачи.
+     * @param commentId ID комментария.
+     */
+    @DeleteMapping("/{taskId}/comments/{commentId}")
+    @Operation(summary = "Удаление комментария к задаче",
+            description = "Этот метод позволяет автору комментария или администратору удалить комментарий к задаче.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Комментарий успешно удален"),
+            @ApiResponse(responseCode = "403", description = "Недостаточно прав для удаления комментария"),
+            @ApiResponse(responseCode = "404", description = "Комментарий с указанным ID не найден")
+    })
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteComment(@PathVariable Long taskId, @PathVariable Long commentId) {
+        taskService.deleteComment(taskId, commentId);
+    }
+
+    /**
+     * Ответ с задачей и ее версией в заголовке ETag.
+     *
+     * @param task Задача.
+     * @return Ответ 200 с ETag.
+     */
+    private static ResponseEntity<TaskResponse> withETag(TaskResponse task) {
+        return ResponseEntity.ok().eTag(eTagOf(task.version())).body(task);
+    }
+
+    /**
+     * Сильный ETag для версии задачи.
+     *
+     * @param version Версия задачи.
+     * @return ETag в кавычках.
+     */
+    private static String eTagOf(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Проверяет, совпадает ли ETag с одним из значений If-None-Match.
+     * Для If-None-Match сравнение слабое, поэтому префикс W/ не учитывается.
+     *
+     * @param ifNoneMatch Значение заголовка If-None-Match.
+     * @param etag        Текущий ETag задачи.
+     * @return true, если у клиента актуальная версия задачи.
+     */
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        for (var tag : ifNoneMatch.split(",")) {
+            var value = tag.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Разбирает версию задачи из заголовка If-Match.
+     * Заголовок сравнивается строго, поэтому слабый или нечисловой ETag не совпадает ни с одной версией.
+     *
+     * @param taskId  ID задачи.
+     * @param ifMatch Значение заголовка If-Match.
+     * @return Ожидаемая версия, null если заголовка нет или передан "*".
+     * @throws TaskVersionConflictException если ETag не может совпасть с версией задачи.
+     */
+    private static Long expectedVersion(Long taskId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        var tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new TaskVersionConflictException(taskId);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new TaskVersionConflictException(taskId);
+        }
+    }
 }
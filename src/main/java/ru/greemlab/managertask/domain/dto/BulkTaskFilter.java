@@ -0,0 +1,42 @@
+package ru.greemlab.managertask.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+
+import java.util.List;
+
+/**
+ * DTO с условием выбора задач для пакетного изменения.
+ * Условия объединяются через "и", хотя бы одно условие обязательно.
+ */
+@Schema(description = "Условие выбора задач для пакетного изменения")
+public record BulkTaskFilter(
+
+        @Size(max = 10000, message = "Не больше 10000 ID задач за один вызов")
+        @Schema(description = "ID задач", example = "[1, 2, 3]")
+        List<Long> taskIds,
+
+        @Schema(description = "ID автора задач", example = "2")
+        Long authorId,
+
+        @Schema(description = "ID исполнителя задач", example = "3")
+        Long assigneeId,
+
+        @Schema(description = "Текущий статус задач", allowableValues = {"PENDING", "IN_PROGRESS", "COMPLETED"}, example = "IN_PROGRESS")
+        TaskStatus status
+) {
+
+    /**
+     * Проверяет, что задано хотя бы одно условие, чтобы не изменить все задачи сразу.
+     *
+     * @return true, если условие не пустое.
+     */
+    @JsonIgnore
+    @AssertTrue(message = "Нужно указать хотя бы одно условие выбора задач")
+    public boolean isRestricted() {
+        return (taskIds != null && !taskIds.isEmpty()) || authorId != null || assigneeId != null || status != null;
+    }
+}
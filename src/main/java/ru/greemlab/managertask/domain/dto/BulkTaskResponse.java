@@ -0,0 +1,33 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO для ответа на пакетное создание задач.
+ */
+@Schema(description = "Ответ на пакетное создание задач")
+public record BulkTaskResponse(
+
+        @Schema(description = "Количество созданных задач", example = "2")
+        int created,
+
+        @Schema(description = "Количество запросов с ошибкой", example = "1")
+        int failed,
+
+        @Schema(description = "Результаты в порядке запросов")
+        List<BulkTaskResult> results
+) {
+
+    /**
+     * Собирает ответ из результатов по каждому запросу.
+     *
+     * @param results Результаты в порядке запросов.
+     * @return Ответ с количеством созданных и неудачных запросов.
+     */
+    public static BulkTaskResponse of(List<BulkTaskResult> results) {
+        var created = (int) results.stream().filter(result -> result.task() != null).count();
+        return new BulkTaskResponse(created, results.size() - created, results);
+    }
+}
@@ -0,0 +1,28 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Результат создания одной задачи из пакета.
+ */
+@Schema(description = "Результат создания одной задачи из пакета")
+public record BulkTaskResult(
+
+        @Schema(description = "Порядковый номер запроса в пакете, начиная с 0", example = "0")
+        int index,
+
+        @Schema(description = "Созданная задача, null если задача не создана")
+        TaskResponse task,
+
+        @Schema(description = "Причина ошибки, null если задача создана", example = "Описание не может быть пустым")
+        String error
+) {
+
+    public static BulkTaskResult created(int index, TaskResponse task) {
+        return new BulkTaskResult(index, task, null);
+    }
+
+    public static BulkTaskResult failed(int index, String error) {
+        return new BulkTaskResult(index, null, error);
+    }
+}
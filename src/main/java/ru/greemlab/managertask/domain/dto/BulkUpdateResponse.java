@@ -0,0 +1,14 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO для ответа на пакетное изменение задач.
+ */
+@Schema(description = "Ответ на пакетное изменение задач")
+public record BulkUpdateResponse(
+
+        @Schema(description = "Количество измененных задач", example = "12")
+        int updated
+) {
+}
@@ -0,0 +1,29 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка импорта комментария из другого трекера.
+ * Задача указывается внешним ключом из импорта задач или ID, автор - по email.
+ */
+@Schema(description = "Строка импорта комментария")
+public record CommentImportRow(
+
+        @Schema(description = "Внешний ключ задачи из импорта задач", example = "OLD-42")
+        String taskRef,
+
+        @Schema(description = "ID задачи, если она не импортировалась", example = "3")
+        Long taskId,
+
+        @Schema(description = "Email автора комментария", example = "user@mail.ru")
+        String authorEmail,
+
+        @Schema(description = "Текст комментария", example = "Необходимо уточнить требования к задаче.")
+        String comment,
+
+        @Schema(description = "Время создания комментария в исходной системе", example = "2024-05-01T10:20:00")
+        LocalDateTime createdAt
+) {
+}
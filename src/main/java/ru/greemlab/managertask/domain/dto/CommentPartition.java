@@ -0,0 +1,19 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.YearMonth;
+
+/**
+ * DTO с разделом таблицы комментариев.
+ */
+@Schema(description = "Раздел таблицы комментариев за месяц")
+public record CommentPartition(
+
+        @Schema(description = "Месяц создания комментариев раздела", example = "2025-01")
+        YearMonth month,
+
+        @Schema(description = "Оценка количества комментариев по статистике базы данных", example = "125000")
+        long estimatedComments
+) {
+}
@@ -1,5 +1,6 @@
 package ru.greemlab.managertask.domain.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDateTime;
@@ -25,6 +26,7 @@ public record CommentResponse(
         @Schema(description = "Электронная почта пользователя", example = "user@example.com")
         String userEmail,
 
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
         @Schema(description = "Дата и время создания комментария", example = "2025-02-24T14:30:00")
         LocalDateTime createdAt
 ) {
@@ -0,0 +1,14 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO для ответа на сверку счетчиков задач.
+ */
+@Schema(description = "Ответ на сверку счетчиков задач")
+public record CountersRepairResponse(
+
+        @Schema(description = "Количество исправленных счетчиков", example = "0")
+        long repaired
+) {
+}
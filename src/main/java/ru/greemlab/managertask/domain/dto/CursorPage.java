@@ -0,0 +1,41 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница для постраничного вывода по ключу.
+ * В отличие от {@link org.springframework.data.domain.Page} не содержит общего количества элементов.
+ *
+ * @param <T> Тип элементов страницы.
+ */
+@Schema(description = "Страница с курсором на следующую страницу")
+public record CursorPage<T>(
+
+        @Schema(description = "Элементы страницы")
+        List<T> content,
+
+        @Schema(description = "Курсор следующей страницы, null для последней страницы", example = "MTI")
+        String nextCursor
+) {
+
+    /**
+     * Строит страницу из строк, прочитанных с запасом в один элемент.
+     * Лишний элемент показывает, что есть следующая страница, и в ответ не попадает.
+     *
+     * @param rows     Прочитанные строки, не больше {@code size + 1}.
+     * @param size     Размер страницы.
+     * @param cursorOf Курсор для последнего элемента страницы.
+     * @param <T>      Тип элементов страницы.
+     * @return Страница с курсором на следующую страницу.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        var content = List.copyOf(rows.subList(0, size));
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)));
+    }
+}
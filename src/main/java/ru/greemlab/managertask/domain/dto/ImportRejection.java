@@ -0,0 +1,20 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Строка импорта, которая не была загружена.
+ *
+ * @param line  Номер строки NDJSON или записи CSV, начиная с 1.
+ * @param error Причина отказа.
+ */
+@Schema(description = "Отклоненная строка импорта")
+public record ImportRejection(
+
+        @Schema(description = "Номер строки NDJSON или записи CSV", example = "17")
+        long line,
+
+        @Schema(description = "Причина отказа", example = "Пользователя не существует: old@mail.ru")
+        String error
+) {
+}
@@ -0,0 +1,30 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Итог импорта.
+ *
+ * @param processed  Количество прочитанных строк.
+ * @param imported   Количество загруженных строк.
+ * @param rejected   Количество отклоненных строк.
+ * @param rejections Отклоненные строки, не больше первых 1000.
+ */
+@Schema(description = "Итог импорта")
+public record ImportResponse(
+
+        @Schema(description = "Количество прочитанных строк", example = "100000")
+        long processed,
+
+        @Schema(description = "Количество загруженных строк", example = "99998")
+        long imported,
+
+        @Schema(description = "Количество отклоненных строк", example = "2")
+        long rejected,
+
+        @Schema(description = "Отклоненные строки, не больше первых 1000")
+        List<ImportRejection> rejections
+) {
+}
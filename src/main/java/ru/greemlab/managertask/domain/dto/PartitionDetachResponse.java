@@ -0,0 +1,20 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO для ответа на отсоединение раздела комментариев.
+ */
+@Schema(description = "Ответ на отсоединение раздела комментариев")
+public record PartitionDetachResponse(
+
+        @Schema(description = "Имя таблицы, в которой остались комментарии раздела", example = "task_comments_archive_202501")
+        String archiveTable,
+
+        @Schema(description = "Количество отсоединенных комментариев", example = "125000")
+        long comments,
+
+        @Schema(description = "Количество задач, у которых пересчитаны комментарии", example = "4000")
+        long tasks
+) {
+}
@@ -0,0 +1,40 @@
+package ru.greemlab.managertask.domain.dto;
+
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Измененная задача вместе со временем изменения, по которому строится отметка синхронизации.
+ *
+ * @param task      Задача.
+ * @param updatedAt Время последнего изменения задачи.
+ */
+public record TaskChange(
+        TaskResponse task,
+        LocalDateTime updatedAt
+) {
+
+    /**
+     * Конструктор для JPQL проекций.
+     *
+     * @param id            ID задачи.
+     * @param title         Название задачи.
+     * @param description   Описание задачи.
+     * @param status        Статус задачи.
+     * @param priority      Приоритет задачи.
+     * @param authorId      ID автора задачи.
+     * @param assigneeId    ID исполнителя задачи.
+     * @param version       Версия задачи.
+     * @param commentCount  Количество комментариев к задаче.
+     * @param lastCommentAt Время последнего комментария к задаче.
+     * @param updatedAt     Время последнего изменения задачи.
+     */
+    public TaskChange(Long id, String title, String description, TaskStatus status, TaskPriority priority,
+                      Long authorId, Long assigneeId, Long version, int commentCount, LocalDateTime lastCommentAt,
+                      LocalDateTime updatedAt) {
+        this(new TaskResponse(id, title, description, status, priority, authorId, assigneeId, version,
+                commentCount, lastCommentAt), updatedAt);
+    }
+}
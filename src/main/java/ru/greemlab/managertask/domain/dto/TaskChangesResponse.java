@@ -0,0 +1,26 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Изменения в списке задач исполнителя с момента предыдущей синхронизации.
+ * Клиент сначала удаляет задачи из {@code deleted}, затем применяет {@code changed}.
+ */
+@Schema(description = "Изменения задач с момента предыдущей синхронизации")
+public record TaskChangesResponse(
+
+        @Schema(description = "Созданные и измененные задачи в порядке изменения")
+        List<TaskResponse> changed,
+
+        @Schema(description = "ID задач, удаленных или переназначенных на другого исполнителя")
+        List<Long> deleted,
+
+        @Schema(description = "Отметка для следующей синхронизации", example = "MjAyNS0wMy0wMVQxMjowMHw5MjIzMzcyMDM2ODU0Nzc1ODA3")
+        String watermark,
+
+        @Schema(description = "Есть ли еще изменения, которые не поместились в ответ")
+        boolean hasMore
+) {
+}
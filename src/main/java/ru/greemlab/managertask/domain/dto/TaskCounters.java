@@ -0,0 +1,27 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+
+import java.util.Map;
+
+/**
+ * DTO с количеством задач исполнителя по статусам и приоритетам.
+ */
+@Schema(description = "Количество задач исполнителя по статусам и приоритетам")
+public record TaskCounters(
+
+        @Schema(description = "Идентификатор исполнителя", example = "3")
+        Long assigneeId,
+
+        @Schema(description = "Всего задач", example = "12")
+        long total,
+
+        @Schema(description = "Количество задач по статусам", example = "{\"PENDING\": 5, \"IN_PROGRESS\": 4, \"COMPLETED\": 3}")
+        Map<TaskStatus, Long> byStatus,
+
+        @Schema(description = "Количество задач по приоритетам", example = "{\"LOW\": 6, \"MEDIUM\": 4, \"HIGH\": 2}")
+        Map<TaskPriority, Long> byPriority
+) {
+}
@@ -0,0 +1,25 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+
+/**
+ * Условие выбора задач для выгрузки. Пустое условие выгружает все задачи.
+ *
+ * @param authorId   ID автора задач.
+ * @param assigneeId ID исполнителя задач.
+ * @param status     Статус задач.
+ */
+@Schema(description = "Условие выбора задач для выгрузки")
+public record TaskExportFilter(
+
+        @Schema(description = "ID автора задач", example = "2")
+        Long authorId,
+
+        @Schema(description = "ID исполнителя задач", example = "3")
+        Long assigneeId,
+
+        @Schema(description = "Статус задач", example = "PENDING")
+        TaskStatus status
+) {
+}
@@ -0,0 +1,31 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+
+import java.util.List;
+
+/**
+ * DTO с условием выбора задач для списка задач.
+ * Условия объединяются через "и", пустое условие выбирает все видимые задачи.
+ */
+@Schema(description = "Условие выбора задач для списка задач")
+public record TaskFilter(
+
+        @Schema(description = "Статусы задач, любой из перечисленных", example = "[\"PENDING\", \"IN_PROGRESS\"]")
+        List<TaskStatus> statuses,
+
+        @Schema(description = "Приоритеты задач, любой из перечисленных", example = "[\"HIGH\"]")
+        List<TaskPriority> priorities,
+
+        @Schema(description = "ID автора задач", example = "2")
+        Long authorId,
+
+        @Schema(description = "ID исполнителя задач", example = "3")
+        Long assigneeId,
+
+        @Schema(description = "Подстрока названия или описания задачи, без учета регистра", example = "отчет")
+        String text
+) {
+}
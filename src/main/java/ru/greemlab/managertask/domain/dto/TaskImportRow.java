@@ -0,0 +1,49 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка импорта задачи из другого трекера.
+ * Пользователи указываются по email, задача может иметь внешний ключ для привязки комментариев.
+ */
+@Schema(description = "Строка импорта задачи")
+public record TaskImportRow(
+
+        @Schema(description = "Внешний ключ задачи в исходной системе", example = "OLD-42")
+        String ref,
+
+        @Schema(description = "Название задачи", example = "Разработать новый функционал")
+        String title,
+
+        @Schema(description = "Описание задачи", example = "Необходимо разработать новый функционал для страницы пользователя.")
+        String description,
+
+        @Schema(description = "Статус задачи", allowableValues = {"PENDING", "IN_PROGRESS", "COMPLETED"}, example = "PENDING")
+        TaskStatus status,
+
+        @Schema(description = "Приоритет задачи", allowableValues = {"LOW", "MEDIUM", "HIGH"}, example = "HIGH")
+        TaskPriority priority,
+
+        @Schema(description = "Email автора задачи", example = "admin@mail.ru")
+        String authorEmail,
+
+        @Schema(description = "Email исполнителя задачи", example = "user@mail.ru")
+        String assigneeEmail,
+
+        @Schema(description = "Время создания задачи в исходной системе", example = "2024-05-01T10:15:00")
+        LocalDateTime createdAt
+) {
+
+    /**
+     * Запрос на создание задачи с теми же полями, для проверки общими ограничениями.
+     *
+     * @return Запрос на создание задачи без исполнителя.
+     */
+    public TaskCreateRequest toCreateRequest() {
+        return new TaskCreateRequest(title, description, status, priority, null);
+    }
+}
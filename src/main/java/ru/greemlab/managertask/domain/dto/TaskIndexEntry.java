@@ -0,0 +1,37 @@
+package ru.greemlab.managertask.domain.dto;
+
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+
+/**
+ * Поля задачи, которые хранит поисковый индекс в памяти.
+ *
+ * @param id         ID задачи.
+ * @param title      Название задачи.
+ * @param status     Статус задачи.
+ * @param priority   Приоритет задачи.
+ * @param authorId   ID автора задачи.
+ * @param assigneeId ID исполнителя задачи, может быть null.
+ * @param version    Версия задачи.
+ */
+public record TaskIndexEntry(
+        Long id,
+        String title,
+        TaskStatus status,
+        TaskPriority priority,
+        Long authorId,
+        Long assigneeId,
+        Long version
+) {
+
+    /**
+     * Строит запись индекса из ответа с задачей.
+     *
+     * @param task Задача.
+     * @return Запись индекса.
+     */
+    public static TaskIndexEntry of(TaskResponse task) {
+        return new TaskIndexEntry(task.id(), task.title(), TaskStatus.valueOf(task.status()),
+                TaskPriority.valueOf(task.priority()), task.authorId(), task.assigneeId(), task.version());
+    }
+}
@@ -1,7 +1,12 @@
 package ru.greemlab.managertask.domain.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+
+import java.time.LocalDateTime;
 
 /**
  * DTO для ответа с информацией о задаче.
@@ -29,6 +34,36 @@ public record TaskResponse(
         Long authorId,
 
         @Schema(description = "Идентификатор исполнителя задачи", example = "3")
-        Long assigneeId
+        Long assigneeId,
+
+        @Schema(description = "Версия задачи, она же ETag ответа", example = "0")
+        Long version,
+
+        @Schema(description = "Количество комментариев к задаче", example = "4")
+        int commentCount,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        @Schema(description = "Время последнего комментария к задаче, null без комментариев", example = "2025-03-01T13:00:00")
+        LocalDateTime lastCommentAt
 ) {
+
+    /**
+     * Конструктор для JPQL проекций, которые читают статус и приоритет как перечисления.
+     *
+     * @param id            ID задачи.
+     * @param title         Название задачи.
+     * @param description   Описание задачи.
+     * @param status        Статус задачи.
+     * @param priority      Приоритет задачи.
+     * @param authorId      ID автора задачи.
+     * @param assigneeId    ID исполнителя задачи.
+     * @param version       Версия задачи.
+     * @param commentCount  Количество комментариев к задаче.
+     * @param lastCommentAt Время последнего комментария к задаче.
+     */
+    public TaskResponse(Long id, String title, String description, TaskStatus status, TaskPriority priority,
+                        Long authorId, Long assigneeId, Long version, int commentCount, LocalDateTime lastCommentAt) {
+        this(id, title, description, status.name(), priority.name(), authorId, assigneeId, version,
+                commentCount, lastCommentAt);
+    }
 }
@@ -0,0 +1,13 @@
+package ru.greemlab.managertask.domain.dto;
+
+/**
+ * Найденная задача вместе с релевантностью, по которой строится курсор поиска.
+ *
+ * @param task Задача.
+ * @param rank Релевантность задачи запросу.
+ */
+public record TaskSearchHit(
+        TaskResponse task,
+        float rank
+) {
+}
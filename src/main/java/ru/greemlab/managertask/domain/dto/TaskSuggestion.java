@@ -0,0 +1,26 @@
+package ru.greemlab.managertask.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO с подсказкой для выбора задачи.
+ */
+@Schema(description = "Подсказка для выбора задачи")
+public record TaskSuggestion(
+
+        @Schema(description = "Идентификатор задачи", example = "1")
+        Long id,
+
+        @Schema(description = "Название задачи", example = "Разработать новый функционал")
+        String title,
+
+        @Schema(description = "Статус задачи", allowableValues = {"PENDING", "IN_PROGRESS", "COMPLETED"}, example = "PENDING")
+        String status,
+
+        @Schema(description = "Приоритет задачи", allowableValues = {"LOW", "MEDIUM", "HIGH"}, example = "HIGH")
+        String priority,
+
+        @Schema(description = "Идентификатор исполнителя задачи", example = "3")
+        Long assigneeId
+) {
+}
@@ -0,0 +1,73 @@
+package ru.greemlab.managertask.domain.model;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Objects;
+
+/**
+ * Текущий пользователь в том виде, который нужен правилам доступа к задачам.
+ *
+ * @param userId ID пользователя, может быть null, если он неизвестен.
+ * @param email  Email пользователя.
+ * @param role   Роль пользователя, null для анонимного пользователя.
+ */
+public record AccessPrincipal(
+        Long userId,
+        String email,
+        Role role
+) {
+
+    /**
+     * Строит пользователя из аутентификации без обращения к базе данных.
+     *
+     * @param authentication Текущая аутентификация.
+     * @return Пользователь для проверки правил доступа.
+     */
+    public static AccessPrincipal of(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return new AccessPrincipal(null, null, null);
+        }
+        if (authentication.getPrincipal() instanceof User user) {
+            return new AccessPrincipal(user.getId(), user.getEmail(), user.getRole());
+        }
+        return new AccessPrincipal(null, authentication.getName(), roleOf(authentication));
+    }
+
+    /**
+     * Проверяет, является ли пользователь администратором.
+     *
+     * @return true, если у пользователя роль администратора.
+     */
+    public boolean isAdmin() {
+        return role == Role.ROLE_ADMIN;
+    }
+
+    /**
+     * Проверяет, совпадает ли пользователь с указанным.
+     * Сравнение идет по ID, а если ID текущего пользователя неизвестен - по email.
+     *
+     * @param otherId    ID другого пользователя.
+     * @param otherEmail Email другого пользователя, может быть null.
+     * @return true, если это тот же пользователь.
+     */
+    public boolean is(Long otherId, String otherEmail) {
+        if (userId != null) {
+            return otherId != null && Objects.equals(userId, otherId);
+        }
+        return email != null && email.equals(otherEmail);
+    }
+
+    private static Role roleOf(Authentication authentication) {
+        Role result = null;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (Role.ROLE_ADMIN.name().equals(authority.getAuthority())) {
+                return Role.ROLE_ADMIN;
+            }
+            if (Role.ROLE_USER.name().equals(authority.getAuthority())) {
+                result = Role.ROLE_USER;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package ru.greemlab.managertask.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Автор и время создания комментария, нужные для проверки прав и удаления.
+ * Время создания - ключ раздела {@code task_comments}, по нему удаление обращается к одному разделу.
+ *
+ * @param userId    ID автора комментария.
+ * @param createdAt Время создания комментария.
+ */
+public record CommentOwnership(
+        Long userId,
+        LocalDateTime createdAt
+) {
+}
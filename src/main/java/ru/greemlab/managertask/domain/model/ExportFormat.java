@@ -0,0 +1,25 @@
+package ru.greemlab.managertask.domain.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Формат выгрузки данных.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    /**
+     * Один JSON объект на строку.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * CSV с заголовком в первой строке.
+     */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+}
@@ -0,0 +1,81 @@
+package ru.greemlab.managertask.domain.model;
+
+import ru.greemlab.managertask.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Курсор для постраничного вывода по ключу (keyset).
+ * <p>
+ * Хранит ключ сортировки последнего элемента страницы: ID для задач,
+ * время создания и ID для комментариев, время последнего комментария и ID для задач по активности.
+ * Клиенту передается как непрозрачная строка base64url.
+ *
+ * @param createdAt Время из ключа сортировки последнего элемента, null для курсора только по ID.
+ * @param id        ID последнего элемента.
+ */
+public record PageCursor(
+        LocalDateTime createdAt,
+        Long id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Курсор по ID.
+     *
+     * @param id ID последнего элемента.
+     * @return Курсор.
+     */
+    public static PageCursor ofId(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    /**
+     * Курсор по времени создания и ID.
+     *
+     * @param createdAt Время создания последнего элемента.
+     * @param id        ID последнего элемента.
+     * @return Курсор.
+     */
+    public static PageCursor of(LocalDateTime createdAt, Long id) {
+        return new PageCursor(createdAt, id);
+    }
+
+    /**
+     * Разбирает курсор, полученный от клиента.
+     *
+     * @param token Строка курсора, может быть null для первой страницы.
+     * @return Курсор или null, если строка пустая.
+     * @throws InvalidCursorException если строку не удалось разобрать.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return ofId(Long.parseLong(value));
+            }
+            return of(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+
+    /**
+     * Кодирует курсор для передачи клиенту.
+     *
+     * @return Строка курсора.
+     */
+    public String encode() {
+        var value = createdAt == null ? String.valueOf(id) : createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
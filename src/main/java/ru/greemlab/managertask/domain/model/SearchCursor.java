@@ -0,0 +1,62 @@
+package ru.greemlab.managertask.domain.model;
+
+import ru.greemlab.managertask.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Курсор для постраничного вывода результатов поиска по ключу (keyset).
+ * <p>
+ * Результаты упорядочены по релевантности и ID по убыванию, поэтому курсор хранит
+ * оба значения последнего элемента страницы. Клиенту передается как непрозрачная строка base64url.
+ *
+ * @param rank Релевантность последнего элемента.
+ * @param id   ID последнего элемента.
+ */
+public record SearchCursor(
+        float rank,
+        long id
+) {
+
+    /**
+     * Курсор первой страницы: любая релевантность и любой ID меньше него.
+     */
+    public static final SearchCursor FIRST = new SearchCursor(Float.MAX_VALUE, Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Разбирает курсор, полученный от клиента.
+     *
+     * @param token Строка курсора, может быть null для первой страницы.
+     * @return Курсор, {@link #FIRST} если строка пустая.
+     * @throws InvalidCursorException если строку не удалось разобрать.
+     */
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException(token);
+            }
+            return new SearchCursor(Float.parseFloat(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+
+    /**
+     * Кодирует курсор для передачи клиенту.
+     *
+     * @return Строка курсора.
+     */
+    public String encode() {
+        var value = rank + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -5,24 +5,37 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDateTime;
 
 /**
  * Модель задачи.
  * Содержит информацию о задаче, такую как название, описание, статус, приоритет, автор и исполнитель.
+ * Автор и исполнитель загружаются лениво: для ответа нужны только их ID, которые есть у прокси без запроса.
+ * UPDATE содержит только измененные колонки и проверяет версию задачи, поэтому параллельные изменения
+ * не перезаписывают друг друга без блокировок строк.
+ * Время создания и изменения проставляет база данных, в том числе для пакетных UPDATE.
+ * Количество комментариев и время последнего комментария меняются только точечными UPDATE
+ * вместе с добавлением и удалением комментария, сущность их не записывает.
  */
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @Builder
@@ -33,7 +46,8 @@ import lombok.Setter;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     @Schema(description = "Идентификатор задачи", example = "1")
     private Long id;
 
@@ -55,13 +69,34 @@ public class Task {
     @Schema(description = "Приоритет задачи", allowableValues = {"HIGH", "MEDIUM", "LOW"}, example = "HIGH")
     private TaskPriority priority;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     @Schema(description = "Автор задачи", example = "2")
     private User author;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assignee_id", nullable = false)
     @Schema(description = "Исполнитель задачи", example = "3")
     private User assignee;
+
+    @Version
+    @Column(nullable = false)
+    @Schema(description = "Версия задачи для оптимистичной блокировки", example = "0")
+    private Long version;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    @Schema(description = "Время создания задачи", example = "2025-03-01T12:00:00")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    @Schema(description = "Время последнего изменения задачи", example = "2025-03-01T12:30:00")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    @Schema(description = "Количество комментариев к задаче", example = "4")
+    private int commentCount;
+
+    @Column(name = "last_comment_at", insertable = false, updatable = false)
+    @Schema(description = "Время последнего комментария к задаче", example = "2025-03-01T13:00:00")
+    private LocalDateTime lastCommentAt;
 }
@@ -0,0 +1,72 @@
+package ru.greemlab.managertask.domain.model;
+
+import java.util.Objects;
+
+/**
+ * Данные о владельцах задачи, нужные для проверки прав доступа.
+ * Загружаются узким запросом без чтения самой задачи.
+ *
+ * @param taskId        ID задачи.
+ * @param authorId      ID автора задачи.
+ * @param authorEmail   Email автора задачи.
+ * @param assigneeId    ID исполнителя задачи, может быть null.
+ * @param assigneeEmail Email исполнителя задачи, может быть null.
+ */
+public record TaskOwnership(
+        Long taskId,
+        Long authorId,
+        String authorEmail,
+        Long assigneeId,
+        String assigneeEmail
+) {
+
+    /**
+     * Владельцы для списка задач автора, когда сама задача не важна.
+     *
+     * @param authorId ID автора.
+     * @return Владельцы только с ID автора.
+     */
+    public static TaskOwnership ofAuthor(Long authorId) {
+        return new TaskOwnership(null, authorId, null, null, null);
+    }
+
+    /**
+     * Владельцы для списка задач исполнителя, когда сама задача не важна.
+     *
+     * @param assigneeId ID исполнителя.
+     * @return Владельцы только с ID исполнителя.
+     */
+    public static TaskOwnership ofAssignee(Long assigneeId) {
+        return new TaskOwnership(null, null, null, assigneeId, null);
+    }
+
+    /**
+     * Проверяет, является ли пользователь автором задачи.
+     *
+     * @param email Email пользователя.
+     * @return true, если пользователь - автор задачи.
+     */
+    public boolean isAuthor(String email) {
+        return email != null && email.equals(authorEmail);
+    }
+
+    /**
+     * Проверяет, является ли пользователь исполнителем задачи.
+     *
+     * @param email Email пользователя.
+     * @return true, если пользователь - исполнитель задачи.
+     */
+    public boolean isAssignee(String email) {
+        return email != null && email.equals(assigneeEmail);
+    }
+
+    /**
+     * Проверяет, назначена ли задача на пользователя с указанным ID.
+     *
+     * @param userId ID пользователя.
+     * @return true, если исполнитель задачи имеет указанный ID.
+     */
+    public boolean isAssignedTo(Long userId) {
+        return assigneeId != null && Objects.equals(assigneeId, userId);
+    }
+}
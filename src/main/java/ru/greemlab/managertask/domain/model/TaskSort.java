@@ -0,0 +1,16 @@
+package ru.greemlab.managertask.domain.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Перечисление порядков вывода списка задач.
+ */
+@Schema(description = "Порядок вывода списка задач")
+public enum TaskSort {
+
+    @Schema(description = "От новых задач к старым")
+    NEWEST,
+
+    @Schema(description = "От недавно обсуждавшихся задач к давно обсуждавшимся, только задачи с комментариями")
+    ACTIVITY
+}
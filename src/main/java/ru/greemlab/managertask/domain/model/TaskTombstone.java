@@ -0,0 +1,38 @@
+package ru.greemlab.managertask.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запись об удалении задачи из списка исполнителя.
+ * Пишется триггером базы данных при удалении задачи и при смене исполнителя,
+ * поэтому учитывает и пакетные изменения, и каскадное удаление пользователей.
+ */
+@Entity
+@Getter
+@Immutable
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "task_tombstones")
+public class TaskTombstone {
+
+    @Id
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "assignee_id")
+    private Long assigneeId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -1,5 +1,6 @@
 package ru.greemlab.managertask.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -30,7 +31,8 @@ public class User implements UserDetails {
 
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_id_seq", allocationSize = 50)
     @Schema(description = "Идентификатор пользователя", example = "1")
     private Long id;
 
@@ -51,13 +53,37 @@ public class User implements UserDetails {
     @Schema(description = "Роль пользователя", allowableValues = {"ROLE_USER", "ROLE_ADMIN"}, example = "ROLE_USER")
     private Role role;
 
+    @Column(name = "token_version", nullable = false)
+    @Schema(description = "Версия токенов пользователя, увеличивается при отзыве токенов", example = "0")
+    private long tokenVersion;
+
     @Override
     public String getUsername() {
         return this.email;
     }
 
+    /**
+     * Возвращает имя пользователя из колонки {@code username}.
+     * {@link #getUsername()} для Spring Security возвращает email.
+     *
+     * @return Имя пользователя.
+     */
+    @JsonIgnore
+    public String getLogin() {
+        return this.username;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(role.name()));
     }
+
+    /**
+     * Создает отсоединенную копию пользователя.
+     *
+     * @return Копия пользователя со всеми полями.
+     */
+    public User copy() {
+        return new User(id, username, password, email, role, tokenVersion);
+    }
 }
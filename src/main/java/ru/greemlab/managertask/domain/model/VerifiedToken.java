@@ -0,0 +1,57 @@
+package ru.greemlab.managertask.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Проверенный JWT токен.
+ * <p>
+ * Создается один раз на запрос после проверки подписи и срока действия,
+ * и дальше используется вместо повторного разбора строки токена.
+ *
+ * @param subject    Email пользователя (subject токена).
+ * @param userId     ID пользователя, может быть null для токенов без клейма id.
+ * @param role       Роль пользователя, может быть null для токенов без клейма role.
+ * @param version    Версия токенов пользователя на момент выдачи.
+ * @param expiration Момент истечения срока действия токена.
+ */
+public record VerifiedToken(
+        String subject,
+        Long userId,
+        Role role,
+        long version,
+        Instant expiration
+) {
+
+    /**
+     * Проверяет, истек ли срок действия токена к указанному моменту.
+     *
+     * @param now Текущий момент времени.
+     * @return true, если токен истек.
+     */
+    public boolean isExpired(Instant now) {
+        return expiration == null || !expiration.isAfter(now);
+    }
+
+    /**
+     * Проверяет, достаточно ли клеймов токена для построения пользователя без базы данных.
+     *
+     * @return true, если в токене есть subject, id и роль.
+     */
+    public boolean hasPrincipalClaims() {
+        return subject != null && userId != null && role != null;
+    }
+
+    /**
+     * Строит пользователя из клеймов токена.
+     *
+     * @return Пользователь с ID, email, ролью и версией токенов из токена.
+     */
+    public User toPrincipal() {
+        return User.builder()
+                .id(userId)
+                .email(subject)
+                .role(role)
+                .tokenVersion(version)
+                .build();
+    }
+}
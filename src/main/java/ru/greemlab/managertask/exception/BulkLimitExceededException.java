@@ -0,0 +1,15 @@
+package ru.greemlab.managertask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Исключение для пакета, в котором больше запросов, чем допускается за один вызов.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BulkLimitExceededException extends RuntimeException {
+
+    public BulkLimitExceededException(int limit) {
+        super("В пакете не может быть больше " + limit + " запросов");
+    }
+}
@@ -0,0 +1,15 @@
+package ru.greemlab.managertask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Исключение для курсора страницы, который не удалось разобрать.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Некорректный курсор страницы: " + cursor);
+    }
+}
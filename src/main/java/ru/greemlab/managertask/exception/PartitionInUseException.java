@@ -0,0 +1,17 @@
+package ru.greemlab.managertask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.YearMonth;
+
+/**
+ * Исключение для отсоединения раздела комментариев за месяц, который еще не закончился.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class PartitionInUseException extends RuntimeException {
+
+    public PartitionInUseException(YearMonth month) {
+        super("Раздел комментариев еще принимает новые комментарии: " + month);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.greemlab.managertask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Исключение для отметки синхронизации старше срока хранения записей об удалении.
+ * Клиенту нужна полная синхронизация без отметки.
+ */
+@ResponseStatus(HttpStatus.GONE)
+public class SyncWatermarkExpiredException extends RuntimeException {
+
+    public SyncWatermarkExpiredException(String watermark) {
+        super("Отметка синхронизации устарела, нужна полная синхронизация: " + watermark);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.greemlab.managertask.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Исключение для изменения задачи по устаревшей версии из заголовка If-Match.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class TaskVersionConflictException extends RuntimeException {
+
+    public TaskVersionConflictException(Long taskId) {
+        super("Задача была изменена другим запросом: " + taskId);
+    }
+}
@@ -75,6 +75,9 @@ public class TaskMapper {
                 .priority(task.getPriority().name())
                 .authorId(task.getAuthor().getId())
                 .assigneeId(task.getAssignee() != null ? task.getAssignee().getId() : null)
+                .version(task.getVersion())
+                .commentCount(task.getCommentCount())
+                .lastCommentAt(task.getLastCommentAt())
                 .build();
     }
 }
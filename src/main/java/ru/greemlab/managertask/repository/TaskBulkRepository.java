@@ -0,0 +1,74 @@
+package ru.greemlab.managertask.repository;
+
+import ru.greemlab.managertask.domain.dto.BulkTaskFilter;
+import ru.greemlab.managertask.domain.dto.TaskIndexEntry;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+
+import java.util.List;
+
+/**
+ * Пакетные изменения задач одним запросом UPDATE.
+ * Условие строится из {@link BulkTaskFilter}, ограничение прав добавляется в то же условие.
+ * Каждое изменение увеличивает версию задач, чтобы устаревшие If-Match запросы получили отказ.
+ * Варианты {@code ...Returning} возвращают измененные задачи тем же запросом для обновления поискового
+ * индекса в памяти, остальные возвращают только количество и не держат задачи в памяти.
+ */
+public interface TaskBulkRepository {
+
+    /**
+     * Меняет статус у всех подходящих задач.
+     *
+     * @param filter        Условие выбора задач.
+     * @param assigneeScope ID исполнителя, которым ограничиваются задачи, null без ограничения.
+     * @param status        Новый статус.
+     * @return Количество измененных задач.
+     */
+    int updateStatus(BulkTaskFilter filter, Long assigneeScope, TaskStatus status);
+
+    /**
+     * Меняет приоритет у всех подходящих задач.
+     *
+     * @param filter   Условие выбора задач.
+     * @param priority Новый приоритет.
+     * @return Количество измененных задач.
+     */
+    int updatePriority(BulkTaskFilter filter, TaskPriority priority);
+
+    /**
+     * Назначает все подходящие задачи на исполнителя.
+     *
+     * @param filter     Условие выбора задач.
+     * @param assigneeId ID нового исполнителя.
+     * @return Количество измененных задач.
+     */
+    int updateAssignee(BulkTaskFilter filter, Long assigneeId);
+
+    /**
+     * Меняет статус у всех подходящих задач и возвращает измененные задачи.
+     *
+     * @param filter        Условие выбора задач.
+     * @param assigneeScope ID исполнителя, которым ограничиваются задачи, null без ограничения.
+     * @param status        Новый статус.
+     * @return Измененные задачи.
+     */
+    List<TaskIndexEntry> updateStatusReturning(BulkTaskFilter filter, Long assigneeScope, TaskStatus status);
+
+    /**
+     * Меняет приоритет у всех подходящих задач и возвращает измененные задачи.
+     *
+     * @param filter   Условие выбора задач.
+     * @param priority Новый приоритет.
+     * @return Измененные задачи.
+     */
+    List<TaskIndexEntry> updatePriorityReturning(BulkTaskFilter filter, TaskPriority priority);
+
+    /**
+     * Назначает все подходящие задачи на исполнителя и возвращает измененные задачи.
+     *
+     * @param filter     Условие выбора задач.
+     * @param assigneeId ID нового исполнителя.
+     * @return Измененные задачи.
+     */
+    List<TaskIndexEntry> updateAssigneeReturning(BulkTaskFilter filter, Long assigneeId);
+}
@@ -0,0 +1,170 @@
+package ru.greemlab.managertask.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.transaction.annotation.Transactional;
+import ru.greemlab.managertask.domain.dto.BulkTaskFilter;
+import ru.greemlab.managertask.domain.dto.TaskIndexEntry;
+import ru.greemlab.managertask.domain.model.Task;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+import ru.greemlab.managertask.domain.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Реализация {@link TaskBulkRepository}.
+ * <p>
+ * Изменения с количеством выполняются через Criteria API. Варианты с возвратом задач выполняются нативным
+ * запросом PostgreSQL: условие собирается только из заданных полей фильтра, а {@code returning} возвращает
+ * измененные задачи тем же запросом, без отдельного чтения.
+ */
+public class TaskBulkRepositoryImpl implements TaskBulkRepository {
+
+    private static final String RETURNING = """
+            returning t.id, t.title, t.status, t.priority, t.author_id, t.assignee_id, t.version""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateStatus(BulkTaskFilter filter, Long assigneeScope, TaskStatus status) {
+        return update(filter, assigneeScope, (update, task) -> update.set(task.get("status"), status));
+    }
+
+    @Override
+    @Transactional
+    public int updatePriority(BulkTaskFilter filter, TaskPriority priority) {
+        return update(filter, null, (update, task) -> update.set(task.get("priority"), priority));
+    }
+
+    @Override
+    @Transactional
+    public int updateAssignee(BulkTaskFilter filter, Long assigneeId) {
+        var assignee = entityManager.getReference(User.class, assigneeId);
+        return update(filter, null, (update, task) -> update.set(task.<User>get("assignee"), assignee));
+    }
+
+    private int update(BulkTaskFilter filter, Long assigneeScope,
+                       BiConsumer<CriteriaUpdate<Task>, Root<Task>> change) {
+        if (filter == null || !filter.isRestricted()) {
+            throw new IllegalArgumentException("Нужно указать хотя бы одно условие выбора задач");
+        }
+        var builder = entityManager.getCriteriaBuilder();
+        var update = builder.createCriteriaUpdate(Task.class);
+        var task = update.from(Task.class);
+        change.accept(update, task);
+        update.set(task.<Long>get("version"), builder.sum(task.<Long>get("version"), 1L));
+        update.where(where(builder, task, filter, assigneeScope));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private static Predicate[] where(CriteriaBuilder builder, Root<Task> task, BulkTaskFilter filter,
+                                     Long assigneeScope) {
+        var predicates = new ArrayList<Predicate>();
+        if (filter.taskIds() != null && !filter.taskIds().isEmpty()) {
+            predicates.add(task.get("id").in(filter.taskIds()));
+        }
+        if (filter.authorId() != null) {
+            predicates.add(builder.equal(task.get("author").get("id"), filter.authorId()));
+        }
+        if (filter.assigneeId() != null) {
+            predicates.add(builder.equal(task.get("assignee").get("id"), filter.assigneeId()));
+        }
+        if (filter.status() != null) {
+            predicates.add(builder.equal(task.get("status"), filter.status()));
+        }
+        if (assigneeScope != null) {
+            predicates.add(builder.equal(task.get("assignee").get("id"), assigneeScope));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    @Override
+    @Transactional
+    public List<TaskIndexEntry> updateStatusReturning(BulkTaskFilter filter, Long assigneeScope, TaskStatus status) {
+        return updateReturning(filter, assigneeScope, "status = :value",
+                query -> query.setParameter("value", status.name(), StandardBasicTypes.STRING));
+    }
+
+    @Override
+    @Transactional
+    public List<TaskIndexEntry> updatePriorityReturning(BulkTaskFilter filter, TaskPriority priority) {
+        return updateReturning(filter, null, "priority = :value",
+                query -> query.setParameter("value", priority.name(), StandardBasicTypes.STRING));
+    }
+
+    @Override
+    @Transactional
+    public List<TaskIndexEntry> updateAssigneeReturning(BulkTaskFilter filter, Long assigneeId) {
+        return updateReturning(filter, null, "assignee_id = :value",
+                query -> query.setParameter("value", assigneeId, StandardBasicTypes.LONG));
+    }
+
+    private List<TaskIndexEntry> updateReturning(BulkTaskFilter filter, Long assigneeScope, String change,
+                                                 Consumer<NativeQuery<?>> value) {
+        if (filter == null || !filter.isRestricted()) {
+            throw new IllegalArgumentException("Нужно указать хотя бы одно условие выбора задач");
+        }
+        var predicates = new ArrayList<String>();
+        if (filter.taskIds() != null && !filter.taskIds().isEmpty()) {
+            predicates.add("t.id in (:taskIds)");
+        }
+        if (filter.authorId() != null) {
+            predicates.add("t.author_id = :authorId");
+        }
+        if (filter.assigneeId() != null) {
+            predicates.add("t.assignee_id = :assigneeId");
+        }
+        if (filter.status() != null) {
+            predicates.add("t.status = :status");
+        }
+        if (assigneeScope != null) {
+            predicates.add("t.assignee_id = :assigneeScope");
+        }
+        var sql = "update tasks t set " + change + ", version = t.version + 1 where "
+                  + String.join(" and ", predicates) + "\n" + RETURNING;
+
+        NativeQuery<Tuple> query = entityManager.createNativeQuery(sql, Tuple.class).unwrap(NativeQuery.class);
+        value.accept(query);
+        if (filter.taskIds() != null && !filter.taskIds().isEmpty()) {
+            query.setParameterList("taskIds", filter.taskIds(), StandardBasicTypes.LONG);
+        }
+        if (filter.authorId() != null) {
+            query.setParameter("authorId", filter.authorId(), StandardBasicTypes.LONG);
+        }
+        if (filter.assigneeId() != null) {
+            query.setParameter("assigneeId", filter.assigneeId(), StandardBasicTypes.LONG);
+        }
+        if (filter.status() != null) {
+            query.setParameter("status", filter.status().name(), StandardBasicTypes.STRING);
+        }
+        if (assigneeScope != null) {
+            query.setParameter("assigneeScope", assigneeScope, StandardBasicTypes.LONG);
+        }
+        return query.getResultList().stream().map(TaskBulkRepositoryImpl::toEntry).toList();
+    }
+
+    private static TaskIndexEntry toEntry(Tuple row) {
+        var assigneeId = row.get("assignee_id", Number.class);
+        return new TaskIndexEntry(
+                row.get("id", Number.class).longValue(),
+                row.get("title", String.class),
+                TaskStatus.valueOf(row.get("status", String.class)),
+                TaskPriority.valueOf(row.get("priority", String.class)),
+                row.get("author_id", Number.class).longValue(),
+                assigneeId == null ? null : assigneeId.longValue(),
+                row.get("version", Number.class).longValue());
+    }
+}
@@ -0,0 +1,157 @@
+package ru.greemlab.managertask.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Разделы таблицы комментариев {@code task_comments}.
+ * <p>
+ * Таблица разбита на разделы по месяцу {@code created_at}, раздел месяца называется
+ * {@code task_comments_pYYYYMM}. Разделы создает функция базы данных {@code task_comments_create_partitions},
+ * отсоединенный раздел переименовывается в {@code task_comments_archive_YYYYMM} и остается обычной таблицей
+ * для выгрузки в архив.
+ * <p>
+ * Раздела по умолчанию нет: с ним нельзя отсоединить раздел без блокировки всей таблицы
+ * ({@code DETACH PARTITION ... CONCURRENTLY} запрещен), а создание каждого нового раздела проверяло бы строки
+ * раздела по умолчанию. Поэтому комментарий с {@code created_at} в месяце без раздела не добавляется: разделы
+ * должны быть созданы заранее, как это делает {@code TaskCommentPartitionService}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskCommentPartitionRepository {
+
+    private static final String PARTITION_PREFIX = "task_comments_p";
+    private static final String ARCHIVE_PREFIX = "task_comments_archive_";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Раздел комментариев.
+     *
+     * @param month             Месяц раздела.
+     * @param estimatedComments Оценка количества комментариев по статистике, 0 до первого сбора статистики.
+     */
+    public record PartitionRow(YearMonth month, long estimatedComments) {
+    }
+
+    /**
+     * Отсоединенный раздел комментариев.
+     *
+     * @param archiveTable Имя таблицы с комментариями раздела.
+     * @param comments     Количество комментариев в разделе.
+     * @param tasks        Количество задач, у которых пересчитаны комментарии.
+     */
+    public record DetachedPartition(String archiveTable, long comments, long tasks) {
+    }
+
+    /**
+     * Создает недостающие разделы для месяцев с первого по последний включительно.
+     *
+     * @param from Любой день первого месяца.
+     * @param to   Любой день последнего месяца.
+     * @return Количество созданных разделов.
+     */
+    public int createPartitions(LocalDate from, LocalDate to) {
+        var created = jdbcTemplate.queryForObject(
+                "select task_comments_create_partitions(?, ?)", Integer.class, from, to);
+        return created == null ? 0 : created;
+    }
+
+    /**
+     * Читает разделы комментариев в порядке месяцев.
+     *
+     * @return Разделы.
+     */
+    public List<PartitionRow> findAll() {
+        return jdbcTemplate.query("""
+                select c.relname, greatest(c.reltuples, 0)::bigint as estimated_comments
+                from pg_inherits i
+                join pg_class c on c.oid = i.inhrelid
+                where i.inhparent = 'task_comments'::regclass
+                  and c.relname like 'task_comments\\_p%'
+                order by c.relname
+                """, (rs, rowNum) -> new PartitionRow(
+                YearMonth.parse(rs.getString("relname").substring(PARTITION_PREFIX.length()), SUFFIX),
+                rs.getLong("estimated_comments")));
+    }
+
+    /**
+     * Отсоединяет раздел месяца от таблицы комментариев.
+     * <p>
+     * Раздел отсоединяется командой {@code DETACH PARTITION ... CONCURRENTLY}, которая берет на таблицу
+     * комментариев только {@code SHARE UPDATE EXCLUSIVE} и не останавливает чтение и добавление комментариев.
+     * Команда не выполняется в блоке транзакции, поэтому метод вызывается без транзакции. Если прошлое
+     * отсоединение было прервано, оно завершается командой {@code FINALIZE}, а уже отсоединенный раздел
+     * остается как есть.
+     *
+     * @param month Месяц раздела.
+     * @return true, если раздел отсоединен, false, если раздела за этот месяц нет.
+     */
+    public boolean detach(YearMonth month) {
+        var partition = PARTITION_PREFIX + month.format(SUFFIX);
+        var state = jdbcTemplate.queryForList("""
+                select i.inhdetachpending
+                from pg_class c
+                left join pg_inherits i on i.inhrelid = c.oid and i.inhparent = 'task_comments'::regclass
+                where c.oid = to_regclass(?)
+                """, Boolean.class, partition);
+        if (state.isEmpty()) {
+            return false;
+        }
+        var detachPending = state.getFirst();
+        if (Boolean.FALSE.equals(detachPending)) {
+            jdbcTemplate.execute("alter table task_comments detach partition " + partition + " concurrently");
+        } else if (Boolean.TRUE.equals(detachPending)) {
+            jdbcTemplate.execute("alter table task_comments detach partition " + partition + " finalize");
+        }
+        return true;
+    }
+
+    /**
+     * Переименовывает отсоединенный раздел месяца в архивную таблицу и пересчитывает комментарии задач.
+     * <p>
+     * Архивная таблица называется {@code task_comments_archive_YYYYMM}, если это имя занято, к нему добавляется
+     * номер: {@code _2}, {@code _3} и так далее. У задач с комментариями из раздела количество комментариев
+     * уменьшается на число архивных, время последнего комментария берется из оставшихся, если оно попадало
+     * в архивный месяц, а версия задачи увеличивается. Количество вычитается, а не пересчитывается заново,
+     * поэтому комментарии, добавленные параллельно, не теряются.
+     *
+     * @param month Месяц отсоединенного раздела.
+     * @return Отсоединенный раздел.
+     */
+    @Transactional
+    public DetachedPartition archive(YearMonth month) {
+        var suffix = month.format(SUFFIX);
+        var archive = ARCHIVE_PREFIX + suffix;
+        for (var copy = 2; exists(archive); copy++) {
+            archive = ARCHIVE_PREFIX + suffix + "_" + copy;
+        }
+        jdbcTemplate.execute("alter table " + PARTITION_PREFIX + suffix + " rename to " + archive);
+        var comments = jdbcTemplate.queryForObject("select count(*) from " + archive, Long.class);
+        var tasks = jdbcTemplate.update("""
+                update tasks t
+                set comment_count   = t.comment_count - a.comment_count,
+                    last_comment_at = case
+                                          when t.last_comment_at < ?
+                                              then (select max(c.created_at) from task_comments c where c.task_id = t.id)
+                                          else t.last_comment_at end,
+                    version         = t.version + 1
+                from (select task_id, count(*) as comment_count from %s group by task_id) a
+                where t.id = a.task_id
+                """.formatted(archive), month.plusMonths(1).atDay(1).atStartOfDay());
+        return new DetachedPartition(archive, comments == null ? 0 : comments, tasks);
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select to_regclass(?) is not null", Boolean.class, table));
+    }
+}
@@ -1,22 +1,151 @@
 package ru.greemlab.managertask.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.greemlab.managertask.domain.dto.CommentResponse;
+import ru.greemlab.managertask.domain.model.CommentOwnership;
 import ru.greemlab.managertask.domain.model.TaskComment;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Репозиторий для работы с сущностью TaskComment.
  * Предоставляет доступ к данным комментариев задач в базе данных.
+ * Таблица {@code task_comments} разбита на разделы по месяцу {@code created_at}: запросы с условием
+ * по времени создания читают только подходящие разделы.
  */
 public interface TaskCommentRepository extends JpaRepository<TaskComment, Long> {
 
     /**
-     * Находит комментарии для задачи по ее ID.
+     * Находит комментарии для задачи сразу в виде ответа.
+     * Выполняет один запрос с соединением с пользователями и не загружает задачу.
      *
      * @param taskId   ID задачи.
      * @param pageable Параметры постраничного вывода.
      * @return Страница комментариев для указанной задачи.
      */
-    Page<TaskComment> findByTaskId(Long taskId, Pageable pageable);
+    @Query(value = """
+            select new ru.greemlab.managertask.domain.dto.CommentResponse(
+                c.id, c.comment, c.task.id, u.id, u.email, c.createdAt)
+            from TaskComment c
+            join c.user u
+            where c.task.id = :taskId
+            """,
+            countQuery = "select count(c) from TaskComment c where c.task.id = :taskId")
+    Page<CommentResponse> findResponsesByTaskId(@Param("taskId") Long taskId, Pageable pageable);
+
+    /**
+     * Находит первые комментарии задачи в порядке создания.
+     *
+     * @param taskId   ID задачи.
+     * @param pageable Размер страницы, сортировка задается запросом.
+     * @return Комментарии задачи.
+     */
+    @Query("""
+            select new ru.greemlab.managertask.domain.dto.CommentResponse(
+                c.id, c.comment, c.task.id, u.id, u.email, c.createdAt)
+            from TaskComment c
+            join c.user u
+            where c.task.id = :taskId
+            order by c.createdAt, c.id
+            """)
+    List<CommentResponse> findFirstResponsesByTaskId(@Param("taskId") Long taskId, Pageable pageable);
+
+    /**
+     * Находит комментарии задачи, созданные после указанного, в порядке создания.
+     * Условие записано так, чтобы начало диапазона бралось из индекса (task_id, created_at, id),
+     * а разделы {@code task_comments} за месяцы до курсора исключались из плана.
+     *
+     * @param taskId    ID задачи.
+     * @param createdAt Время создания последнего комментария предыдущей страницы.
+     * @param id        ID последнего комментария предыдущей страницы.
+     * @param pageable  Размер страницы, сортировка задается запросом.
+     * @return Комментарии задачи.
+     */
+    @Query("""
+            select new ru.greemlab.managertask.domain.dto.CommentResponse(
+                c.id, c.comment, c.task.id, u.id, u.email, c.createdAt)
+            from TaskComment c
+            join c.user u
+            where c.task.id = :taskId
+              and c.createdAt >= :createdAt
+              and (c.createdAt > :createdAt or c.id > :id)
+            order by c.createdAt, c.id
+            """)
+    List<CommentResponse> findResponsesByTaskIdAfter(@Param("taskId") Long taskId,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+
+    /**
+     * Читает комментарии к подходящим задачам для выгрузки потоком в порядке ID.
+     * Строки читаются курсором базы данных порциями по 1000 и не попадают в контекст сохранения.
+     * Вызывается только внутри транзакции, поток нужно закрыть после чтения.
+     *
+     * @param authorId   ID автора задач, null для любого автора.
+     * @param assigneeId ID исполнителя задач, null для любого исполнителя.
+     * @param status     Статус задач, null для любого статуса.
+     * @return Поток комментариев.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new ru.greemlab.managertask.domain.dto.CommentResponse(
+                c.id, c.comment, t.id, u.id, u.email, c.createdAt)
+            from TaskComment c
+            join c.task t
+            join c.user u
+            where (:authorId is null or t.author.id = :authorId)
+              and (:assigneeId is null or t.assignee.id = :assigneeId)
+              and (:status is null or t.status = :status)
+            order by c.id
+            """)
+    Stream<CommentResponse> streamResponses(@Param("authorId") Long authorId,
+                                            @Param("assigneeId") Long assigneeId,
+                                            @Param("status") TaskStatus status);
+
+    /**
+     * Находит автора и время создания комментария задачи, не загружая комментарий.
+     * ID комментария не содержит ключ раздела, поэтому поиск проверяет индекс задачи в каждом разделе.
+     *
+     * @param id     ID комментария.
+     * @param taskId ID задачи.
+     * @return Optional с автором и временем создания, пустой, если у задачи нет такого комментария.
+     */
+    @Query("""
+            select new ru.greemlab.managertask.domain.model.CommentOwnership(c.user.id, c.createdAt)
+            from TaskComment c
+            where c.id = :id and c.task.id = :taskId
+            """)
+    Optional<CommentOwnership> findOwnershipByIdAndTaskId(@Param("id") Long id, @Param("taskId") Long taskId);
+
+    /**
+     * Удаляет комментарий задачи одним DELETE без чтения комментария.
+     * Условие по времени создания оставляет в плане только раздел, где лежит комментарий.
+     *
+     * @param id        ID комментария.
+     * @param taskId    ID задачи.
+     * @param createdAt Время создания комментария.
+     * @return Количество удаленных строк: 0, если комментарий уже удален.
+     */
+    @Modifying
+    @Query("""
+            delete from TaskComment c
+            where c.id = :id and c.task.id = :taskId and c.createdAt = :createdAt
+            """)
+    int deleteByIdAndTaskId(@Param("id") Long id, @Param("taskId") Long taskId,
+                            @Param("createdAt") LocalDateTime createdAt);
 }
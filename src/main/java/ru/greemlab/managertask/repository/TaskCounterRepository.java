@@ -0,0 +1,133 @@
+package ru.greemlab.managertask.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+
+import java.util.List;
+
+/**
+ * Счетчики задач по исполнителю, статусу и приоритету.
+ * <p>
+ * Таблицу {@code task_counters} ведет триггер базы данных на каждую команду с задачами, в той же
+ * транзакции, поэтому счетчики учитывают и пакетные изменения, и импорт, и каскадное удаление.
+ * Чтение счетчиков не обращается к таблице задач. Триггер сначала складывает изменения команды по ключу
+ * счетчика, а затем блокирует и обновляет строки в порядке ключа, поэтому параллельные пакетные изменения
+ * не взаимоблокируются.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskCounterRepository {
+
+    private static final RowMapper<CounterRow> COUNTER_ROW = (rs, rowNum) -> new CounterRow(
+            rs.getLong("assignee_id"),
+            TaskStatus.valueOf(rs.getString("status")),
+            TaskPriority.valueOf(rs.getString("priority")),
+            rs.getLong("task_count"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Счетчик задач.
+     *
+     * @param assigneeId ID исполнителя.
+     * @param status     Статус задач.
+     * @param priority   Приоритет задач.
+     * @param taskCount  Количество задач.
+     */
+    public record CounterRow(Long assigneeId, TaskStatus status, TaskPriority priority, long taskCount) {
+    }
+
+    /**
+     * Читает ненулевые счетчики всех исполнителей в порядке ID исполнителя.
+     *
+     * @return Счетчики.
+     */
+    public List<CounterRow> findAll() {
+        return jdbcTemplate.query("""
+                select assignee_id, status, priority, task_count
+                from task_counters
+                where task_count <> 0
+                order by assignee_id
+                """, COUNTER_ROW);
+    }
+
+    /**
+     * Читает ненулевые счетчики исполнителя.
+     *
+     * @param assigneeId ID исполнителя.
+     * @return Счетчики.
+     */
+    public List<CounterRow> findByAssigneeId(Long assigneeId) {
+        return jdbcTemplate.query("""
+                select assignee_id, status, priority, task_count
+                from task_counters
+                where assignee_id = ? and task_count <> 0
+                """, COUNTER_ROW, assigneeId);
+    }
+
+    /**
+     * Читает порцию ID пользователей для сверки счетчиков.
+     *
+     * @param afterId ID, после которого начинается порция.
+     * @param limit   Размер порции.
+     * @return ID пользователей по возрастанию.
+     */
+    public List<Long> findUserIds(long afterId, int limit) {
+        return jdbcTemplate.queryForList(
+                "select id from users where id > ? order by id limit ?", Long.class, afterId, limit);
+    }
+
+    /**
+     * Пересчитывает счетчики исполнителей из диапазона ID по таблице задач и исправляет расхождения.
+     * <p>
+     * Таблица задач не блокируется. Сверка идет в транзакции {@code REPEATABLE READ}: счетчики диапазона
+     * блокируются в порядке ключа, как в триггере, и сравниваются с задачами по тому же снимку.
+     * Если счетчик изменила транзакция, зафиксированная после снимка, запись счетчика завершается ошибкой
+     * сериализации и сверку диапазона нужно повторить. Счетчики с нулем удаляются.
+     *
+     * @param fromId Первый ID исполнителя диапазона.
+     * @param toId   Последний ID исполнителя диапазона.
+     * @return Количество исправленных счетчиков.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public long reconcile(long fromId, long toId) {
+        jdbcTemplate.queryForList("""
+                select 1
+                from task_counters
+                where assignee_id between ? and ?
+                order by assignee_id, status, priority
+                for update
+                """, Integer.class, fromId, toId);
+        var repaired = jdbcTemplate.queryForObject("""
+                with actual as (select assignee_id, status, priority, count(*) as task_count
+                                from tasks
+                                where assignee_id between ? and ?
+                                group by assignee_id, status, priority),
+                     fixed as (insert into task_counters (assignee_id, status, priority, task_count)
+                         select a.assignee_id, a.status, a.priority, a.task_count
+                         from actual a
+                         left join task_counters c
+                                   on c.assignee_id = a.assignee_id and c.status = a.status and c.priority = a.priority
+                         where c.task_count is distinct from a.task_count
+                         order by a.assignee_id, a.status, a.priority
+                         on conflict (assignee_id, status, priority) do update set task_count = excluded.task_count
+                         returning 1),
+                     removed as (delete from task_counters c
+                         where c.assignee_id between ? and ?
+                           and not exists (select 1
+                                           from actual a
+                                           where a.assignee_id = c.assignee_id
+                                             and a.status = c.status
+                                             and a.priority = c.priority)
+                         returning c.task_count)
+                select (select count(*) from fixed) + (select count(*) from removed where task_count <> 0)
+                """, Long.class, fromId, toId, fromId, toId);
+        return repaired == null ? 0 : repaired;
+    }
+}
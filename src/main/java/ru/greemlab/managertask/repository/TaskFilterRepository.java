@@ -0,0 +1,31 @@
+package ru.greemlab.managertask.repository;
+
+import ru.greemlab.managertask.domain.dto.TaskFilter;
+import ru.greemlab.managertask.domain.dto.TaskResponse;
+import ru.greemlab.managertask.domain.model.PageCursor;
+import ru.greemlab.managertask.domain.model.TaskSort;
+
+import java.util.List;
+
+/**
+ * Список задач по произвольному сочетанию условий.
+ * Запрос собирается из {@link TaskFilter} через Criteria API только из заданных условий,
+ * поэтому каждое сочетание получает свой план с подходящим индексом.
+ */
+public interface TaskFilterRepository {
+
+    /**
+     * Находит задачи, подходящие под условие, после курсора в указанном порядке.
+     * Для {@link TaskSort#NEWEST} курсор содержит только ID, для {@link TaskSort#ACTIVITY} -
+     * время последнего комментария и ID.
+     *
+     * @param filter    Условие выбора задач.
+     * @param sort      Порядок вывода.
+     * @param userScope ID пользователя, которым ограничиваются задачи по автору или исполнителю,
+     *                  null без ограничения.
+     * @param before    Курсор последней задачи предыдущей страницы, null для первой страницы.
+     * @param limit     Максимальное количество задач.
+     * @return Задачи в виде ответа.
+     */
+    List<TaskResponse> findResponses(TaskFilter filter, TaskSort sort, Long userScope, PageCursor before, int limit);
+}
@@ -0,0 +1,106 @@
+package ru.greemlab.managertask.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import ru.greemlab.managertask.domain.dto.TaskFilter;
+import ru.greemlab.managertask.domain.dto.TaskResponse;
+import ru.greemlab.managertask.domain.model.PageCursor;
+import ru.greemlab.managertask.domain.model.Task;
+import ru.greemlab.managertask.domain.model.TaskSort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Реализация {@link TaskFilterRepository} через Criteria API.
+ * <p>
+ * Читает только колонки задачи и ID автора и исполнителя, не загружая пользователей.
+ * Текст ищется через {@code lower(...) like}, для которого есть триграммные GIN индексы.
+ * Порядок по активности читает частичный индекс (last_comment_at, id) по задачам с комментариями.
+ */
+public class TaskFilterRepositoryImpl implements TaskFilterRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskResponse> findResponses(TaskFilter filter, TaskSort sort, Long userScope, PageCursor before,
+                                            int limit) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(TaskResponse.class);
+        var task = query.from(Task.class);
+        var id = task.<Long>get("id");
+        var author = task.get("author").<Long>get("id");
+        var assignee = task.get("assignee").<Long>get("id");
+        var lastCommentAt = task.<LocalDateTime>get("lastCommentAt");
+        query.select(builder.construct(TaskResponse.class,
+                id, task.get("title"), task.get("description"), task.get("status"), task.get("priority"),
+                author, assignee, task.get("version"), task.get("commentCount"), lastCommentAt));
+
+        var predicates = where(builder, task, filter);
+        if (userScope != null) {
+            predicates.add(builder.or(builder.equal(author, userScope), builder.equal(assignee, userScope)));
+        }
+        if (sort == TaskSort.ACTIVITY) {
+            predicates.add(builder.isNotNull(lastCommentAt));
+            if (before != null) {
+                // Первое условие задает начало диапазона индекса, второе отсекает уже выведенные задачи.
+                predicates.add(builder.lessThanOrEqualTo(lastCommentAt, before.createdAt()));
+                predicates.add(builder.or(builder.lessThan(lastCommentAt, before.createdAt()),
+                        builder.lessThan(id, before.id())));
+            }
+            query.orderBy(builder.desc(lastCommentAt), builder.desc(id));
+        } else {
+            if (before != null) {
+                predicates.add(builder.lessThan(id, before.id()));
+            }
+            query.orderBy(builder.desc(id));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static List<Predicate> where(CriteriaBuilder builder, Root<Task> task, TaskFilter filter) {
+        var predicates = new ArrayList<Predicate>();
+        if (filter.statuses() != null && !filter.statuses().isEmpty()) {
+            predicates.add(task.get("status").in(filter.statuses()));
+        }
+        if (filter.priorities() != null && !filter.priorities().isEmpty()) {
+            predicates.add(task.get("priority").in(filter.priorities()));
+        }
+        if (filter.authorId() != null) {
+            predicates.add(builder.equal(task.get("author").get("id"), filter.authorId()));
+        }
+        if (filter.assigneeId() != null) {
+            predicates.add(builder.equal(task.get("assignee").get("id"), filter.assigneeId()));
+        }
+        if (filter.text() != null && !filter.text().isBlank()) {
+            var pattern = "%" + escapeLike(filter.text().strip().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(builder.or(
+                    builder.like(builder.lower(task.<String>get("title")), pattern, LIKE_ESCAPE),
+                    builder.like(builder.lower(task.<String>get("description")), pattern, LIKE_ESCAPE)));
+        }
+        return predicates;
+    }
+
+    private static String escapeLike(String text) {
+        var escaped = new StringBuilder(text.length());
+        for (var i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,219 @@
+package ru.greemlab.managertask.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Загрузка задач и комментариев командой COPY.
+ * <p>
+ * Каждая порция загружается одной командой COPY в своей транзакции: задачи и комментарии одинаково
+ * объявлены {@link Transactional}, поэтому внутри уже открытой транзакции порция в нее и входит,
+ * а ошибка COPY откатывает порцию целиком вместе с пересчетом счетчиков комментариев. ID берутся из тех же
+ * последовательностей, что и у сущностей, блоками по {@link #SEQUENCE_INCREMENT}, так же как
+ * это делает pooled оптимизатор Hibernate, поэтому ID не пересекаются с задачами,
+ * созданными через JPA.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskImportRepository {
+
+    /**
+     * Шаг последовательностей, совпадает с allocationSize сущностей.
+     */
+    static final int SEQUENCE_INCREMENT = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Строка задачи для COPY.
+     *
+     * @param id          ID задачи.
+     * @param title       Название задачи.
+     * @param description Описание задачи.
+     * @param status      Статус задачи.
+     * @param priority    Приоритет задачи.
+     * @param authorId    ID автора задачи.
+     * @param assigneeId  ID исполнителя задачи, может быть null.
+     * @param externalRef Внешний ключ задачи, может быть null.
+     * @param createdAt   Время создания задачи.
+     */
+    public record TaskRow(Long id, String title, String description, String status, String priority,
+                          Long authorId, Long assigneeId, String externalRef, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Строка комментария для COPY.
+     *
+     * @param id        ID комментария.
+     * @param taskId    ID задачи.
+     * @param userId    ID автора комментария.
+     * @param comment   Текст комментария.
+     * @param createdAt Время создания комментария.
+     */
+    public record CommentRow(Long id, Long taskId, Long userId, String comment, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Выделяет ID из последовательности.
+     *
+     * @param sequence Имя последовательности.
+     * @param count    Количество ID.
+     * @return Новые ID.
+     */
+    public List<Long> allocateIds(String sequence, int count) {
+        var blocks = (count + SEQUENCE_INCREMENT - 1) / SEQUENCE_INCREMENT;
+        var highs = jdbcTemplate.queryForList(
+                "select nextval(?::regclass) from generate_series(1, ?)", Long.class, sequence, blocks);
+        var ids = new ArrayList<Long>(count);
+        for (var high : highs) {
+            for (long id = Math.max(1, high - SEQUENCE_INCREMENT + 1); id <= high && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        if (ids.size() < count) {
+            ids.addAll(allocateIds(sequence, count - ids.size()));
+        }
+        return ids;
+    }
+
+    /**
+     * Находит ID пользователей по email одним запросом.
+     *
+     * @param emails Email пользователей.
+     * @return ID пользователей по email, только для найденных.
+     */
+    public Map<String, Long> findUserIdsByEmail(Collection<String> emails) {
+        return lookup("select email, id from users where email = any(?)", "text", emails);
+    }
+
+    /**
+     * Находит ID задач по внешним ключам одним запросом.
+     *
+     * @param refs Внешние ключи задач.
+     * @return ID задач по внешнему ключу, только для найденных.
+     */
+    public Map<String, Long> findTaskIdsByExternalRef(Collection<String> refs) {
+        return lookup("select external_ref, id from tasks where external_ref = any(?)", "text", refs);
+    }
+
+    /**
+     * Оставляет только ID существующих задач.
+     *
+     * @param ids ID задач.
+     * @return Существующие ID.
+     */
+    public List<Long> findExistingTaskIds(Collection<Long> ids) {
+        return jdbcTemplate.query("select id from tasks where id = any(?)",
+                ps -> setArray(ps, "bigint", ids),
+                (rs, rowNum) -> rs.getLong(1));
+    }
+
+    /**
+     * Загружает задачи одной командой COPY в одной транзакции.
+     *
+     * @param rows Задачи.
+     * @return Количество загруженных строк.
+     */
+    @Transactional
+    public long copyTasks(List<TaskRow> rows) {
+        var csv = new StringBuilder();
+        for (var row : rows) {
+            appendCsv(csv, row.id(), row.title(), row.description(), row.status(), row.priority(),
+                    row.authorId(), row.assigneeId(), row.externalRef(), row.createdAt());
+        }
+        return copy("""
+                COPY tasks (id, title, description, status, priority, author_id, assignee_id, external_ref, created_at)
+                FROM STDIN WITH (FORMAT csv)""", csv);
+    }
+
+    /**
+     * Загружает комментарии одной командой COPY и в той же транзакции пересчитывает
+     * количество комментариев и время последнего комментария у затронутых задач.
+     *
+     * @param rows Комментарии.
+     * @return Количество загруженных строк.
+     */
+    @Transactional
+    public long copyComments(List<CommentRow> rows) {
+        var csv = new StringBuilder();
+        var taskIds = new HashSet<Long>();
+        for (var row : rows) {
+            appendCsv(csv, row.id(), row.taskId(), row.userId(), row.comment(), row.createdAt());
+            taskIds.add(row.taskId());
+        }
+        var copied = copy("COPY task_comments (id, task_id, user_id, comment, created_at) FROM STDIN WITH (FORMAT csv)", csv);
+        jdbcTemplate.update("""
+                update tasks t
+                set comment_count   = s.comment_count,
+                    last_comment_at = s.last_comment_at,
+                    version         = t.version + 1
+                from (select task_id, count(*) as comment_count, max(created_at) as last_comment_at
+                      from task_comments
+                      where task_id = any(?)
+                      group by task_id) s
+                where t.id = s.task_id
+                """, ps -> setArray(ps, "bigint", taskIds));
+        return copied;
+    }
+
+    private long copy(String sql, CharSequence csv) {
+        var copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("Не удалось передать данные в COPY", e);
+            }
+        });
+        return copied == null ? 0 : copied;
+    }
+
+    private Map<String, Long> lookup(String sql, String type, Collection<String> keys) {
+        var result = new HashMap<String, Long>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+        jdbcTemplate.query(sql, ps -> setArray(ps, type, keys), rs -> {
+            result.put(rs.getString(1), rs.getLong(2));
+        });
+        return result;
+    }
+
+    private static void setArray(PreparedStatement ps, String type, Collection<?> values) throws SQLException {
+        ps.setArray(1, ps.getConnection().createArrayOf(type, values.toArray()));
+    }
+
+    /**
+     * Добавляет строку CSV для COPY. Пустое поле без кавычек COPY читает как NULL,
+     * поэтому строки всегда пишутся в кавычках, а null - пустым полем.
+     */
+    private static void appendCsv(StringBuilder csv, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            var value = values[i];
+            if (value instanceof String text) {
+                csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value != null) {
+                csv.append(value);
+            }
+        }
+        csv.append('\n');
+    }
+}
@@ -1,32 +1,311 @@
 package ru.greemlab.managertask.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.greemlab.managertask.domain.dto.TaskChange;
+import ru.greemlab.managertask.domain.dto.TaskIndexEntry;
+import ru.greemlab.managertask.domain.dto.TaskResponse;
 import ru.greemlab.managertask.domain.model.Task;
+import ru.greemlab.managertask.domain.model.TaskOwnership;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
 import ru.greemlab.managertask.domain.model.User;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Репозиторий для работы с сущностью Task.
  * Предоставляет доступ к данным задач в базе данных.
  */
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskBulkRepository, TaskSearchRepository,
+        TaskFilterRepository {
 
     /**
-     * Находит задачи, созданные указанным автором.
+     * Находит задачи, созданные указанным автором, сразу в виде ответа.
+     * Читает только колонки задачи и ID автора и исполнителя, не загружая пользователей.
      *
-     * @param author   Автор задач.
+     * @param authorId ID автора задач.
      * @param pageable Параметры постраничного вывода.
      * @return Страница задач, созданных автором.
      */
-    Page<Task> findByAuthor(User author, Pageable pageable);
+    @Query(value = """
+            select new ru.greemlab.managertask.domain.dto.TaskResponse(
+                t.id, t.title, t.description, t.status, t.priority, t.author.id, t.assignee.id, t.version,
+                t.commentCount, t.lastCommentAt)
+            from Task t
+            where t.author.id = :authorId
+            """,
+            countQuery = "select count(t) from Task t where t.author.id = :authorId")
+    Page<TaskResponse> findResponsesByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
 
     /**
-     * Находит задачи, назначенные указанному исполнителю.
+     * Находит задачи, назначенные указанному исполнителю, сразу в виде ответа.
+     * Читает только колонки задачи и ID автора и исполнителя, не загружая пользователей.
      *
-     * @param assignee Исполнитель задач.
-     * @param pageable Параметры постраничного вывода.
+     * @param assigneeId ID исполнителя задач.
+     * @param pageable   Параметры постраничного вывода.
      * @return Страница задач, назначенных исполнителю.
      */
-    Page<Task> findByAssignee(User assignee, Pageable pageable);
+    @Query(value = """
+            select new ru.greemlab.managertask.domain.dto.TaskResponse(
+                t.id, t.title, t.description, t.status, t.priority, t.author.id, t.assignee.id, t.version,
+                t.commentCount, t.lastCommentAt)
+            from Task t
+            where t.assignee.id = :assigneeId
+            """,
+            countQuery = "select count(t) from Task t where t.assignee.id = :assigneeId")
+    Page<TaskResponse> findResponsesByAssigneeId(@Param("assigneeId") Long assigneeId, Pageable pageable);
+
+    /**
+     * Находит задачи автора с ID меньше указанного, от новых к старым.
+     * Для первой страницы передается {@link Long#MAX_VALUE}.
+     *
+     * @param authorId ID автора задач.
+     * @param beforeId ID последней задачи предыдущей страницы.
+     * @param pageable Размер страницы, сортировка задается запросом.
+     * @return Задачи автора.
+     */
+    @Query("""
+            select new ru.greemlab.managertask.domain.dto.TaskResponse(
+                t.id, t.title, t.description, t.status, t.priority, t.author.id, t.assignee.id, t.version,
+                t.commentCount, t.lastCommentAt)
+            from Task t
+            where t.author.id = :authorId and t.id < :beforeId
+            order by t.id desc
+            """)
+    List<TaskResponse> findResponsesByAuthorIdBefore(@Param("authorId") Long authorId,
+                                                     @Param("beforeId") Long beforeId,
+                                                     Pageable pageable);
+
+    /**
+     * Находит задачи исполнителя с ID меньше указанного, от новых к старым.
+     * Для первой страницы передается {@link Long#MAX_VALUE}.
+     *
+     * @param assigneeId ID исполнителя задач.
+     * @param beforeId   ID последней задачи предыдущей страницы.
+     * @param pageable   Размер страницы, сортировка задается запросом.
+     * @return Задачи исполнителя.
+     */
+    @Query("""
+            select new ru.greemlab.managertask.domain.dto.TaskResponse(
+                t.id, t.title, t.description, t.status, t.priority, t.author.id, t.assignee.id, t.version,
+                t.commentCount, t.lastCommentAt)
+            from Task t
+            where t.assignee.id = :assigneeId and t.id < :beforeId
+            order by t.id desc
+            """)
+    List<TaskResponse> findResponsesByAssigneeIdBefore(@Param("assigneeId") Long assigneeId,
+                                                       @Param("beforeId") Long beforeId,
+                                                       Pageable pageable);
+
+    /**
+     * Находит задачи исполнителя, измененные после отметки (since, sinceId) и не позже upTo,
+     * в порядке изменения.
+     *
+     * @param assigneeId ID исполнителя задач.
+     * @param since      Время изменения из отметки синхронизации.
+     * @param sinceId    ID задачи из отметки синхронизации.
+     * @param upTo       Верхняя граница времени изменения.
+     * @param pageable   Размер страницы, сортировка задается запросом.
+     * @return Измененные задачи со временем изменения.
+     */
+    @Query("""
+            select new ru.greemlab.managertask.domain.dto.TaskChange(
+                t.id, t.title, t.description, t.status, t.priority, t.author.id, t.assignee.id, t.version,
+                t.commentCount, t.lastCommentAt, t.updatedAt)
+            from Task t
+            where t.assignee.id = :assigneeId
+              and t.updatedAt >= :since and (t.updatedAt > :since or t.id > :sinceId)
+              and t.updatedAt <= :upTo
+            order by t.updatedAt, t.id
+            """)
+    List<TaskChange> findChangesByAssigneeId(@Param("assigneeId") Long assigneeId,
+                                             @Param("since") LocalDateTime since,
+                                             @Param("sinceId") Long sinceId,
+                                             @Param("upTo") LocalDateTime upTo,
+                                             Pageable pageable);
+
+    /**
+     * Читает задачи для выгрузки потоком в порядке ID.
+     * Строки читаются курсором базы данных порциями по 1000 и не попадают в контекст сохранения,
+     * поэтому память не зависит от количества задач. Вызывается только внутри транзакции,
+     * поток нужно закрыть после чтения.
+     *
+     * @param authorId   ID автора задач, null для любого автора.
+     * @param assigneeId ID исполнителя задач, null для любого исполнителя.
+     * @param status     Статус задач, null для любого статуса.
+     * @return Поток задач.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new ru.greemlab.managertask.domain.dto.TaskResponse(
+                t.id, t.title, t.description, t.status, t.priority, t.author.id, t.assignee.id, t.version,
+                t.commentCount, t.lastCommentAt)
+            from Task t
+            where (:authorId is null or t.author.id = :authorId)
+              and (:assigneeId is null or t.assignee.id = :assigneeId)
+              and (:status is null or t.status = :status)
+            order by t.id
+            """)
+    Stream<TaskResponse> streamResponses(@Param("authorId") Long authorId,
+                                         @Param("assigneeId") Long assigneeId,
+                                         @Param("status") TaskStatus status);
+
+    /**
+     * Читает поля задач для поискового индекса потоком в порядке ID.
+     * Вызывается только внутри транзакции, поток нужно закрыть после чтения.
+     *
+     * @return Поток записей индекса.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new ru.greemlab.managertask.domain.dto.TaskIndexEntry(
+                t.id, t.title, t.status, t.priority, t.author.id, t.assignee.id, t.version)
+            from Task t
+            order by t.id
+            """)
+    Stream<TaskIndexEntry> streamIndexEntries();
+
+    /**
+     * Находит автора и исполнителя задачи одним запросом, не загружая саму задачу.
+     *
+     * @param taskId ID задачи.
+     * @return Optional с владельцами задачи.
+     */
+    @Query("""
+            select new ru.greemlab.managertask.domain.model.TaskOwnership(
+                t.id, author.id, author.email, assignee.id, assignee.email)
+            from Task t
+            join t.author author
+            left join t.assignee assignee
+            where t.id = :taskId
+            """)
+    Optional<TaskOwnership> findOwnershipById(@Param("taskId") Long taskId);
+
+    /**
+     * Находит задачу сразу в виде ответа, не загружая автора и исполнителя.
+     *
+     * @param taskId ID задачи.
+     * @return Optional с задачей.
+     */
+    @Query("""
+            select new ru.greemlab.managertask.domain.dto.TaskResponse(
+                t.id, t.title, t.description, t.status, t.priority, t.author.id, t.assignee.id, t.version,
+                t.commentCount, t.lastCommentAt)
+            from Task t
+            where t.id = :taskId
+            """)
+    Optional<TaskResponse> findResponseById(@Param("taskId") Long taskId);
+
+    /**
+     * Находит только версию задачи для проверки условного GET.
+     *
+     * @param taskId ID задачи.
+     * @return Optional с версией задачи.
+     */
+    @Query("select t.version from Task t where t.id = :taskId")
+    Optional<Long> findVersionById(@Param("taskId") Long taskId);
+
+    /**
+     * Меняет статус задачи одним UPDATE без чтения задачи и увеличивает ее версию.
+     *
+     * @param taskId  ID задачи.
+     * @param status  Новый статус.
+     * @param version Ожидаемая версия задачи, null для изменения без проверки версии.
+     * @return Количество измененных строк: 0, если задачи нет или версия устарела.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Task t set t.status = :status, t.version = t.version + 1
+            where t.id = :taskId and t.version = coalesce(:version, t.version)
+            """)
+    int updateStatusById(@Param("taskId") Long taskId, @Param("status") TaskStatus status,
+                         @Param("version") Long version);
+
+    /**
+     * Меняет приоритет задачи одним UPDATE без чтения задачи и увеличивает ее версию.
+     *
+     * @param taskId   ID задачи.
+     * @param priority Новый приоритет.
+     * @param version  Ожидаемая версия задачи, null для изменения без проверки версии.
+     * @return Количество измененных строк: 0, если задачи нет или версия устарела.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Task t set t.priority = :priority, t.version = t.version + 1
+            where t.id = :taskId and t.version = coalesce(:version, t.version)
+            """)
+    int updatePriorityById(@Param("taskId") Long taskId, @Param("priority") TaskPriority priority,
+                           @Param("version") Long version);
+
+    /**
+     * Назначает задачу на исполнителя одним UPDATE без чтения задачи и увеличивает ее версию.
+     *
+     * @param taskId   ID задачи.
+     * @param assignee Новый исполнитель.
+     * @param version  Ожидаемая версия задачи, null для изменения без проверки версии.
+     * @return Количество измененных строк: 0, если задачи нет или версия устарела.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Task t set t.assignee = :assignee, t.version = t.version + 1
+            where t.id = :taskId and t.version = coalesce(:version, t.version)
+            """)
+    int updateAssigneeById(@Param("taskId") Long taskId, @Param("assignee") User assignee,
+                           @Param("version") Long version);
+
+    /**
+     * Учитывает новый комментарий в задаче одним UPDATE и увеличивает ее версию,
+     * потому что в ответе с задачей меняется количество комментариев.
+     *
+     * @param taskId    ID задачи.
+     * @param createdAt Время создания комментария.
+     * @return Количество измененных строк: 0, если задачи нет.
+     */
+    @Modifying
+    @Query("""
+            update Task t set t.commentCount = t.commentCount + 1,
+                t.lastCommentAt = case when t.lastCommentAt is null or t.lastCommentAt < :createdAt
+                                       then :createdAt else t.lastCommentAt end,
+                t.version = t.version + 1
+            where t.id = :taskId
+            """)
+    int incrementCommentCount(@Param("taskId") Long taskId, @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Учитывает удаленный комментарий в задаче одним UPDATE и увеличивает ее версию.
+     * Время последнего комментария берется из оставшихся комментариев по индексу (task_id, created_at, id),
+     * поэтому вызывается после удаления комментария в той же транзакции.
+     *
+     * @param taskId ID задачи.
+     * @return Количество измененных строк: 0, если задачи нет.
+     */
+    @Modifying
+    @Query("""
+            update Task t set t.commentCount = t.commentCount - 1,
+                t.lastCommentAt = (select max(c.createdAt) from TaskComment c where c.task.id = :taskId),
+                t.version = t.version + 1
+            where t.id = :taskId
+            """)
+    int decrementCommentCount(@Param("taskId") Long taskId);
 }
@@ -0,0 +1,45 @@
+package ru.greemlab.managertask.repository;
+
+import ru.greemlab.managertask.domain.dto.TaskSearchHit;
+import ru.greemlab.managertask.domain.dto.TaskSuggestion;
+import ru.greemlab.managertask.domain.model.SearchCursor;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+
+import java.util.List;
+
+/**
+ * Полнотекстовый поиск задач по названию, описанию и комментариям.
+ * Ищет по колонкам {@code search_vector} с GIN индексами, ограничение видимости задач
+ * добавляется в тот же запрос.
+ */
+public interface TaskSearchRepository {
+
+    /**
+     * Находит задачи, подходящие под запрос, от более релевантных к менее релевантным.
+     * Релевантность задачи - наибольшая из релевантности самой задачи и ее комментариев.
+     *
+     * @param query     Поисковый запрос в синтаксисе websearch_to_tsquery.
+     * @param userScope ID пользователя, которым ограничиваются задачи по автору или исполнителю,
+     *                  null без ограничения.
+     * @param after     Курсор последнего элемента предыдущей страницы.
+     * @param limit     Максимальное количество задач.
+     * @return Найденные задачи с релевантностью.
+     */
+    List<TaskSearchHit> search(String query, Long userScope, SearchCursor after, int limit);
+
+    /**
+     * Находит задачи для подсказок при выборе задачи, от новых к старым.
+     *
+     * @param tsQuery    Запрос в синтаксисе to_tsquery, null без условия на текст.
+     * @param status     Статус задач, null для любого.
+     * @param priority   Приоритет задач, null для любого.
+     * @param assigneeId ID исполнителя задач, null для любого.
+     * @param userScope  ID пользователя, которым ограничиваются задачи по автору или исполнителю,
+     *                   null без ограничения.
+     * @param limit      Максимальное количество задач.
+     * @return Найденные задачи.
+     */
+    List<TaskSuggestion> suggest(String tsQuery, TaskStatus status, TaskPriority priority,
+                                 Long assigneeId, Long userScope, int limit);
+}
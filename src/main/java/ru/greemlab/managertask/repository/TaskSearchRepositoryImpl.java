@@ -0,0 +1,139 @@
+package ru.greemlab.managertask.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import ru.greemlab.managertask.domain.dto.TaskResponse;
+import ru.greemlab.managertask.domain.dto.TaskSearchHit;
+import ru.greemlab.managertask.domain.dto.TaskSuggestion;
+import ru.greemlab.managertask.domain.model.SearchCursor;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Реализация {@link TaskSearchRepository} нативным запросом PostgreSQL.
+ * <p>
+ * Совпадения ищутся отдельно по задачам и по комментариям, чтобы каждая часть читала свой GIN индекс,
+ * затем объединяются по задаче. Ограничение видимости добавляется в обе части до ранжирования: комментарии
+ * соединяются с задачей и отбрасываются, если пользователь не автор и не исполнитель, поэтому ранжируются
+ * только видимые совпадения. Для администратора запрос строится без ограничения. Колонки {@code search_vector} генерируются базой данных
+ * и в сущностях не отображаются. Подсказки ищут только по названию без стемминга (конфигурация {@code simple}),
+ * как индекс в памяти, по индексу выражения {@code idx_tasks_title_simple}.
+ */
+public class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    private static final String SEARCH = """
+            with matches as (
+                select t.id as task_id, ts_rank(t.search_vector, websearch_to_tsquery('russian', :query)) as rank
+                from tasks t
+                where t.search_vector @@ websearch_to_tsquery('russian', :query)%1$s
+                union all
+                select c.task_id, ts_rank(c.search_vector, websearch_to_tsquery('russian', :query))
+                from task_comments c%2$s
+                where c.search_vector @@ websearch_to_tsquery('russian', :query)
+            ), ranked as (
+                select m.task_id, max(m.rank) as rank
+                from matches m
+                group by m.task_id
+            )
+            select t.id, t.title, t.description, t.status, t.priority, t.author_id, t.assignee_id, t.version,
+                   t.comment_count, t.last_comment_at, r.rank
+            from ranked r
+            join tasks t on t.id = r.task_id
+            where (r.rank, t.id) < (cast(:afterRank as real), :afterId)
+            order by r.rank desc, t.id desc
+            limit :limit
+            """;
+
+    private static final String SEARCH_SCOPE = """
+            
+                  and (t.author_id = :userScope or t.assignee_id = :userScope)""";
+    private static final String SEARCH_COMMENT_SCOPE = """
+            
+                join tasks t on t.id = c.task_id and (t.author_id = :userScope or t.assignee_id = :userScope)""";
+    private static final String SEARCH_ALL = SEARCH.formatted("", "");
+    private static final String SEARCH_VISIBLE = SEARCH.formatted(SEARCH_SCOPE, SEARCH_COMMENT_SCOPE);
+
+    private static final String SUGGEST = """
+            select t.id, t.title, t.status, t.priority, t.assignee_id
+            from tasks t
+            where (cast(:query as text) is null
+                   or to_tsvector('simple', translate(t.title, 'Ёё', 'Ее')) @@ to_tsquery('simple', :query))
+              and (cast(:status as varchar) is null or t.status = :status)
+              and (cast(:priority as varchar) is null or t.priority = :priority)
+              and (cast(:assigneeId as bigint) is null or t.assignee_id = :assigneeId)
+              and (cast(:userScope as bigint) is null or t.author_id = :userScope or t.assignee_id = :userScope)
+            order by t.id desc
+            limit :limit
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskSearchHit> search(String query, Long userScope, SearchCursor after, int limit) {
+        var sql = userScope == null ? SEARCH_ALL : SEARCH_VISIBLE;
+        NativeQuery<Tuple> search = entityManager.createNativeQuery(sql, Tuple.class)
+                .unwrap(NativeQuery.class)
+                .setParameter("query", query, StandardBasicTypes.STRING)
+                .setParameter("afterRank", after.rank(), StandardBasicTypes.FLOAT)
+                .setParameter("afterId", after.id(), StandardBasicTypes.LONG)
+                .setParameter("limit", limit, StandardBasicTypes.INTEGER);
+        if (userScope != null) {
+            search.setParameter("userScope", userScope, StandardBasicTypes.LONG);
+        }
+        List<Tuple> rows = search.getResultList();
+        return rows.stream().map(TaskSearchRepositoryImpl::toHit).toList();
+    }
+
+    @Override
+    public List<TaskSuggestion> suggest(String tsQuery, TaskStatus status, TaskPriority priority,
+                                        Long assigneeId, Long userScope, int limit) {
+        List<Tuple> rows = entityManager.createNativeQuery(SUGGEST, Tuple.class)
+                .unwrap(NativeQuery.class)
+                .setParameter("query", tsQuery, StandardBasicTypes.STRING)
+                .setParameter("status", status == null ? null : status.name(), StandardBasicTypes.STRING)
+                .setParameter("priority", priority == null ? null : priority.name(), StandardBasicTypes.STRING)
+                .setParameter("assigneeId", assigneeId, StandardBasicTypes.LONG)
+                .setParameter("userScope", userScope, StandardBasicTypes.LONG)
+                .setParameter("limit", limit, StandardBasicTypes.INTEGER)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new TaskSuggestion(
+                        row.get("id", Number.class).longValue(),
+                        row.get("title", String.class),
+                        row.get("status", String.class),
+                        row.get("priority", String.class),
+                        longOrNull(row.get("assignee_id", Number.class))))
+                .toList();
+    }
+
+    private static Long longOrNull(Number value) {
+        return value == null ? null : value.longValue();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    private static TaskSearchHit toHit(Tuple row) {
+        var task = new TaskResponse(
+                row.get("id", Number.class).longValue(),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                row.get("status", String.class),
+                row.get("priority", String.class),
+                row.get("author_id", Number.class).longValue(),
+                longOrNull(row.get("assignee_id", Number.class)),
+                row.get("version", Number.class).longValue(),
+                row.get("comment_count", Number.class).intValue(),
+                toLocalDateTime(row.get("last_comment_at")));
+        return new TaskSearchHit(task, row.get("rank", Number.class).floatValue());
+    }
+}
@@ -0,0 +1,73 @@
+package ru.greemlab.managertask.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Граница синхронизации задач и очистка записей об удалении.
+ * <p>
+ * Время изменения задачи и время записи об удалении проставляют триггеры по часам базы данных
+ * в момент записи строки, а не фиксации транзакции. Поэтому граница синхронизации тоже считается
+ * по часам базы данных и не заходит дальше начала самой старой пишущей транзакции: все строки,
+ * которые она еще может зафиксировать, получили время не раньше ее начала.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskSyncRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Граница синхронизации.
+     *
+     * @param now  Текущее время базы данных.
+     * @param upTo Время, до которого включительно все изменения уже зафиксированы.
+     */
+    public record SyncHorizon(LocalDateTime now, LocalDateTime upTo) {
+    }
+
+    /**
+     * Считает границу синхронизации: текущее время базы данных минус запас, но не позже начала
+     * самой старой незавершенной транзакции этой базы, которая уже что-то записала.
+     * Транзакции видны в {@code pg_stat_activity}, если их ведет тот же пользователь базы данных,
+     * что и приложение.
+     *
+     * @param safetyLag Дополнительный запас от текущего времени.
+     * @return Граница синхронизации.
+     */
+    public SyncHorizon findHorizon(Duration safetyLag) {
+        return jdbcTemplate.queryForObject("""
+                select n.now_at,
+                       least(n.now_at - make_interval(secs => ?),
+                             (select min(a.xact_start)
+                              from pg_stat_activity a
+                              where a.datname = current_database()
+                                and a.backend_xid is not null
+                                and a.pid <> pg_backend_pid())::timestamp - interval '1 microsecond') as up_to
+                from (select clock_timestamp()::timestamp as now_at) n
+                """, (rs, rowNum) -> new SyncHorizon(
+                rs.getObject("now_at", LocalDateTime.class),
+                rs.getObject("up_to", LocalDateTime.class)), safetyLag.toNanos() / 1e9);
+    }
+
+    /**
+     * Удаляет одну порцию записей об удалении старше указанного срока по часам базы данных.
+     *
+     * @param retention Срок хранения записей.
+     * @param batchSize Максимальное количество удаляемых записей.
+     * @return Количество удаленных записей.
+     */
+    public int purgeTombstones(Duration retention, int batchSize) {
+        return jdbcTemplate.update("""
+                delete from task_tombstones
+                where id in (select id
+                             from task_tombstones
+                             where deleted_at < clock_timestamp()::timestamp - make_interval(secs => ?)
+                             limit ?)
+                """, retention.toSeconds(), batchSize);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.greemlab.managertask.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.greemlab.managertask.domain.model.TaskTombstone;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Репозиторий для чтения записей об удалении задач из списка исполнителя.
+ */
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    /**
+     * Находит записи об удалении задач из списка исполнителя в указанном интервале в порядке удаления.
+     *
+     * @param assigneeId ID исполнителя.
+     * @param since      Начало интервала, не включается.
+     * @param upTo       Конец интервала, включается.
+     * @param pageable   Размер страницы, сортировка задается запросом.
+     * @return Записи об удалении.
+     */
+    @Query("""
+            select t
+            from TaskTombstone t
+            where t.assigneeId = :assigneeId and t.deletedAt > :since and t.deletedAt <= :upTo
+            order by t.deletedAt, t.id
+            """)
+    List<TaskTombstone> findByAssigneeIdDeletedBetween(@Param("assigneeId") Long assigneeId,
+                                                       @Param("since") LocalDateTime since,
+                                                       @Param("upTo") LocalDateTime upTo,
+                                                       Pageable pageable);
+}
@@ -1,32 +1,62 @@
 package ru.greemlab.managertask.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import ru.greemlab.managertask.domain.model.Role;
 import ru.greemlab.managertask.domain.model.User;
+import ru.greemlab.managertask.domain.model.VerifiedToken;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 /**
  * Сервис для работы с JWT токенами.
  * <p>
  * Этот сервис предоставляет методы для генерации токенов, извлечения информации из токенов
  * и проверки их валидности. Он используется для работы с авторизацией пользователей.
+ * Ключ подписи и парсер создаются один раз при старте, а токен разбирается и проверяется
+ * один раз на запрос в {@link #verify(String)}.
  */
 @Service
 public class JwtService {
 
-    @Value("${app.jwt.token}")
-    private String jwtSigningKey;
+    public static final String CLAIM_ID = "id";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_VERSION = "ver";
+
+    private final TokenVersionService tokenVersionService;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public JwtService(@Value("${app.jwt.token}") String jwtSigningKey,
+                      TokenVersionService tokenVersionService) {
+        this.tokenVersionService = tokenVersionService;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSigningKey));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
+    /**
+     * Разбирает токен, проверяя подпись и срок действия.
+     *
+     * @param token JWT токен.
+     * @return Проверенный токен.
+     * @throws io.jsonwebtoken.JwtException если токен некорректен, подделан или истек.
+     */
+    public VerifiedToken verify(String token) {
+        return toVerifiedToken(parser.parseSignedClaims(token).getPayload());
+    }
 
     /**
      * Извлекает email из JWT токена.
@@ -35,7 +65,7 @@ public class JwtService {
      * @return email, извлеченный из токена.
      */
     public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     /**
@@ -47,9 +77,10 @@ public class JwtService {
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         if (userDetails instanceof User customUserDetails) {
-            claims.put("id", customUserDetails.getId());
-            claims.put("email", customUserDetails.getEmail());
-            claims.put("role", customUserDetails.getRole());
+            claims.put(CLAIM_ID, customUserDetails.getId());
+            claims.put(CLAIM_EMAIL, customUserDetails.getEmail());
+            claims.put(CLAIM_ROLE, customUserDetails.getRole());
+            claims.put(CLAIM_VERSION, customUserDetails.getTokenVersion());
         }
         return generateToken(claims, userDetails);
     }
@@ -63,24 +94,31 @@ public class JwtService {
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String email = extractEmail(token);
-            return (email.equals(((User) userDetails).getEmail()) && !isTokenExpired(token));
+            return isTokenValid(verify(token), userDetails);
         } catch (Exception e) {
             throw new IllegalStateException("Invalid token", e);
         }
     }
 
     /**
-     * Извлекает определенную информацию (клейм) из токена.
+     * Проверяет, что уже проверенный токен принадлежит пользователю и не истек.
      *
-     * @param token             JWT токен.
-     * @param claimsResolvers   Функция для извлечения клейма.
-     * @param <T>               Тип извлекаемого значения.
-     * @return Извлеченное значение клейма.
+     * @param token       Проверенный токен.
+     * @param userDetails Данные пользователя.
+     * @return true, если токен валиден, иначе false.
+     */
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.subject().equals(((User) userDetails).getEmail()) && !token.isExpired(Instant.now());
+    }
+
+    /**
+     * Проверяет, что токен не был отозван сменой версии токенов пользователя.
+     *
+     * @param token Проверенный токен.
+     * @return true, если версия токена не меньше текущей версии пользователя.
      */
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolvers) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolvers.apply(claims);
+    public boolean isTokenCurrent(VerifiedToken token) {
+        return token.userId() != null && tokenVersionService.isCurrent(token.userId(), token.version());
     }
 
     /**
@@ -96,51 +134,27 @@ public class JwtService {
                 .subject(((User) userDetails).getEmail())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + 100000 * 60 * 24))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     /**
-     * Проверяет, истек ли срок действия токена.
-     *
-     * @param token JWT токен.
-     * @return true, если токен истек, иначе false.
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    /**
-     * Извлекает дату истечения срока действия из токена.
-     *
-     * @param token JWT токен.
-     * @return Дата истечения срока действия токена.
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    /**
-     * Извлекает все клеймы (информацию) из токена.
-     *
-     * @param token JWT токен.
-     * @return Все клеймы из токена.
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    /**
-     * Возвращает ключ для подписи токена.
+     * Переносит нужные клеймы в неизменяемый проверенный токен.
      *
-     * @return Ключ для подписи.
+     * @param claims Клеймы токена с проверенной подписью.
+     * @return Проверенный токен.
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSigningKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        var id = claims.get(CLAIM_ID);
+        var role = claims.get(CLAIM_ROLE, String.class);
+        var version = claims.get(CLAIM_VERSION);
+        var expiration = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getSubject(),
+                id instanceof Number idNumber ? idNumber.longValue() : null,
+                role != null ? Role.valueOf(role) : null,
+                version instanceof Number versionNumber ? versionNumber.longValue() : 0L,
+                expiration != null ? expiration.toInstant() : null
+        );
     }
 }
@@ -0,0 +1,107 @@
+package ru.greemlab.managertask.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.greemlab.managertask.domain.dto.CommentPartition;
+import ru.greemlab.managertask.domain.dto.PartitionDetachResponse;
+import ru.greemlab.managertask.exception.PartitionInUseException;
+import ru.greemlab.managertask.repository.TaskCommentPartitionRepository;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Сервис для обслуживания разделов таблицы комментариев.
+ * <p>
+ * Комментарии хранятся в разделах по месяцу создания. Разделы на текущий месяц и
+ * {@code app.tasks.comments.partitions.months-ahead} месяцев вперед создаются после старта приложения
+ * и по расписанию {@code app.tasks.comments.partitions.create-cron}, разделы для старых комментариев
+ * из импорта - перед загрузкой порции. Раздела по умолчанию нет, поэтому комментарий в месяце без раздела
+ * не добавляется. Прошедшие месяцы можно отсоединить для выгрузки в архив.
+ */
+@Slf4j
+@Service
+public class TaskCommentPartitionService {
+
+    private final TaskCommentPartitionRepository partitionRepository;
+    private final int monthsAhead;
+
+    public TaskCommentPartitionService(TaskCommentPartitionRepository partitionRepository,
+                                       @Value("${app.tasks.comments.partitions.months-ahead:3}") int monthsAhead) {
+        this.partitionRepository = partitionRepository;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        createUpcomingPartitions();
+    }
+
+    /**
+     * Создание разделов на текущий и следующие месяцы по расписанию.
+     *
+     * @return Количество созданных разделов.
+     */
+    @Scheduled(cron = "${app.tasks.comments.partitions.create-cron:0 0 4 * * *}")
+    public int createUpcomingPartitions() {
+        var current = YearMonth.now();
+        var created = partitionRepository.createPartitions(
+                current.atDay(1), current.plusMonths(monthsAhead).atDay(1));
+        if (created > 0) {
+            log.info("Созданы разделы комментариев: {}", created);
+        }
+        return created;
+    }
+
+    /**
+     * Создание недостающих разделов для месяцев загружаемых комментариев.
+     * Каждый месяц создается отдельно, чтобы редкие старые даты не добавляли пустые разделы между ними.
+     *
+     * @param months Месяцы комментариев.
+     */
+    public void createPartitions(Collection<YearMonth> months) {
+        months.stream().distinct().forEach(month ->
+                partitionRepository.createPartitions(month.atDay(1), month.atDay(1)));
+    }
+
+    /**
+     * Получение разделов комментариев.
+     *
+     * @return Разделы в порядке месяцев.
+     */
+    public List<CommentPartition> getPartitions() {
+        return partitionRepository.findAll().stream()
+                .map(row -> new CommentPartition(row.month(), row.estimatedComments()))
+                .toList();
+    }
+
+    /**
+     * Отсоединение раздела прошедшего месяца для выгрузки в архив.
+     * Комментарии раздела перестают быть видны в задачах и поиске, счетчики комментариев задач пересчитываются.
+     * Отсоединение не блокирует работу с комментариями и выполняется вне транзакции, переименование
+     * и пересчет - в отдельной транзакции. Повторный вызов после сбоя завершает прерванное отсоединение.
+     *
+     * @param month Месяц раздела.
+     * @return Имя архивной таблицы и количество отсоединенных комментариев и пересчитанных задач.
+     * @throws PartitionInUseException если месяц еще не закончился.
+     * @throws EntityNotFoundException если раздела за этот месяц нет.
+     */
+    public PartitionDetachResponse detach(YearMonth month) {
+        if (!month.isBefore(YearMonth.now())) {
+            throw new PartitionInUseException(month);
+        }
+        if (!partitionRepository.detach(month)) {
+            throw new EntityNotFoundException("Раздел комментариев не найден: " + month);
+        }
+        var detached = partitionRepository.archive(month);
+        log.info("Отсоединен раздел комментариев {}: {} комментариев, {} задач",
+                detached.archiveTable(), detached.comments(), detached.tasks());
+        return new PartitionDetachResponse(detached.archiveTable(), detached.comments(), detached.tasks());
+    }
+}
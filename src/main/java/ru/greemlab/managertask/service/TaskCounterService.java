@@ -0,0 +1,124 @@
+package ru.greemlab.managertask.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.greemlab.managertask.config.TaskAccess;
+import ru.greemlab.managertask.config.TaskRule;
+import ru.greemlab.managertask.domain.dto.TaskCounters;
+import ru.greemlab.managertask.domain.model.Role;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+import ru.greemlab.managertask.repository.TaskCounterRepository;
+import ru.greemlab.managertask.repository.TaskCounterRepository.CounterRow;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сервис для сводки задач по исполнителям.
+ * <p>
+ * Сводка читается из счетчиков, которые ведет триггер базы данных, поэтому ее стоимость зависит
+ * от количества исполнителей, а не задач. Расхождения счетчиков с задачами исправляются
+ * сверкой по расписанию {@code app.tasks.counters.reconcile-cron}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskCounterService {
+
+    private static final int RECONCILE_BATCH_SIZE = 500;
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final TaskCounterRepository taskCounterRepository;
+    private final UserService userService;
+    private final SecurityService securityService;
+
+    /**
+     * Получение количества задач по статусам и приоритетам для каждого исполнителя.
+     * Администратор получает сводку по всем исполнителям, остальные пользователи - только по себе.
+     *
+     * @return Счетчики исполнителей, у которых есть задачи, в порядке ID исполнителя.
+     */
+    @TaskAccess(TaskRule.AUTHENTICATED)
+    public List<TaskCounters> getCounters() {
+        var currentUser = userService.getByEmail(securityService.getCurrentUserName());
+        var rows = currentUser.getRole() == Role.ROLE_ADMIN
+                ? taskCounterRepository.findAll()
+                : taskCounterRepository.findByAssigneeId(currentUser.getId());
+        return summarize(rows);
+    }
+
+    /**
+     * Сверка счетчиков с задачами по расписанию.
+     * Исполнители сверяются порциями по {@value #RECONCILE_BATCH_SIZE} в отдельных транзакциях, изменения задач
+     * ждут только сверки своей порции. Порция, которую не удалось сверить из-за параллельных изменений
+     * за {@value #RECONCILE_ATTEMPTS} попытки, пропускается до следующей сверки.
+     *
+     * @return Количество исправленных счетчиков.
+     */
+    @Scheduled(cron = "${app.tasks.counters.reconcile-cron:0 30 3 * * *}")
+    public long reconcile() {
+        var repaired = 0L;
+        var afterId = 0L;
+        List<Long> userIds;
+        do {
+            userIds = taskCounterRepository.findUserIds(afterId, RECONCILE_BATCH_SIZE);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            repaired += reconcile(userIds.getFirst(), userIds.getLast());
+            afterId = userIds.getLast();
+        } while (userIds.size() == RECONCILE_BATCH_SIZE);
+        if (repaired > 0) {
+            log.warn("Исправлены счетчики задач: {}", repaired);
+        }
+        return repaired;
+    }
+
+    private long reconcile(long fromId, long toId) {
+        for (var attempt = 1; ; attempt++) {
+            try {
+                return taskCounterRepository.reconcile(fromId, toId);
+            } catch (ConcurrencyFailureException e) {
+                if (attempt == RECONCILE_ATTEMPTS) {
+                    log.warn("Счетчики исполнителей {}-{} не сверены: {}", fromId, toId, e.getMessage());
+                    return 0;
+                }
+            }
+        }
+    }
+
+    private static List<TaskCounters> summarize(List<CounterRow> rows) {
+        var result = new ArrayList<TaskCounters>();
+        var from = 0;
+        while (from < rows.size()) {
+            var assigneeId = rows.get(from).assigneeId();
+            var byStatus = zeros(TaskStatus.class);
+            var byPriority = zeros(TaskPriority.class);
+            var total = 0L;
+            var to = from;
+            for (; to < rows.size() && rows.get(to).assigneeId().equals(assigneeId); to++) {
+                var row = rows.get(to);
+                byStatus.merge(row.status(), row.taskCount(), Long::sum);
+                byPriority.merge(row.priority(), row.taskCount(), Long::sum);
+                total += row.taskCount();
+            }
+            result.add(new TaskCounters(assigneeId, total, byStatus, byPriority));
+            from = to;
+        }
+        return result;
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> zeros(Class<E> type) {
+        var counts = new EnumMap<E, Long>(type);
+        for (var value : type.getEnumConstants()) {
+            counts.put(value, 0L);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,126 @@
+package ru.greemlab.managertask.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.greemlab.managertask.domain.dto.TaskExportFilter;
+import ru.greemlab.managertask.domain.model.ExportFormat;
+import ru.greemlab.managertask.repository.TaskCommentRepository;
+import ru.greemlab.managertask.repository.TaskRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Потоковая выгрузка задач и комментариев для отчетов.
+ * <p>
+ * Строки читаются курсором базы данных внутри транзакции только для чтения и сразу пишутся
+ * в выходной поток, поэтому память не зависит от размера выгрузки.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FLUSH_EVERY = 1000;
+
+    private static final List<String> TASK_COLUMNS = List.of(
+            "id", "title", "description", "status", "priority", "authorId", "assigneeId", "version",
+            "commentCount", "lastCommentAt");
+    private static final List<String> COMMENT_COLUMNS = List.of(
+            "id", "taskId", "userId", "userEmail", "createdAt", "comment");
+
+    private final TaskRepository taskRepository;
+    private final TaskCommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Выгружает подходящие задачи в порядке ID.
+     *
+     * @param filter Условие выбора задач.
+     * @param format Формат выгрузки.
+     * @param out    Поток, в который пишется выгрузка. Не закрывается.
+     * @return Количество выгруженных задач.
+     * @throws IOException если не удалось записать в поток.
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(TaskExportFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        try (var rows = taskRepository.streamResponses(filter.authorId(), filter.assigneeId(), filter.status())) {
+            return write(rows, format, TASK_COLUMNS, task -> Arrays.asList(
+                    task.id(), task.title(), task.description(), task.status(), task.priority(),
+                    task.authorId(), task.assigneeId(), task.version(), task.commentCount(),
+                    task.lastCommentAt()), out);
+        }
+    }
+
+    /**
+     * Выгружает комментарии к подходящим задачам в порядке ID комментария.
+     *
+     * @param filter Условие выбора задач.
+     * @param format Формат выгрузки.
+     * @param out    Поток, в который пишется выгрузка. Не закрывается.
+     * @return Количество выгруженных комментариев.
+     * @throws IOException если не удалось записать в поток.
+     */
+    @Transactional(readOnly = true)
+    public long exportComments(TaskExportFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        try (var rows = commentRepository.streamResponses(filter.authorId(), filter.assigneeId(), filter.status())) {
+            return write(rows, format, COMMENT_COLUMNS, comment -> Arrays.asList(
+                    comment.id(), comment.taskId(), comment.userId(), comment.userEmail(),
+                    comment.createdAt(), comment.comment()), out);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, ExportFormat format, List<String> columns,
+                           Function<T, List<Object>> csvRow, OutputStream out) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(writer, columns);
+        }
+        long count = 0;
+        for (var iterator = rows.iterator(); iterator.hasNext(); ) {
+            var row = iterator.next();
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(writer, csvRow.apply(row));
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        var text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
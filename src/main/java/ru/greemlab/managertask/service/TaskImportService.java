@@ -0,0 +1,398 @@
+package ru.greemlab.managertask.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import ru.greemlab.managertask.domain.dto.CommentImportRow;
+import ru.greemlab.managertask.domain.dto.ImportRejection;
+import ru.greemlab.managertask.domain.dto.ImportResponse;
+import ru.greemlab.managertask.domain.dto.TaskIndexEntry;
+import ru.greemlab.managertask.domain.dto.TaskImportRow;
+import ru.greemlab.managertask.domain.model.ExportFormat;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+import ru.greemlab.managertask.repository.TaskImportRepository;
+import ru.greemlab.managertask.util.CsvReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Импорт задач и комментариев из другого трекера.
+ * <p>
+ * Загрузка читается потоком по одной строке, строки проверяются теми же ограничениями, что и
+ * {@link ru.greemlab.managertask.domain.dto.TaskCreateRequest}, и копятся в порцию. Порция
+ * загружается одной командой COPY в своей транзакции. Если COPY не прошел, порция делится пополам
+ * и загружается по частям, пока ошибка не сведется к отдельным строкам, поэтому отклоняются только они.
+ * Email пользователей разрешаются в ID через общую таблицу, которая дополняется одним запросом
+ * на порцию. Отклоненные строки попадают в итог с номером строки и причиной, ход импорта пишется
+ * в лог после каждой порции. Загруженные задачи добавляются в поисковый индекс. Перед загрузкой
+ * порции комментариев создаются разделы таблицы комментариев для их месяцев.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskImportService {
+
+    /**
+     * Количество строк в одной команде COPY.
+     */
+    public static final int CHUNK_SIZE = 5000;
+
+    /**
+     * Максимальное количество отклоненных строк в итоге.
+     */
+    public static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    private static final String TASKS_SEQUENCE = "tasks_id_seq";
+    private static final String COMMENTS_SEQUENCE = "task_comments_id_seq";
+
+    private final TaskImportRepository importRepository;
+    private final TaskCommentPartitionService partitionService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TaskSearchIndex taskSearchIndex;
+
+    /**
+     * Импортирует задачи.
+     *
+     * @param in     Загрузка в формате NDJSON или CSV с заголовком.
+     * @param format Формат загрузки.
+     * @return Итог импорта.
+     * @throws IOException если загрузку не удалось прочитать.
+     */
+    public ImportResponse importTasks(InputStream in, ExportFormat format) throws IOException {
+        var report = new Report();
+        var users = new HashMap<String, Long>();
+        var chunk = new ArrayList<Line<TaskImportRow>>(CHUNK_SIZE);
+        read(in, format, TaskImportRow.class, report, line -> {
+            var error = validate(line.row());
+            if (error != null) {
+                report.reject(line.number(), error);
+                return;
+            }
+            chunk.add(line);
+            if (chunk.size() == CHUNK_SIZE) {
+                copyTasks(chunk, users, report);
+                chunk.clear();
+            }
+        });
+        copyTasks(chunk, users, report);
+        return report.toResponse();
+    }
+
+    /**
+     * Импортирует комментарии к задачам.
+     *
+     * @param in     Загрузка в формате NDJSON или CSV с заголовком.
+     * @param format Формат загрузки.
+     * @return Итог импорта.
+     * @throws IOException если загрузку не удалось прочитать.
+     */
+    public ImportResponse importComments(InputStream in, ExportFormat format) throws IOException {
+        var report = new Report();
+        var users = new HashMap<String, Long>();
+        var chunk = new ArrayList<Line<CommentImportRow>>(CHUNK_SIZE);
+        read(in, format, CommentImportRow.class, report, line -> {
+            var error = validate(line.row());
+            if (error != null) {
+                report.reject(line.number(), error);
+                return;
+            }
+            chunk.add(line);
+            if (chunk.size() == CHUNK_SIZE) {
+                copyComments(chunk, users, report);
+                chunk.clear();
+            }
+        });
+        copyComments(chunk, users, report);
+        return report.toResponse();
+    }
+
+    private void copyTasks(List<Line<TaskImportRow>> chunk, Map<String, Long> users, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        resolveUsers(chunk.stream().flatMap(line -> Stream.of(
+                line.row().authorEmail(), line.row().assigneeEmail())).toList(), users);
+        var existingRefs = importRepository.findTaskIdsByExternalRef(chunk.stream()
+                .map(line -> line.row().ref()).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        var accepted = new ArrayList<Line<TaskImportRow>>(chunk.size());
+        var refs = new HashSet<String>();
+        for (var line : chunk) {
+            var row = line.row();
+            if (!users.containsKey(row.authorEmail())) {
+                report.reject(line.number(), "Пользователя не существует: " + row.authorEmail());
+            } else if (row.assigneeEmail() != null && !users.containsKey(row.assigneeEmail())) {
+                report.reject(line.number(), "Пользователя не существует: " + row.assigneeEmail());
+            } else if (row.ref() != null && (existingRefs.containsKey(row.ref()) || !refs.add(row.ref()))) {
+                report.reject(line.number(), "Задача с таким внешним ключом уже существует: " + row.ref());
+            } else {
+                accepted.add(line);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        var ids = importRepository.allocateIds(TASKS_SEQUENCE, accepted.size());
+        var now = LocalDateTime.now();
+        var rows = new ArrayList<TaskImportRepository.TaskRow>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            var row = accepted.get(i).row();
+            rows.add(new TaskImportRepository.TaskRow(ids.get(i), row.title(), row.description(),
+                    row.status().name(), row.priority().name(), users.get(row.authorEmail()),
+                    row.assigneeEmail() == null ? null : users.get(row.assigneeEmail()),
+                    row.ref(), Objects.requireNonNullElse(row.createdAt(), now)));
+        }
+        copy(accepted, rows, report, part -> {
+            var copied = importRepository.copyTasks(part);
+            taskSearchIndex.putAll(part.stream().map(TaskImportService::toIndexEntry).toList());
+            return copied;
+        });
+        log.info("Импорт задач: прочитано {}, загружено {}, отклонено {}",
+                report.processed, report.imported, report.rejected);
+    }
+
+    private void copyComments(List<Line<CommentImportRow>> chunk, Map<String, Long> users, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        resolveUsers(chunk.stream().map(line -> line.row().authorEmail()).toList(), users);
+        var taskIdsByRef = importRepository.findTaskIdsByExternalRef(chunk.stream()
+                .map(line -> line.row().taskRef()).filter(Objects::nonNull).collect(Collectors.toSet()));
+        var existingTaskIds = new HashSet<>(importRepository.findExistingTaskIds(chunk.stream()
+                .map(line -> line.row().taskId()).filter(Objects::nonNull).collect(Collectors.toSet())));
+
+        var accepted = new ArrayList<Line<CommentImportRow>>(chunk.size());
+        var taskIds = new ArrayList<Long>(chunk.size());
+        for (var line : chunk) {
+            var row = line.row();
+            var taskId = row.taskRef() != null ? taskIdsByRef.get(row.taskRef())
+                    : existingTaskIds.contains(row.taskId()) ? row.taskId() : null;
+            if (taskId == null) {
+                report.reject(line.number(), "Задача не найдена: "
+                                             + Objects.requireNonNullElse(row.taskRef(), String.valueOf(row.taskId())));
+            } else if (!users.containsKey(row.authorEmail())) {
+                report.reject(line.number(), "Пользователя не существует: " + row.authorEmail());
+            } else {
+                accepted.add(line);
+                taskIds.add(taskId);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        var ids = importRepository.allocateIds(COMMENTS_SEQUENCE, accepted.size());
+        var now = LocalDateTime.now();
+        var rows = new ArrayList<TaskImportRepository.CommentRow>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            var row = accepted.get(i).row();
+            rows.add(new TaskImportRepository.CommentRow(ids.get(i), taskIds.get(i), users.get(row.authorEmail()),
+                    row.comment(), Objects.requireNonNullElse(row.createdAt(), now)));
+        }
+        copy(accepted, rows, report, part -> {
+            partitionService.createPartitions(part.stream()
+                    .map(row -> YearMonth.from(row.createdAt()))
+                    .toList());
+            return importRepository.copyComments(part);
+        });
+        log.info("Импорт комментариев: прочитано {}, загружено {}, отклонено {}",
+                report.processed, report.imported, report.rejected);
+    }
+
+    /**
+     * Загружает порцию. Если COPY не прошел, транзакция порции откатывается, а порция делится пополам
+     * и каждая половина загружается заново. Строка, которая не загрузилась одна, отклоняется с причиной
+     * из базы данных. Одна плохая строка стоит около 2 * log2({@link #CHUNK_SIZE}) дополнительных команд COPY.
+     *
+     * @param accepted Строки загрузки в том же порядке, что и строки для COPY.
+     * @param rows     Строки для COPY.
+     */
+    private static <R> void copy(List<? extends Line<?>> accepted, List<R> rows, Report report, Copy<R> copy) {
+        try {
+            report.imported += copy.run(rows);
+        } catch (DataAccessException e) {
+            if (rows.size() == 1) {
+                report.reject(accepted.getFirst().number(), "Строка не загружена: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            var half = rows.size() / 2;
+            copy(accepted.subList(0, half), rows.subList(0, half), report, copy);
+            copy(accepted.subList(half, rows.size()), rows.subList(half, rows.size()), report, copy);
+        }
+    }
+
+    private static TaskIndexEntry toIndexEntry(TaskImportRepository.TaskRow row) {
+        return new TaskIndexEntry(row.id(), row.title(), TaskStatus.valueOf(row.status()),
+                TaskPriority.valueOf(row.priority()), row.authorId(), row.assigneeId(), 0L);
+    }
+
+    /**
+     * Дополняет таблицу email -> ID пользователями, которых в ней еще нет, одним запросом.
+     */
+    private void resolveUsers(List<String> emails, Map<String, Long> users) {
+        var missing = emails.stream()
+                .filter(email -> email != null && !users.containsKey(email))
+                .collect(Collectors.toSet());
+        if (!missing.isEmpty()) {
+            users.putAll(importRepository.findUserIdsByEmail(missing));
+        }
+    }
+
+    private String validate(TaskImportRow row) {
+        var error = violations(validator.validate(row.toCreateRequest()));
+        if (error != null) {
+            return error;
+        }
+        if (row.status() == null || row.priority() == null) {
+            return "Статус и приоритет обязательны";
+        }
+        if (row.authorEmail() == null) {
+            return "Не указан автор задачи";
+        }
+        return null;
+    }
+
+    private static String validate(CommentImportRow row) {
+        if (row.comment() == null || row.comment().isBlank()) {
+            return "Комментарий не может быть пустым";
+        }
+        if (row.taskRef() == null && row.taskId() == null) {
+            return "Не указана задача";
+        }
+        if (row.authorEmail() == null) {
+            return "Не указан автор комментария";
+        }
+        return null;
+    }
+
+    private static <T> String violations(Set<ConstraintViolation<T>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Читает загрузку по одной строке и передает разобранные строки обработчику.
+     * Строки, которые не удалось разобрать, сразу отклоняются.
+     */
+    private <T> void read(InputStream in, ExportFormat format, Class<T> type, Report report,
+                          RowHandler<T> handler) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            readCsv(new CsvReader(reader), type, report, handler);
+            return;
+        }
+        var objectReader = objectMapper.readerFor(type);
+        long number = 0;
+        for (var text = reader.readLine(); text != null; text = reader.readLine()) {
+            number++;
+            if (text.isBlank()) {
+                continue;
+            }
+            report.processed++;
+            T row;
+            try {
+                row = objectReader.readValue(text);
+            } catch (JsonProcessingException e) {
+                report.reject(number, "Строка не разобрана: " + e.getOriginalMessage());
+                continue;
+            }
+            handler.handle(new Line<>(number, row));
+        }
+    }
+
+    private <T> void readCsv(CsvReader csv, Class<T> type, Report report, RowHandler<T> handler) throws IOException {
+        var header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+        long number = 0;
+        for (var record = csv.readRecord(); record != null; record = csv.readRecord()) {
+            number++;
+            if (record.size() == 1 && record.getFirst().isEmpty()) {
+                continue;
+            }
+            report.processed++;
+            if (record.size() != header.size()) {
+                report.reject(number, "Ожидалось полей: " + header.size() + ", получено: " + record.size());
+                continue;
+            }
+            var values = new LinkedHashMap<String, String>();
+            for (int i = 0; i < header.size(); i++) {
+                var value = record.get(i);
+                values.put(header.get(i).trim(), value.isEmpty() ? null : value);
+            }
+            T row;
+            try {
+                row = objectMapper.convertValue(values, type);
+            } catch (IllegalArgumentException e) {
+                report.reject(number, "Строка не разобрана: " + e.getMessage());
+                continue;
+            }
+            handler.handle(new Line<>(number, row));
+        }
+    }
+
+    private record Line<T>(long number, T row) {
+    }
+
+    @FunctionalInterface
+    private interface RowHandler<T> {
+        void handle(Line<T> line);
+    }
+
+    @FunctionalInterface
+    private interface Copy<R> {
+        long run(List<R> rows);
+    }
+
+    /**
+     * Счетчики импорта и первые отклоненные строки.
+     */
+    private static final class Report {
+
+        private long processed;
+        private long imported;
+        private long rejected;
+        private final List<ImportRejection> rejections = new ArrayList<>();
+
+        private void reject(long line, String error) {
+            rejected++;
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(new ImportRejection(line, error));
+            }
+        }
+
+        private ImportResponse toResponse() {
+            return new ImportResponse(processed, imported, rejected, List.copyOf(rejections));
+        }
+    }
+}
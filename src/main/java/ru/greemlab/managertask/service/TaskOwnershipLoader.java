@@ -0,0 +1,59 @@
+package ru.greemlab.managertask.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import ru.greemlab.managertask.domain.model.TaskOwnership;
+import ru.greemlab.managertask.repository.TaskRepository;
+
+/**
+ * Загрузка владельцев задачи для проверок доступа.
+ * <p>
+ * В пределах одного HTTP запроса результат запоминается в атрибутах запроса,
+ * поэтому проверка доступа и тело метода сервиса выполняют один запрос к базе данных.
+ * Вне HTTP запроса каждый вызов обращается к репозиторию.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskOwnershipLoader {
+
+    private static final String ATTRIBUTE_PREFIX = TaskOwnershipLoader.class.getName() + ".";
+
+    private final TaskRepository taskRepository;
+
+    /**
+     * Возвращает владельцев задачи.
+     *
+     * @param taskId ID задачи.
+     * @return Владельцы задачи.
+     * @throws EntityNotFoundException если задача не найдена.
+     */
+    public TaskOwnership load(Long taskId) {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        var key = ATTRIBUTE_PREFIX + taskId;
+        if (attributes != null
+            && attributes.getAttribute(key, RequestAttributes.SCOPE_REQUEST) instanceof TaskOwnership cached) {
+            return cached;
+        }
+        var ownership = taskRepository.findOwnershipById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Задача не найдена: " + taskId));
+        if (attributes != null) {
+            attributes.setAttribute(key, ownership, RequestAttributes.SCOPE_REQUEST);
+        }
+        return ownership;
+    }
+
+    /**
+     * Забывает запомненных владельцев задачи после ее изменения.
+     *
+     * @param taskId ID задачи.
+     */
+    public void evict(Long taskId) {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(ATTRIBUTE_PREFIX + taskId, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
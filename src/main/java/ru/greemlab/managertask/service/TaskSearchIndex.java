@@ -0,0 +1,214 @@
+package ru.greemlab.managertask.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.greemlab.managertask.domain.dto.TaskIndexEntry;
+import ru.greemlab.managertask.domain.dto.TaskResponse;
+import ru.greemlab.managertask.domain.dto.TaskSuggestion;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+import ru.greemlab.managertask.repository.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Поисковый индекс задач в памяти процесса для подсказок при выборе задачи.
+ * <p>
+ * Включается настройкой {@code app.tasks.search-index.enabled}. После старта приложения индекс
+ * строится в фоне потоком из {@link TaskRepository}, до готовности поиск идет через базу данных.
+ * {@link TaskService} сообщает индексу о каждой созданной, измененной и удаленной задаче после фиксации
+ * транзакции. Пакетные изменения получают измененные задачи из {@code update ... returning}, импорт - из
+ * загруженных порций, и тоже обновляют только их. Полное перестроение идет только после старта, а изменения,
+ * пришедшие во время перестроения, применяются и к старому, и к новому индексу.
+ */
+@Slf4j
+@Service
+public class TaskSearchIndex {
+
+    private final boolean enabled;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("task-search-index").daemon().factory());
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private TaskTitleIndex index = new TaskTitleIndex();
+    private List<Consumer<TaskTitleIndex>> pending;
+    private volatile boolean ready;
+
+    public TaskSearchIndex(@Value("${app.tasks.search-index.enabled:false}") boolean enabled,
+                           TaskRepository taskRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * @return true, если индекс включен настройкой.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return true, если индекс включен и построен.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Добавляет или обновляет задачу после фиксации текущей транзакции.
+     *
+     * @param task Задача.
+     */
+    public void put(TaskResponse task) {
+        if (enabled) {
+            var entry = TaskIndexEntry.of(task);
+            afterCommit(() -> apply(target -> target.put(entry)));
+        }
+    }
+
+    /**
+     * Добавляет или обновляет задачи после фиксации текущей транзакции.
+     *
+     * @param entries Поля задач.
+     */
+    public void putAll(Collection<TaskIndexEntry> entries) {
+        if (enabled && !entries.isEmpty()) {
+            var copy = List.copyOf(entries);
+            afterCommit(() -> apply(target -> copy.forEach(target::put)));
+        }
+    }
+
+    /**
+     * Удаляет задачу после фиксации текущей транзакции.
+     *
+     * @param taskId ID задачи.
+     */
+    public void remove(Long taskId) {
+        if (enabled) {
+            afterCommit(() -> apply(target -> target.remove(taskId)));
+        }
+    }
+
+    /**
+     * Перестраивает индекс в фоне. Повторные вызовы во время перестроения сливаются в одно следующее.
+     */
+    public void rebuild() {
+        if (enabled) {
+            afterCommit(() -> {
+                if (rebuildScheduled.compareAndSet(false, true)) {
+                    builder.execute(this::build);
+                }
+            });
+        }
+    }
+
+    /**
+     * Находит задачи по словам названия и фильтрам, от новых к старым.
+     *
+     * @see TaskTitleIndex#find(String, TaskStatus, TaskPriority, Long, Long, int)
+     */
+    public List<TaskSuggestion> find(String text, TaskStatus status, TaskPriority priority,
+                                     Long assigneeId, Long visibleTo, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.find(text, status, priority, assigneeId, visibleTo, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    private void build() {
+        rebuildScheduled.set(false);
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            var started = System.nanoTime();
+            var fresh = new TaskTitleIndex();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (var entries = taskRepository.streamIndexEntries()) {
+                    entries.forEach(fresh::put);
+                }
+            });
+            lock.writeLock().lock();
+            try {
+                pending.forEach(change -> change.accept(fresh));
+                index = fresh;
+                ready = true;
+            } finally {
+                pending = null;
+                lock.writeLock().unlock();
+            }
+            log.info("Поисковый индекс задач построен: {} задач за {} мс",
+                    fresh.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Не удалось построить поисковый индекс задач", e);
+        }
+    }
+
+    private void apply(Consumer<TaskTitleIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,154 @@
+package ru.greemlab.managertask.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.greemlab.managertask.config.TaskAccess;
+import ru.greemlab.managertask.config.TaskRule;
+import ru.greemlab.managertask.domain.dto.CursorPage;
+import ru.greemlab.managertask.domain.dto.TaskFilter;
+import ru.greemlab.managertask.domain.dto.TaskResponse;
+import ru.greemlab.managertask.domain.dto.TaskSearchHit;
+import ru.greemlab.managertask.domain.dto.TaskSuggestion;
+import ru.greemlab.managertask.domain.model.AccessPrincipal;
+import ru.greemlab.managertask.domain.model.PageCursor;
+import ru.greemlab.managertask.domain.model.SearchCursor;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskSort;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+import ru.greemlab.managertask.exception.InvalidCursorException;
+import ru.greemlab.managertask.repository.TaskRepository;
+
+import java.util.List;
+
+/**
+ * Полнотекстовый поиск задач и список задач по условиям.
+ * <p>
+ * Администратор ищет по всем задачам, остальные пользователи - только по задачам, где они автор
+ * или исполнитель, как в правиле {@link TaskRule#PARTICIPANT}. Ограничение добавляется в поисковый запрос, поэтому страница всегда заполнена
+ * видимыми задачами. Страницы выводятся по курсору из релевантности и ID.
+ * Подсказки при выборе задачи берутся из {@link TaskSearchIndex}, если он включен.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskSearchService {
+
+    /**
+     * Максимальная длина поискового запроса.
+     */
+    public static final int MAX_QUERY_LENGTH = 256;
+
+    /**
+     * Максимальное количество подсказок.
+     */
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private final TaskRepository taskRepository;
+    private final UserService userService;
+    private final SecurityService securityService;
+    private final TaskSearchIndex taskSearchIndex;
+
+    /**
+     * Ищет задачи по названию, описанию и комментариям, от более релевантных к менее релевантным.
+     *
+     * @param query  Поисковый запрос: слова, фразы в кавычках, {@code or} и {@code -} для исключения.
+     * @param cursor Курсор из предыдущей страницы, null для первой страницы.
+     * @param size   Размер страницы.
+     * @return Страница найденных задач с курсором на следующую страницу.
+     * @throws InvalidCursorException если курсор не удалось разобрать.
+     */
+    @TaskAccess(TaskRule.AUTHENTICATED)
+    public CursorPage<TaskResponse> search(String query, String cursor, int size) {
+        var after = SearchCursor.decode(cursor);
+        if (query == null || query.isBlank()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        var text = query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query;
+        var limit = Math.clamp(size, 1, TaskService.MAX_CURSOR_PAGE_SIZE);
+        var userScope = currentUserScope();
+
+        var rows = taskRepository.search(text, userScope, after, limit + 1);
+        var page = CursorPage.of(rows, limit, hit -> new SearchCursor(hit.rank(), hit.task().id()).encode());
+        return new CursorPage<>(page.content().stream().map(TaskSearchHit::task).toList(), page.nextCursor());
+    }
+
+    /**
+     * Список задач по сочетанию условий, от новых к старым или по времени последнего комментария.
+     * Запрос содержит только заданные условия и ограничение видимости, страницы выводятся по курсору.
+     *
+     * @param filter Условие выбора задач.
+     * @param sort   Порядок вывода.
+     * @param cursor Курсор из предыдущей страницы, null для первой страницы.
+     * @param size   Размер страницы.
+     * @return Страница задач с курсором на следующую страницу.
+     * @throws InvalidCursorException если курсор не удалось разобрать или он от другого порядка.
+     */
+    @TaskAccess(TaskRule.AUTHENTICATED)
+    public CursorPage<TaskResponse> filter(TaskFilter filter, TaskSort sort, String cursor, int size) {
+        var before = PageCursor.decode(cursor);
+        if (before != null && (sort == TaskSort.ACTIVITY) != (before.createdAt() != null)) {
+            throw new InvalidCursorException(cursor);
+        }
+        var limit = Math.clamp(size, 1, TaskService.MAX_CURSOR_PAGE_SIZE);
+        var text = filter.text() != null && filter.text().length() > MAX_QUERY_LENGTH
+                ? filter.text().substring(0, MAX_QUERY_LENGTH)
+                : filter.text();
+        var bounded = new TaskFilter(filter.statuses(), filter.priorities(), filter.authorId(),
+                filter.assigneeId(), text);
+
+        var rows = taskRepository.findResponses(bounded, sort, currentUserScope(), before, limit + 1);
+        return CursorPage.of(rows, limit, task -> (sort == TaskSort.ACTIVITY
+                ? PageCursor.of(task.lastCommentAt(), task.id())
+                : PageCursor.ofId(task.id())).encode());
+    }
+
+    /**
+     * Подсказки при выборе задачи по набранному началу названия, от новых задач к старым.
+     * Если включен индекс в памяти и он построен, запрос к базе данных не выполняется,
+     * иначе поиск идет префиксным запросом по колонке {@code search_vector}.
+     *
+     * @param text       Набранный текст: последнее слово без пробела после него ищется как префикс.
+     * @param status     Статус задач, null для любого.
+     * @param priority   Приоритет задач, null для любого.
+     * @param assigneeId ID исполнителя задач, null для любого.
+     * @param size       Максимальное количество задач.
+     * @return Подходящие задачи.
+     */
+    @TaskAccess(TaskRule.AUTHENTICATED)
+    public List<TaskSuggestion> suggest(String text, TaskStatus status, TaskPriority priority,
+                                        Long assigneeId, int size) {
+        var limit = Math.clamp(size, 1, MAX_SUGGESTIONS);
+        var userScope = currentUserScope();
+        if (taskSearchIndex.isReady()) {
+            return taskSearchIndex.find(text, status, priority, assigneeId, userScope, limit);
+        }
+        return taskRepository.suggest(toTsQuery(text), status, priority, assigneeId, userScope, limit);
+    }
+
+    /**
+     * @return ID текущего пользователя для ограничения видимости задач по правилу {@link TaskRule#PARTICIPANT},
+     * null для администратора.
+     */
+    private Long currentUserScope() {
+        var currentUser = userService.getByEmail(securityService.getCurrentUserName());
+        return TaskRule.PARTICIPANT.listScope(
+                new AccessPrincipal(currentUser.getId(), currentUser.getEmail(), currentUser.getRole()));
+    }
+
+    /**
+     * Строит to_tsquery из слов текста по тем же правилам, что и индекс в памяти.
+     * Слова состоят только из букв и цифр, поэтому экранирование не нужно.
+     */
+    private static String toTsQuery(String text) {
+        var tokens = TaskTitleIndex.tokenize(text);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        var prefix = Character.isLetterOrDigit(text.charAt(text.length() - 1));
+        var last = tokens.getLast();
+        if (prefix && last.length() < TaskTitleIndex.MIN_PREFIX_LENGTH) {
+            tokens.removeLast();
+            return tokens.isEmpty() ? null : String.join(" & ", tokens);
+        }
+        return String.join(" & ", tokens) + (prefix ? ":*" : "");
+    }
+}
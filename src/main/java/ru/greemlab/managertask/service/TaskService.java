@@ -1,46 +1,92 @@
 package ru.greemlab.managertask.service;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.greemlab.managertask.config.TaskAccess;
+import ru.greemlab.managertask.config.TaskRule;
+import ru.greemlab.managertask.domain.dto.BulkTaskFilter;
+import ru.greemlab.managertask.domain.dto.BulkTaskResponse;
+import ru.greemlab.managertask.domain.dto.BulkTaskResult;
+import ru.greemlab.managertask.domain.dto.BulkUpdateResponse;
 import ru.greemlab.managertask.domain.dto.CommentRequest;
 import ru.greemlab.managertask.domain.dto.CommentResponse;
+import ru.greemlab.managertask.domain.dto.CursorPage;
 import ru.greemlab.managertask.domain.dto.TaskCreateRequest;
+import ru.greemlab.managertask.domain.dto.TaskIndexEntry;
 import ru.greemlab.managertask.domain.dto.TaskResponse;
 import ru.greemlab.managertask.domain.dto.TaskUpdateRequest;
+import ru.greemlab.managertask.domain.model.PageCursor;
 import ru.greemlab.managertask.domain.model.Role;
 import ru.greemlab.managertask.domain.model.Task;
 import ru.greemlab.managertask.domain.model.TaskComment;
 import ru.greemlab.managertask.domain.model.TaskPriority;
 import ru.greemlab.managertask.domain.model.TaskStatus;
 import ru.greemlab.managertask.domain.model.User;
+import ru.greemlab.managertask.exception.BulkLimitExceededException;
+import ru.greemlab.managertask.exception.InvalidCursorException;
+import ru.greemlab.managertask.exception.TaskVersionConflictException;
+import ru.greemlab.managertask.exception.UserNotFoundException;
 import ru.greemlab.managertask.mapper.CommentMapper;
 import ru.greemlab.managertask.mapper.TaskMapper;
 import ru.greemlab.managertask.repository.TaskCommentRepository;
 import ru.greemlab.managertask.repository.TaskRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Сервис для работы с задачами.
  * <p>
  * Сервис предоставляет методы для создания, обновления, удаления задач, а также для работы с комментариями.
- * Методы защищены с использованием аннотаций @PreAuthorize для обеспечения безопасности.
+ * Методы защищены аннотацией {@link TaskAccess} с правилами {@link TaskRule}.
+ * Права на конкретную задачу проверяются по автору и исполнителю, которые читаются
+ * узким запросом один раз на HTTP запрос, а тело метода переиспользует этот результат.
  */
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
+    /**
+     * Максимальный размер страницы при выводе по курсору.
+     */
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * Максимальное количество задач в одном пакетном запросе.
+     */
+    public static final int MAX_BULK_SIZE = 5000;
+
+    /**
+     * Количество задач, сохраняемых одной транзакцией; совпадает с {@code hibernate.jdbc.batch_size}.
+     */
+    public static final int BULK_CHUNK_SIZE = 50;
+
     private final TaskRepository taskRepository;
     private final UserService userService;
     private final TaskMapper taskMapper;
     private final CommentMapper commentMapper;
     private final TaskCommentRepository commentRepository;
     private final SecurityService securityService;
+    private final TaskOwnershipLoader taskOwnershipLoader;
+    private final Validator validator;
+    private final TaskSearchIndex taskSearchIndex;
 
 
     /**
@@ -55,13 +101,82 @@ public class TaskService {
                 .orElseThrow(() -> new EntityNotFoundException("Задача не найдена: " + taskId));
     }
 
+    /**
+     * Получение задачи участником задачи.
+     * Автор и исполнитель не загружаются: для ответа нужны только их ID.
+     *
+     * @param taskId ID задачи.
+     * @return Ответ с задачей.
+     * @throws EntityNotFoundException если задача не найдена.
+     */
+    @TaskAccess(value = TaskRule.PARTICIPANT, subject = TaskAccess.Subject.TASK)
+    public TaskResponse getTask(Long taskId) {
+        return taskMapper.toResponse(getTaskById(taskId));
+    }
+
+    /**
+     * Получение текущей версии задачи без чтения самой задачи, для условного GET.
+     *
+     * @param taskId ID задачи.
+     * @return Версия задачи.
+     * @throws EntityNotFoundException если задача не найдена.
+     */
+    @TaskAccess(value = TaskRule.PARTICIPANT, subject = TaskAccess.Subject.TASK)
+    public Long getTaskVersion(Long taskId) {
+        return taskRepository.findVersionById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Задача не найдена: " + taskId));
+    }
+
+    /**
+     * Получение задачи по ID сразу в виде ответа.
+     *
+     * @param taskId ID задачи.
+     * @return Ответ с задачей.
+     * @throws EntityNotFoundException если задача не найдена.
+     */
+    private TaskResponse getTaskResponse(Long taskId) {
+        return taskRepository.findResponseById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Задача не найдена: " + taskId));
+    }
+
+    /**
+     * Проверяет результат точечного UPDATE с условием на версию.
+     * Если строка не изменена, отличает отсутствующую задачу от устаревшей версии.
+     *
+     * @param taskId  ID задачи.
+     * @param updated Количество измененных строк.
+     * @throws EntityNotFoundException если задача не найдена.
+     * @throws TaskVersionConflictException если версия задачи устарела.
+     */
+    private void requireUpdated(Long taskId, int updated) {
+        if (updated > 0) {
+            return;
+        }
+        if (taskRepository.existsById(taskId)) {
+            throw new TaskVersionConflictException(taskId);
+        }
+        throw new EntityNotFoundException("Задача не найдена: " + taskId);
+    }
+
+    /**
+     * Проверяет, что пользователь существует, чтобы пустая страница не скрывала неверный ID.
+     *
+     * @param userId ID пользователя.
+     * @throws UserNotFoundException если пользователя не существует.
+     */
+    private void requireUser(Long userId) {
+        if (!userService.exists(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+    }
+
     /**
      * Создание новой задачи.
      *
      * @param request Данные для создания задачи.
      * @return Ответ с информацией о созданной задаче.
      */
-    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @TaskAccess(TaskRule.AUTHENTICATED)
     public TaskResponse createTask(TaskCreateRequest request) {
         var currentUser = userService.getByEmail(securityService.getCurrentUserName());
         User assignee;
@@ -72,43 +187,105 @@ public class TaskService {
         }
         var task = taskMapper.toEntity(request, currentUser, assignee);
         var saved = taskRepository.save(task);
-        return taskMapper.toResponse(saved);
+        return indexed(taskMapper.toResponse(saved));
+    }
+
+    /**
+     * Пакетное создание задач.
+     * <p>
+     * Правила автора и исполнителя такие же, как в {@link #createTask(TaskCreateRequest)}.
+     * Исполнители загружаются одним запросом, задачи сохраняются частями по {@link #BULK_CHUNK_SIZE}.
+     * Если часть не удалось сохранить, ее задачи сохраняются по одной, чтобы ошибка
+     * относилась только к своему запросу.
+     *
+     * @param requests Данные для создания задач.
+     * @return Результат по каждому запросу в исходном порядке.
+     * @throws BulkLimitExceededException если запросов больше {@link #MAX_BULK_SIZE}.
+     */
+    @TaskAccess(TaskRule.AUTHENTICATED)
+    public BulkTaskResponse createTasks(List<TaskCreateRequest> requests) {
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new BulkLimitExceededException(MAX_BULK_SIZE);
+        }
+        var currentUser = userService.getByEmail(securityService.getCurrentUserName());
+        var admin = currentUser.getRole() == Role.ROLE_ADMIN;
+        Map<Long, User> assignees = admin
+                ? userService.getAllById(requests.stream()
+                        .filter(Objects::nonNull)
+                        .map(TaskCreateRequest::assigneeId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                : Map.of();
+
+        var results = new BulkTaskResult[requests.size()];
+        var pending = new ArrayList<PendingTask>();
+        for (int i = 0; i < requests.size(); i++) {
+            var request = requests.get(i);
+            var error = validate(request);
+            if (error != null) {
+                results[i] = BulkTaskResult.failed(i, error);
+                continue;
+            }
+            var assignee = admin && request.assigneeId() != null ? assignees.get(request.assigneeId()) : currentUser;
+            if (assignee == null) {
+                results[i] = BulkTaskResult.failed(i, "Пользователя не существует: " + request.assigneeId());
+                continue;
+            }
+            pending.add(new PendingTask(i, request, assignee));
+        }
+
+        for (int from = 0; from < pending.size(); from += BULK_CHUNK_SIZE) {
+            saveChunk(pending.subList(from, Math.min(from + BULK_CHUNK_SIZE, pending.size())), currentUser, results);
+        }
+        for (var result : results) {
+            if (result.task() != null) {
+                taskSearchIndex.put(result.task());
+            }
+        }
+        return BulkTaskResponse.of(Arrays.asList(results));
     }
 
     /**
      * Обновление задачи.
+     * Задача читается в транзакции и меняется на месте: Hibernate пишет только измененные колонки,
+     * без merge и повторного чтения, а условие на версию в UPDATE отсекает параллельные изменения.
      *
-     * @param taskId  ID задачи.
-     * @param request Данные для обновления задачи.
+     * @param taskId          ID задачи.
+     * @param request         Данные для обновления задачи.
+     * @param expectedVersion Версия задачи из If-Match, null для изменения без проверки версии.
      * @return Ответ с обновленной задачей.
      * @throws RuntimeException если текущий пользователь не имеет прав на обновление.
+     * @throws TaskVersionConflictException если задача уже изменена другим запросом.
      */
-    @PreAuthorize("""
-            hasAnyRole('ADMIN', 'USER')
-            or (
-            #request.assigneeId() != null
-            and @taskService.getTaskById(#taskId).assignee != null
-            and @taskService.getTaskById(#taskId).assignee.email == authentication.name
-            )
-            """)
-    public TaskResponse updateTask(Long taskId, TaskUpdateRequest request) {
-        var existinTask = getTaskById(taskId);
+    @Transactional
+    @TaskAccess(TaskRule.AUTHENTICATED)
+    public TaskResponse updateTask(Long taskId, TaskUpdateRequest request, Long expectedVersion) {
         var currentUser = userService.getByEmail(securityService.getCurrentUserName());
         User newAssignee = null;
 
         if (currentUser.getRole() == Role.ROLE_ADMIN && request.assigneeId() != null) {
             newAssignee = userService.getById(request.assigneeId());
         } else if (currentUser.getRole() != Role.ROLE_ADMIN) {
-            if (existinTask.getAssignee().equals(currentUser) || Objects.equals(existinTask.getAssignee().getId(), request.assigneeId())) {
-                newAssignee = userService.getById(request.assigneeId());
+            var ownership = taskOwnershipLoader.load(taskId);
+            if (ownership.isAssignedTo(currentUser.getId()) || Objects.equals(ownership.assigneeId(), request.assigneeId())) {
+                newAssignee = request.assigneeId() != null ? userService.getById(request.assigneeId()) : null;
             } else {
                 throw new RuntimeException("Не достаточно прав для изменения задачи");
             }
         }
 
+        var existinTask = getTaskById(taskId);
+        if (expectedVersion != null && !expectedVersion.equals(existinTask.getVersion())) {
+            throw new TaskVersionConflictException(taskId);
+        }
         var update = taskMapper.toEntityForUpdate(request, existinTask, newAssignee);
-        var saved = taskRepository.save(update);
-        return taskMapper.toResponse(saved);
+        try {
+            taskRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new TaskVersionConflictException(taskId);
+        }
+        taskOwnershipLoader.evict(taskId);
+        return indexed(taskMapper.toResponse(update));
     }
 
     /**
@@ -117,12 +294,13 @@ public class TaskService {
      * @param taskId ID задачи.
      * @throws RuntimeException если задача не существует.
      */
-    @PreAuthorize("hasRole('ADMIN')")
+    @TaskAccess(TaskRule.ADMIN)
     public void delete(Long taskId) {
         if (!taskRepository.existsById(taskId)) {
             throw new RuntimeException("Нет задачи: " + taskId);
         }
         taskRepository.deleteById(taskId);
+        taskSearchIndex.remove(taskId);
     }
 
     /**
@@ -131,20 +309,29 @@ public class TaskService {
      * @param authorId ID автора задач.
      * @param pageable Параметры пагинации.
      * @return Страница с задачами.
+     * @throws UserNotFoundException если автора не существует.
      */
-    @PreAuthorize("""
-            hasAnyRole('ADMIN')
-            or (
-            #authorId == @userService.getByEmail(authentication.name).id
-            )
-            """)
+    @TaskAccess(value = TaskRule.AUTHOR, subject = TaskAccess.Subject.AUTHOR)
     public Page<TaskResponse> getTasksByAuthor(Long authorId, Pageable pageable) {
-        var author = userService.getById(authorId);
-        var page = taskRepository.findByAuthor(author, pageable);
-        var content = page.getContent().stream()
-                .map(taskMapper::toResponse)
-                .toList();
-        return new PageImpl<>(content, pageable, page.getTotalElements());
+        requireUser(authorId);
+        return taskRepository.findResponsesByAuthorId(authorId, pageable);
+    }
+
+    /**
+     * Получение задач автора по курсору, от новых к старым.
+     *
+     * @param authorId ID автора задач.
+     * @param cursor   Курсор из предыдущей страницы, null для первой страницы.
+     * @param size     Размер страницы.
+     * @return Страница с задачами и курсором на следующую страницу.
+     * @throws UserNotFoundException если автора не существует.
+     */
+    @TaskAccess(value = TaskRule.AUTHOR, subject = TaskAccess.Subject.AUTHOR)
+    public CursorPage<TaskResponse> getTasksByAuthor(Long authorId, String cursor, int size) {
+        requireUser(authorId);
+        var limit = cursorPageSize(size);
+        var rows = taskRepository.findResponsesByAuthorIdBefore(authorId, beforeId(cursor), PageRequest.ofSize(limit + 1));
+        return CursorPage.of(rows, limit, task -> PageCursor.ofId(task.id()).encode());
     }
 
     /**
@@ -153,72 +340,122 @@ public class TaskService {
      * @param assigneeId ID исполнителя задач.
      * @param pageable   Параметры пагинации.
      * @return Страница с задачами.
+     * @throws UserNotFoundException если исполнителя не существует.
      */
-    @PreAuthorize("""
-            hasAnyRole('ADMIN')
-            or (
-            #assigneeId == @userService.getByEmail(authentication.name).id
-            )
-            """)
+    @TaskAccess(value = TaskRule.ASSIGNEE, subject = TaskAccess.Subject.ASSIGNEE)
     public Page<TaskResponse> getTasksByAssignee(Long assigneeId, Pageable pageable) {
-        var assignee = userService.getById(assigneeId);
-        var page = taskRepository.findByAssignee(assignee, pageable);
-        var content = page.getContent().stream()
-                .map(taskMapper::toResponse)
-                .toList();
-        return new PageImpl<>(content, pageable, page.getTotalElements());
+        requireUser(assigneeId);
+        return taskRepository.findResponsesByAssigneeId(assigneeId, pageable);
+    }
+
+    /**
+     * Получение задач исполнителя по курсору, от новых к старым.
+     *
+     * @param assigneeId ID исполнителя задач.
+     * @param cursor     Курсор из предыдущей страницы, null для первой страницы.
+     * @param size       Размер страницы.
+     * @return Страница с задачами и курсором на следующую страницу.
+     * @throws UserNotFoundException если исполнителя не существует.
+     */
+    @TaskAccess(value = TaskRule.ASSIGNEE, subject = TaskAccess.Subject.ASSIGNEE)
+    public CursorPage<TaskResponse> getTasksByAssignee(Long assigneeId, String cursor, int size) {
+        requireUser(assigneeId);
+        var limit = cursorPageSize(size);
+        var rows = taskRepository.findResponsesByAssigneeIdBefore(assigneeId, beforeId(cursor), PageRequest.ofSize(limit + 1));
+        return CursorPage.of(rows, limit, task -> PageCursor.ofId(task.id()).encode());
     }
 
     /**
      * Обновление статуса задачи.
+     * Статус меняется точечным UPDATE, а ответ собирается узким повторным чтением.
      *
-     * @param taskId ID задачи.
-     * @param status Новый статус задачи.
+     * @param taskId          ID задачи.
+     * @param status          Новый статус задачи.
+     * @param expectedVersion Версия задачи из If-Match, null для изменения без проверки версии.
      * @return Ответ с обновленной задачей.
+     * @throws TaskVersionConflictException если задача уже изменена другим запросом.
      */
-    @PreAuthorize("""
-            hasRole('ADMIN')
-            or (
-            @taskService.getTaskById(#taskId).assignee != null
-            and @taskService.getTaskById(#taskId).assignee.email == authentication.name
-            )
-            """)
-    public TaskResponse updateStatus(Long taskId, TaskStatus status) {
-        var task = getTaskById(taskId);
-        task.setStatus(status);
-        var saved = taskRepository.save(task);
-        return taskMapper.toResponse(saved);
+    @TaskAccess(value = TaskRule.ASSIGNEE, subject = TaskAccess.Subject.TASK)
+    public TaskResponse updateStatus(Long taskId, TaskStatus status, Long expectedVersion) {
+        requireUpdated(taskId, taskRepository.updateStatusById(taskId, status, expectedVersion));
+        return indexed(getTaskResponse(taskId));
     }
 
     /**
      * Обновление приоритета задачи.
+     * Приоритет меняется точечным UPDATE, а ответ собирается узким повторным чтением.
      *
-     * @param taskId   ID задачи.
-     * @param priority Новый приоритет задачи.
+     * @param taskId          ID задачи.
+     * @param priority        Новый приоритет задачи.
+     * @param expectedVersion Версия задачи из If-Match, null для изменения без проверки версии.
      * @return Ответ с обновленной задачей.
+     * @throws TaskVersionConflictException если задача уже изменена другим запросом.
      */
-    @PreAuthorize("hasRole('ADMIN')")
-    public TaskResponse updatePriority(Long taskId, TaskPriority priority) {
-        var task = getTaskById(taskId);
-        task.setPriority(priority);
-        var saved = taskRepository.save(task);
-        return taskMapper.toResponse(saved);
+    @TaskAccess(TaskRule.ADMIN)
+    public TaskResponse updatePriority(Long taskId, TaskPriority priority, Long expectedVersion) {
+        requireUpdated(taskId, taskRepository.updatePriorityById(taskId, priority, expectedVersion));
+        return indexed(getTaskResponse(taskId));
     }
 
     /**
      * Назначение задачи на исполнителя.
+     * Исполнитель меняется точечным UPDATE, а ответ собирается узким повторным чтением.
      *
-     * @param taskId ID задачи.
-     * @param userId ID исполнителя.
+     * @param taskId          ID задачи.
+     * @param userId          ID исполнителя.
+     * @param expectedVersion Версия задачи из If-Match, null для изменения без проверки версии.
      * @return Ответ с обновленной задачей.
+     * @throws TaskVersionConflictException если задача уже изменена другим запросом.
      */
-    @PreAuthorize("hasRole('ADMIN')")
-    public TaskResponse assignTask(Long taskId, Long userId) {
-        var task = getTaskById(taskId);
+    @TaskAccess(TaskRule.ADMIN)
+    public TaskResponse assignTask(Long taskId, Long userId, Long expectedVersion) {
         var user = userService.getById(userId);
-        task.setAssignee(user);
-        var saved = taskRepository.save(task);
-        return taskMapper.toResponse(saved);
+        requireUpdated(taskId, taskRepository.updateAssigneeById(taskId, user, expectedVersion));
+        taskOwnershipLoader.evict(taskId);
+        return indexed(getTaskResponse(taskId));
+    }
+
+    /**
+     * Пакетное обновление статуса задач одним запросом.
+     * Пользователь меняет статус только у задач, где он исполнитель: это условие добавляется в запрос.
+     *
+     * @param filter Условие выбора задач.
+     * @param status Новый статус задач.
+     * @return Количество измененных задач.
+     */
+    @TaskAccess(TaskRule.AUTHENTICATED)
+    public BulkUpdateResponse updateStatuses(BulkTaskFilter filter, TaskStatus status) {
+        var currentUser = userService.getByEmail(securityService.getCurrentUserName());
+        var assigneeScope = currentUser.getRole() == Role.ROLE_ADMIN ? null : currentUser.getId();
+        return bulkUpdate(() -> taskRepository.updateStatus(filter, assigneeScope, status),
+                () -> taskRepository.updateStatusReturning(filter, assigneeScope, status));
+    }
+
+    /**
+     * Пакетное обновление приоритета задач одним запросом.
+     *
+     * @param filter   Условие выбора задач.
+     * @param priority Новый приоритет задач.
+     * @return Количество измененных задач.
+     */
+    @TaskAccess(TaskRule.ADMIN)
+    public BulkUpdateResponse updatePriorities(BulkTaskFilter filter, TaskPriority priority) {
+        return bulkUpdate(() -> taskRepository.updatePriority(filter, priority),
+                () -> taskRepository.updatePriorityReturning(filter, priority));
+    }
+
+    /**
+     * Пакетное назначение задач на исполнителя одним запросом.
+     *
+     * @param filter Условие выбора задач.
+     * @param userId ID нового исполнителя.
+     * @return Количество измененных задач.
+     */
+    @TaskAccess(TaskRule.ADMIN)
+    public BulkUpdateResponse assignTasks(BulkTaskFilter filter, Long userId) {
+        var assignee = userService.getById(userId);
+        return bulkUpdate(() -> taskRepository.updateAssignee(filter, assignee.getId()),
+                () -> taskRepository.updateAssigneeReturning(filter, assignee.getId()));
     }
 
     /**
@@ -228,40 +465,44 @@ public class TaskService {
      * @param pageable Параметры пагинации.
      * @return Страница с комментариями.
      */
-    @PreAuthorize("""
-            hasRole('ADMIN')
-            or (
-            @taskService.getTaskById(#taskId).author.email == authentication.name
-            or (
-            @taskService.getTaskById(#taskId).assignee != null
-            and @taskService.getTaskById(#taskId).assignee.email == authentication.name
-            )
-            )
-            """)
+    @TaskAccess(value = TaskRule.PARTICIPANT, subject = TaskAccess.Subject.TASK)
     public Page<CommentResponse> getCommentsByTask(Long taskId, Pageable pageable) {
-        var commentsPage = commentRepository.findByTaskId(taskId, pageable);
-
-        var commentResponses = commentMapper.toCommentResponseList(commentsPage.getContent());
+        return commentRepository.findResponsesByTaskId(taskId, pageable);
+    }
 
-        return new PageImpl<>(commentResponses, pageable, commentsPage.getTotalElements());
+    /**
+     * Получение комментариев по задаче по курсору, в порядке создания.
+     *
+     * @param taskId ID задачи.
+     * @param cursor Курсор из предыдущей страницы, null для первой страницы.
+     * @param size   Размер страницы.
+     * @return Страница с комментариями и курсором на следующую страницу.
+     */
+    @TaskAccess(value = TaskRule.PARTICIPANT, subject = TaskAccess.Subject.TASK)
+    public CursorPage<CommentResponse> getCommentsByTask(Long taskId, String cursor, int size) {
+        var limit = cursorPageSize(size);
+        var after = PageCursor.decode(cursor);
+        var page = PageRequest.ofSize(limit + 1);
+        var rows = after == null
+                ? commentRepository.findFirstResponsesByTaskId(taskId, page)
+                : commentRepository.findResponsesByTaskIdAfter(taskId, requireCreatedAt(after, cursor), after.id(), page);
+        return CursorPage.of(rows, limit, comment -> PageCursor.of(comment.createdAt(), comment.id()).encode());
     }
 
     /**
      * Добавление комментария к задаче.
+     * В той же транзакции у задачи увеличивается количество комментариев и обновляется время
+     * последнего комментария.
      *
      * @param taskId  ID задачи.
      * @param request Данные для добавления комментария.
      * @return Ответ с добавленным комментарием.
      */
-    @PreAuthorize("""
-            hasRole('ADMIN')
-            or (
-            @taskService.getTaskById(#taskId).assignee != null
-            and @taskService.getTaskById(#taskId).assignee.email == authentication.name
-            )
-            """)
+    @Transactional
+    @TaskAccess(value = TaskRule.ASSIGNEE, subject = TaskAccess.Subject.TASK)
     public CommentResponse addComment(Long taskId, CommentRequest request) {
-        var task = getTaskById(taskId);
+        taskOwnershipLoader.load(taskId);
+        var task = taskRepository.getReferenceById(taskId);
         var currentUser = userService.getByEmail(securityService.getCurrentUserName());
 
         var comment = TaskComment.builder()
@@ -270,7 +511,119 @@ public class TaskService {
                 .comment(request.comment())
                 .build();
         var savedComment = commentRepository.save(comment);
+        taskRepository.incrementCommentCount(taskId, savedComment.getCreatedAt());
 
         return commentMapper.toCommentResponse(savedComment);
     }
+
+    /**
+     * Удаление комментария к задаче.
+     * Удалить комментарий может его автор или администратор. В той же транзакции у задачи
+     * уменьшается количество комментариев и пересчитывается время последнего комментария.
+     *
+     * @param taskId    ID задачи.
+     * @param commentId ID комментария.
+     * @throws EntityNotFoundException если у задачи нет такого комментария.
+     * @throws AccessDeniedException   если текущий пользователь не автор комментария и не администратор.
+     */
+    @Transactional
+    @TaskAccess(value = TaskRule.PARTICIPANT, subject = TaskAccess.Subject.TASK)
+    public void deleteComment(Long taskId, Long commentId) {
+        var ownership = commentRepository.findOwnershipByIdAndTaskId(commentId, taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Комментарий не найден: " + commentId));
+        var currentUser = userService.getByEmail(securityService.getCurrentUserName());
+        if (currentUser.getRole() != Role.ROLE_ADMIN && !currentUser.getId().equals(ownership.userId())) {
+            throw new AccessDeniedException("Удалить комментарий может только его автор");
+        }
+        if (commentRepository.deleteByIdAndTaskId(commentId, taskId, ownership.createdAt()) == 0) {
+            throw new EntityNotFoundException("Комментарий не найден: " + commentId);
+        }
+        taskRepository.decrementCommentCount(taskId);
+    }
+
+    /**
+     * Сообщает поисковому индексу об измененной задаче.
+     *
+     * @param task Задача.
+     * @return Та же задача.
+     */
+    private TaskResponse indexed(TaskResponse task) {
+        taskSearchIndex.put(task);
+        return task;
+    }
+
+    /**
+     * Выполняет пакетное изменение. Измененные задачи читаются и передаются поисковому индексу только
+     * при включенном индексе, иначе запрос возвращает одно количество.
+     *
+     * @param count     Изменение с возвратом количества.
+     * @param returning Изменение с возвратом измененных задач.
+     * @return Ответ с количеством измененных задач.
+     */
+    private BulkUpdateResponse bulkUpdate(IntSupplier count, Supplier<List<TaskIndexEntry>> returning) {
+        if (!taskSearchIndex.isEnabled()) {
+            return new BulkUpdateResponse(count.getAsInt());
+        }
+        var updated = returning.get();
+        taskSearchIndex.putAll(updated);
+        return new BulkUpdateResponse(updated.size());
+    }
+
+    private static int cursorPageSize(int size) {
+        return Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+    }
+
+    private static Long beforeId(String cursor) {
+        var before = PageCursor.decode(cursor);
+        return before == null ? Long.MAX_VALUE : before.id();
+    }
+
+    private static LocalDateTime requireCreatedAt(PageCursor cursor, String token) {
+        if (cursor.createdAt() == null) {
+            throw new InvalidCursorException(token);
+        }
+        return cursor.createdAt();
+    }
+
+    private String validate(TaskCreateRequest request) {
+        if (request == null) {
+            return "Пустой запрос";
+        }
+        var violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void saveChunk(List<PendingTask> chunk, User author, BulkTaskResult[] results) {
+        try {
+            var saved = taskRepository.saveAll(chunk.stream()
+                    .map(pending -> taskMapper.toEntity(pending.request(), author, pending.assignee()))
+                    .toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                var index = chunk.get(i).index();
+                results[index] = BulkTaskResult.created(index, taskMapper.toResponse(saved.get(i)));
+            }
+        } catch (DataAccessException e) {
+            for (var pending : chunk) {
+                results[pending.index()] = saveOne(pending, author);
+            }
+        }
+    }
+
+    private BulkTaskResult saveOne(PendingTask pending, User author) {
+        try {
+            var saved = taskRepository.save(taskMapper.toEntity(pending.request(), author, pending.assignee()));
+            return BulkTaskResult.created(pending.index(), taskMapper.toResponse(saved));
+        } catch (DataAccessException e) {
+            return BulkTaskResult.failed(pending.index(), "Не удалось сохранить задачу");
+        }
+    }
+
+    private record PendingTask(int index, TaskCreateRequest request, User assignee) {
+    }
 }
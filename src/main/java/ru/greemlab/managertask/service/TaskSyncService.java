@@ -0,0 +1,155 @@
+package ru.greemlab.managertask.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.greemlab.managertask.config.TaskAccess;
+import ru.greemlab.managertask.config.TaskRule;
+import ru.greemlab.managertask.domain.dto.TaskChange;
+import ru.greemlab.managertask.domain.dto.TaskChangesResponse;
+import ru.greemlab.managertask.domain.model.PageCursor;
+import ru.greemlab.managertask.domain.model.TaskTombstone;
+import ru.greemlab.managertask.exception.InvalidCursorException;
+import ru.greemlab.managertask.exception.SyncWatermarkExpiredException;
+import ru.greemlab.managertask.repository.TaskRepository;
+import ru.greemlab.managertask.repository.TaskSyncRepository;
+import ru.greemlab.managertask.repository.TaskTombstoneRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Инкрементальная синхронизация списка задач исполнителя.
+ * <p>
+ * Отметка синхронизации - это время изменения и ID последней отданной задачи. Время изменения
+ * проставляет база данных в момент записи, а не фиксации транзакции, поэтому в ответ попадают только
+ * изменения до границы, которую считает база данных: не позже начала самой старой незавершенной пишущей
+ * транзакции и не позже текущего времени минус {@code app.tasks.sync.safety-lag}. Долгий импорт или
+ * пакетное изменение задерживают синхронизацию до своей фиксации, но не теряются.
+ * <p>
+ * Записи об удалении хранятся {@code app.tasks.sync.tombstone-retention} и удаляются по расписанию
+ * {@code app.tasks.sync.tombstone-purge-cron}. Отметка старше срока хранения отклоняется, клиент
+ * выполняет полную синхронизацию.
+ */
+@Slf4j
+@Service
+public class TaskSyncService {
+
+    /**
+     * Максимальное количество задач в одном ответе синхронизации.
+     */
+    public static final int MAX_SYNC_PAGE_SIZE = 500;
+
+    private static final LocalDateTime SYNC_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int PURGE_BATCH_SIZE = 10_000;
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TaskSyncRepository syncRepository;
+    private final Duration safetyLag;
+    private final Duration tombstoneRetention;
+
+    public TaskSyncService(TaskRepository taskRepository,
+                           TaskTombstoneRepository tombstoneRepository,
+                           TaskSyncRepository syncRepository,
+                           @Value("${app.tasks.sync.safety-lag:5s}") Duration safetyLag,
+                           @Value("${app.tasks.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.taskRepository = taskRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.syncRepository = syncRepository;
+        this.safetyLag = safetyLag;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Возвращает задачи исполнителя, созданные, измененные или удаленные после отметки.
+     * Без отметки возвращает все текущие задачи исполнителя, начиная с самых старых изменений.
+     * Удаленные задачи выводятся порциями того же размера, что и измененные: если они не поместились,
+     * отметка ставится на время последнего отданного удаления. Удаление не отдается, если задача изменена
+     * после него и попала в ту же порцию: например, задачу переназначили на другого исполнителя и вернули.
+     *
+     * @param assigneeId ID исполнителя.
+     * @param watermark  Отметка из предыдущего ответа, null для первой синхронизации.
+     * @param size       Максимальное количество задач в ответе.
+     * @return Изменения и отметка для следующей синхронизации.
+     * @throws InvalidCursorException        если отметку не удалось разобрать.
+     * @throws SyncWatermarkExpiredException если отметка старше срока хранения записей об удалении.
+     */
+    @TaskAccess(value = TaskRule.ASSIGNEE, subject = TaskAccess.Subject.ASSIGNEE)
+    public TaskChangesResponse getChangesByAssignee(Long assigneeId, String watermark, int size) {
+        var limit = Math.clamp(size, 1, MAX_SYNC_PAGE_SIZE);
+        var since = PageCursor.decode(watermark);
+        if (since != null && since.createdAt() == null) {
+            throw new InvalidCursorException(watermark);
+        }
+        var horizon = syncRepository.findHorizon(safetyLag);
+        if (since != null && since.createdAt().isBefore(horizon.now().minus(tombstoneRetention))) {
+            throw new SyncWatermarkExpiredException(watermark);
+        }
+        var sinceAt = since == null ? SYNC_EPOCH : since.createdAt();
+        var sinceId = since == null ? 0L : since.id();
+        var upTo = horizon.upTo().isBefore(sinceAt) ? sinceAt : horizon.upTo();
+
+        var rows = taskRepository.findChangesByAssigneeId(
+                assigneeId, sinceAt, sinceId, upTo, PageRequest.ofSize(limit + 1));
+        var hasMore = rows.size() > limit;
+        var page = hasMore ? rows.subList(0, limit) : rows;
+        var next = hasMore
+                ? PageCursor.of(page.getLast().updatedAt(), page.getLast().task().id())
+                : PageCursor.of(upTo, Long.MAX_VALUE);
+        if (since == null) {
+            return new TaskChangesResponse(page.stream().map(TaskChange::task).toList(), List.of(),
+                    next.encode(), hasMore);
+        }
+
+        var tombstones = tombstoneRepository.findByAssigneeIdDeletedBetween(
+                assigneeId, sinceAt, next.createdAt(), PageRequest.ofSize(limit + 1));
+        if (tombstones.size() > limit) {
+            // Удаления с тем же временем, что и последнее отданное, должны попасть в ту же порцию.
+            var cut = tombstones.get(limit - 1).getDeletedAt();
+            tombstones = tombstoneRepository.findByAssigneeIdDeletedBetween(
+                    assigneeId, sinceAt, cut, Pageable.unpaged());
+            if (cut.isBefore(next.createdAt())) {
+                page = page.stream().filter(change -> !change.updatedAt().isAfter(cut)).toList();
+                next = PageCursor.of(cut, Long.MAX_VALUE);
+                hasMore = true;
+            }
+        }
+        // Задача, переназначенная от исполнителя и обратно, отдается как измененная, а не удаленная.
+        var updatedAt = page.stream().collect(Collectors.toMap(change -> change.task().id(), TaskChange::updatedAt));
+        var deleted = tombstones.stream()
+                .filter(tombstone -> {
+                    var updated = updatedAt.get(tombstone.getTaskId());
+                    return updated == null || !updated.isAfter(tombstone.getDeletedAt());
+                })
+                .map(TaskTombstone::getTaskId)
+                .distinct()
+                .toList();
+        return new TaskChangesResponse(page.stream().map(TaskChange::task).toList(), deleted, next.encode(), hasMore);
+    }
+
+    /**
+     * Удаление записей об удалении задач старше срока хранения по расписанию.
+     * Записи удаляются порциями, чтобы не держать долгую транзакцию.
+     *
+     * @return Количество удаленных записей.
+     */
+    @Scheduled(cron = "${app.tasks.sync.tombstone-purge-cron:0 15 3 * * *}")
+    public long purgeTombstones() {
+        long purged = 0;
+        int batch;
+        do {
+            batch = syncRepository.purgeTombstones(tombstoneRetention, PURGE_BATCH_SIZE);
+            purged += batch;
+        } while (batch == PURGE_BATCH_SIZE);
+        if (purged > 0) {
+            log.info("Удалены устаревшие записи об удалении задач: {}", purged);
+        }
+        return purged;
+    }
+}
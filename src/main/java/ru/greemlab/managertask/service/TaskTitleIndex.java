@@ -0,0 +1,499 @@
+package ru.greemlab.managertask.service;
+
+import ru.greemlab.managertask.domain.dto.TaskIndexEntry;
+import ru.greemlab.managertask.domain.dto.TaskSuggestion;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+import ru.greemlab.managertask.util.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Инвертированный индекс задач в памяти для подсказок при выборе задачи.
+ * <p>
+ * Каждая задача получает порядковый номер в порядке добавления. Для слов названия, авторов и исполнителей
+ * хранятся отсортированные массивы номеров, для статусов и приоритетов - битовые множества.
+ * Запрос пересекает множества: перебирает самое маленькое от больших номеров к меньшим и проверяет
+ * остальные, поэтому останавливается, как только набрано нужное количество задач.
+ * Номера удаленных задач не переиспользуются, чтобы порядок номеров оставался порядком добавления. Когда удаленных
+ * номеров становится больше {@link #MAX_DEAD_FRACTION} от всех, живые задачи перенумеровываются подряд
+ * с сохранением порядка, и массивы сжимаются.
+ * Не потокобезопасен, доступ синхронизирует {@link TaskSearchIndex}.
+ */
+public final class TaskTitleIndex {
+
+    /**
+     * Минимальная длина недописанного последнего слова, с которой оно ищется как префикс.
+     */
+    public static final int MIN_PREFIX_LENGTH = 2;
+
+    /**
+     * Доля удаленных номеров, после которой индекс перенумеровывает задачи.
+     */
+    public static final double MAX_DEAD_FRACTION = 0.25;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private LongIntHashMap ordinals = new LongIntHashMap(INITIAL_CAPACITY);
+    private final TreeMap<String, Postings> byToken = new TreeMap<>();
+    private final Map<Long, Postings> byAuthor = new HashMap<>();
+    private final Map<Long, Postings> byAssignee = new HashMap<>();
+    private final BitSet[] byStatus = newBitSets(STATUSES.length);
+    private final int[] statusCounts = new int[STATUSES.length];
+    private final BitSet[] byPriority = newBitSets(PRIORITIES.length);
+    private final int[] priorityCounts = new int[PRIORITIES.length];
+    private final BitSet live = new BitSet();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private long[] authors = new long[INITIAL_CAPACITY];
+    private long[] assignees = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private byte[] priorities = new byte[INITIAL_CAPACITY];
+    private int next;
+    private int size;
+
+    /**
+     * Добавляет задачу или заменяет ее, если версия не старше уже проиндексированной.
+     *
+     * @param entry Поля задачи.
+     */
+    public void put(TaskIndexEntry entry) {
+        int ord = ordinals.get(entry.id());
+        if (ord >= 0) {
+            if (entry.version() != null && entry.version() < versions[ord]) {
+                return;
+            }
+            unindex(ord);
+        } else {
+            ord = next++;
+            ensureCapacity(next);
+            ordinals.put(entry.id(), ord);
+            size++;
+        }
+        index(ord, entry);
+    }
+
+    /**
+     * Удаляет задачу. Номер задачи больше не используется до перенумерации.
+     *
+     * @param taskId ID задачи.
+     */
+    public void remove(long taskId) {
+        int ord = ordinals.remove(taskId);
+        if (ord < 0) {
+            return;
+        }
+        unindex(ord);
+        titles[ord] = null;
+        size--;
+        if (next > INITIAL_CAPACITY && next - size > next * MAX_DEAD_FRACTION) {
+            compact();
+        }
+    }
+
+    /**
+     * Находит задачи по словам названия и фильтрам, от новых к старым.
+     * Все слова, кроме последнего, ищутся целиком. Последнее слово, если после него нет пробела,
+     * ищется как префикс, а короче {@link #MIN_PREFIX_LENGTH} символов не учитывается.
+     *
+     * @param text       Набранный текст, может быть пустым.
+     * @param status     Статус задач, null для любого.
+     * @param priority   Приоритет задач, null для любого.
+     * @param assigneeId ID исполнителя задач, null для любого.
+     * @param visibleTo  ID пользователя, которому видны только его задачи как автора или исполнителя,
+     *                   null без ограничения.
+     * @param limit      Максимальное количество задач.
+     * @return Найденные задачи.
+     */
+    public List<TaskSuggestion> find(String text, TaskStatus status, TaskPriority priority,
+                                     Long assigneeId, Long visibleTo, int limit) {
+        var tokens = tokenize(text);
+        String prefix = null;
+        if (!tokens.isEmpty() && Character.isLetterOrDigit(text.charAt(text.length() - 1))) {
+            var last = tokens.removeLast();
+            prefix = last.length() >= MIN_PREFIX_LENGTH ? last : null;
+        }
+
+        var sets = new ArrayList<OrdinalSet>();
+        for (var token : new LinkedHashSet<>(tokens)) {
+            var postings = byToken.get(token);
+            if (postings == null) {
+                return List.of();
+            }
+            sets.add(postings);
+        }
+        if (prefix != null) {
+            var range = byToken.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            if (range.isEmpty()) {
+                return List.of();
+            }
+            sets.add(range.size() == 1 ? range.firstEntry().getValue() : new PrefixSet(prefix, range.values()));
+        }
+        if (status != null) {
+            sets.add(new Bits(byStatus[status.ordinal()], statusCounts[status.ordinal()]));
+        }
+        if (priority != null) {
+            sets.add(new Bits(byPriority[priority.ordinal()], priorityCounts[priority.ordinal()]));
+        }
+        if (assigneeId != null) {
+            var postings = byAssignee.get(assigneeId);
+            if (postings == null) {
+                return List.of();
+            }
+            sets.add(postings);
+        }
+        if (visibleTo != null) {
+            var visible = Postings.union(byAuthor.get(visibleTo), byAssignee.get(visibleTo));
+            if (visible.size() == 0) {
+                return List.of();
+            }
+            sets.add(visible);
+        }
+        if (sets.isEmpty()) {
+            sets.add(new Bits(live, size));
+        }
+
+        sets.sort(Comparator.comparingInt(OrdinalSet::size));
+        var driver = sets.getFirst();
+        var others = sets.subList(1, sets.size());
+        var result = new ArrayList<TaskSuggestion>(Math.min(limit, driver.size()));
+        for (int ord = driver.previous(next - 1); ord >= 0 && result.size() < limit; ord = driver.previous(ord - 1)) {
+            if (live.get(ord) && containsAll(others, ord)) {
+                result.add(suggestion(ord));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Количество задач в индексе.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Количество выданных номеров, включая номера удаленных задач.
+     */
+    public int ordinalCount() {
+        return next;
+    }
+
+    /**
+     * Разбивает текст на слова: буквы и цифры в нижнем регистре, ё заменяется на е.
+     *
+     * @param text Текст, может быть null.
+     * @return Слова в порядке появления.
+     */
+    public static List<String> tokenize(String text) {
+        var tokens = new ArrayList<String>();
+        if (text == null) {
+            return tokens;
+        }
+        var token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c == 'ё' || c == 'Ё' ? 'е' : Character.toLowerCase(c));
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private void index(int ord, TaskIndexEntry entry) {
+        ids[ord] = entry.id();
+        titles[ord] = entry.title();
+        authors[ord] = entry.authorId() == null ? 0 : entry.authorId();
+        assignees[ord] = entry.assigneeId() == null ? 0 : entry.assigneeId();
+        versions[ord] = entry.version() == null ? 0 : entry.version();
+        statuses[ord] = (byte) entry.status().ordinal();
+        priorities[ord] = (byte) entry.priority().ordinal();
+
+        byStatus[statuses[ord]].set(ord);
+        statusCounts[statuses[ord]]++;
+        byPriority[priorities[ord]].set(ord);
+        priorityCounts[priorities[ord]]++;
+        live.set(ord);
+        for (var token : new LinkedHashSet<>(tokenize(entry.title()))) {
+            byToken.computeIfAbsent(token, key -> new Postings()).add(ord);
+        }
+        if (authors[ord] != 0) {
+            byAuthor.computeIfAbsent(authors[ord], key -> new Postings()).add(ord);
+        }
+        if (assignees[ord] != 0) {
+            byAssignee.computeIfAbsent(assignees[ord], key -> new Postings()).add(ord);
+        }
+    }
+
+    /**
+     * Перенумеровывает живые задачи подряд в прежнем порядке и строит структуры индекса заново.
+     */
+    private void compact() {
+        var entries = new ArrayList<TaskIndexEntry>(size);
+        for (int ord = live.nextSetBit(0); ord >= 0; ord = live.nextSetBit(ord + 1)) {
+            entries.add(new TaskIndexEntry(ids[ord], titles[ord], STATUSES[statuses[ord]], PRIORITIES[priorities[ord]],
+                    authors[ord] == 0 ? null : authors[ord], assignees[ord] == 0 ? null : assignees[ord], versions[ord]));
+        }
+        var capacity = Math.max(INITIAL_CAPACITY, entries.size() * 2);
+        ordinals = new LongIntHashMap(capacity);
+        byToken.clear();
+        byAuthor.clear();
+        byAssignee.clear();
+        Arrays.stream(byStatus).forEach(BitSet::clear);
+        Arrays.fill(statusCounts, 0);
+        Arrays.stream(byPriority).forEach(BitSet::clear);
+        Arrays.fill(priorityCounts, 0);
+        live.clear();
+        ids = new long[capacity];
+        titles = new String[capacity];
+        authors = new long[capacity];
+        assignees = new long[capacity];
+        versions = new long[capacity];
+        statuses = new byte[capacity];
+        priorities = new byte[capacity];
+        next = 0;
+        for (var entry : entries) {
+            ordinals.put(entry.id(), next);
+            index(next++, entry);
+        }
+    }
+
+    private void unindex(int ord) {
+        for (var token : new LinkedHashSet<>(tokenize(titles[ord]))) {
+            removeFrom(byToken, token, ord);
+        }
+        removeFrom(byAuthor, authors[ord], ord);
+        removeFrom(byAssignee, assignees[ord], ord);
+        byStatus[statuses[ord]].clear(ord);
+        statusCounts[statuses[ord]]--;
+        byPriority[priorities[ord]].clear(ord);
+        priorityCounts[priorities[ord]]--;
+        live.clear(ord);
+    }
+
+    private static <K> void removeFrom(Map<K, Postings> map, K key, int ord) {
+        var postings = map.get(key);
+        if (postings != null) {
+            postings.remove(ord);
+            if (postings.size() == 0) {
+                map.remove(key);
+            }
+        }
+    }
+
+    private TaskSuggestion suggestion(int ord) {
+        return new TaskSuggestion(ids[ord], titles[ord], STATUSES[statuses[ord]].name(),
+                PRIORITIES[priorities[ord]].name(), assignees[ord] == 0 ? null : assignees[ord]);
+    }
+
+    private static boolean containsAll(List<OrdinalSet> sets, int ord) {
+        for (var set : sets) {
+            if (!set.contains(ord)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        var length = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, length);
+        titles = Arrays.copyOf(titles, length);
+        authors = Arrays.copyOf(authors, length);
+        assignees = Arrays.copyOf(assignees, length);
+        versions = Arrays.copyOf(versions, length);
+        statuses = Arrays.copyOf(statuses, length);
+        priorities = Arrays.copyOf(priorities, length);
+    }
+
+    private static BitSet[] newBitSets(int count) {
+        var sets = new BitSet[count];
+        Arrays.setAll(sets, i -> new BitSet());
+        return sets;
+    }
+
+    /**
+     * Множество номеров задач.
+     */
+    private interface OrdinalSet {
+
+        int size();
+
+        boolean contains(int ord);
+
+        /**
+         * @return Наибольший номер не больше ord или -1.
+         */
+        int previous(int ord);
+    }
+
+    /**
+     * Отсортированный массив номеров задач.
+     */
+    private static final class Postings implements OrdinalSet {
+
+        private int[] ords = new int[4];
+        private int size;
+
+        static Postings union(Postings left, Postings right) {
+            var result = new Postings();
+            if (left == null || right == null) {
+                var single = left == null ? right : left;
+                if (single != null) {
+                    result.ords = Arrays.copyOf(single.ords, Math.max(4, single.size));
+                    result.size = single.size;
+                }
+                return result;
+            }
+            result.ords = new int[left.size + right.size];
+            int i = 0;
+            int j = 0;
+            while (i < left.size || j < right.size) {
+                int value;
+                if (j == right.size || (i < left.size && left.ords[i] < right.ords[j])) {
+                    value = left.ords[i++];
+                } else if (i == left.size || right.ords[j] < left.ords[i]) {
+                    value = right.ords[j++];
+                } else {
+                    value = left.ords[i++];
+                    j++;
+                }
+                result.ords[result.size++] = value;
+            }
+            return result;
+        }
+
+        void add(int ord) {
+            if (size == ords.length) {
+                ords = Arrays.copyOf(ords, size * 2);
+            }
+            if (size == 0 || ords[size - 1] < ord) {
+                ords[size++] = ord;
+                return;
+            }
+            int at = Arrays.binarySearch(ords, 0, size, ord);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            System.arraycopy(ords, at, ords, at + 1, size - at);
+            ords[at] = ord;
+            size++;
+        }
+
+        void remove(int ord) {
+            int at = Arrays.binarySearch(ords, 0, size, ord);
+            if (at >= 0) {
+                System.arraycopy(ords, at + 1, ords, at, size - at - 1);
+                size--;
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(int ord) {
+            return Arrays.binarySearch(ords, 0, size, ord) >= 0;
+        }
+
+        @Override
+        public int previous(int ord) {
+            if (ord < 0) {
+                return -1;
+            }
+            int at = Arrays.binarySearch(ords, 0, size, ord);
+            if (at >= 0) {
+                return ords[at];
+            }
+            at = -at - 2;
+            return at >= 0 ? ords[at] : -1;
+        }
+    }
+
+    /**
+     * Битовое множество номеров задач с заранее известным размером.
+     */
+    private record Bits(BitSet bits, int size) implements OrdinalSet {
+
+        @Override
+        public boolean contains(int ord) {
+            return bits.get(ord);
+        }
+
+        @Override
+        public int previous(int ord) {
+            return ord < 0 ? -1 : bits.previousSetBit(ord);
+        }
+    }
+
+    /**
+     * Задачи, в названии которых есть слово с префиксом. Проверка отдельного номера сверяет название задачи,
+     * а перебор объединяет массивы номеров всех подходящих слов в битовое множество при первом обращении.
+     */
+    private final class PrefixSet implements OrdinalSet {
+
+        private final String prefix;
+        private final Collection<Postings> postings;
+        private final int size;
+        private BitSet union;
+
+        PrefixSet(String prefix, Collection<Postings> postings) {
+            this.prefix = prefix;
+            this.postings = postings;
+            this.size = postings.stream().mapToInt(Postings::size).sum();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(int ord) {
+            for (var token : tokenize(titles[ord])) {
+                if (token.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int previous(int ord) {
+            if (union == null) {
+                union = new BitSet(next);
+                for (var list : postings) {
+                    for (int i = 0; i < list.size; i++) {
+                        union.set(list.ords[i]);
+                    }
+                }
+            }
+            return ord < 0 ? -1 : union.previousSetBit(ord);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.greemlab.managertask.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import ru.greemlab.managertask.domain.model.User;
+import ru.greemlab.managertask.repository.UserRepository;
+
+/**
+ * Сервис версий токенов пользователей.
+ * <p>
+ * Версия хранится в строке пользователя ({@code users.token_version}) и читается через {@link UserCache},
+ * поэтому переживает перезапуск и одинакова на всех экземплярах сервиса. Версия записывается в JWT при выдаче,
+ * а при смене роли увеличивается, и ранее выданные токены перестают приниматься. На других экземплярах
+ * отзыв вступает в силу, когда истекает закэшированная запись пользователя ({@code app.users.cache.ttl-seconds}).
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenVersionService {
+
+    private final UserRepository repository;
+    private final UserCache userCache;
+
+    /**
+     * Возвращает текущую версию токенов пользователя.
+     *
+     * @param userId ID пользователя.
+     * @return Текущая версия, 0 если токены пользователя ни разу не отзывались.
+     * @throws UsernameNotFoundException если пользователь не найден.
+     */
+    public long currentVersion(Long userId) {
+        return userCache.getById(userId, id -> repository.findById(id)
+                .orElseThrow(() -> new UsernameNotFoundException("Пользователя не существует"))).getTokenVersion();
+    }
+
+    /**
+     * Проверяет, что токен выдан не раньше последнего отзыва токенов пользователя.
+     * Токены удаленного пользователя не принимаются.
+     *
+     * @param userId       ID пользователя.
+     * @param tokenVersion Версия, записанная в токене.
+     * @return true, если токен не был отозван.
+     */
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        try {
+            return tokenVersion >= currentVersion(userId);
+        } catch (UsernameNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Отзывает все ранее выданные токены пользователя.
+     * Новая версия сохраняется вместе с пользователем.
+     *
+     * @param user Пользователь, который будет сохранен.
+     * @return Новая версия токенов пользователя.
+     */
+    public long revoke(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        return user.getTokenVersion();
+    }
+}
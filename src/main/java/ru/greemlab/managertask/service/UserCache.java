@@ -0,0 +1,142 @@
+package ru.greemlab.managertask.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.greemlab.managertask.domain.model.User;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Локальный кэш пользователей для {@link UserService}.
+ * <p>
+ * Хранит отсоединенные копии пользователей в одном кэше по ID, а email и имя пользователя
+ * отображаются на ID. Поэтому у пользователя одна закэшированная копия, и после изменения
+ * ее видят все способы поиска. Ссылка по email или имени проверяется по самой копии: если
+ * копии нет или у нее уже другой email, пользователь загружается заново. Записи вытесняются
+ * по размеру и по времени жизни. Наружу всегда отдается копия, чтобы изменения объекта
+ * вызывающим кодом не попадали в кэш.
+ */
+@Service
+public class UserCache {
+
+    public static final String METRIC_NAME = "users";
+
+    private final Cache<Long, User> users;
+    private final Cache<String, Long> emailIds;
+    private final Cache<String, Long> usernameIds;
+
+    public UserCache(@Value("${app.users.cache.max-size:10000}") long maxSize,
+                     @Value("${app.users.cache.ttl-seconds:300}") long ttlSeconds,
+                     MeterRegistry meterRegistry) {
+        this.users = newCache(maxSize, ttlSeconds);
+        this.emailIds = newCache(maxSize, ttlSeconds);
+        this.usernameIds = newCache(maxSize, ttlSeconds);
+        CaffeineCacheMetrics.monitor(meterRegistry, users, METRIC_NAME, "lookup", "id");
+        CaffeineCacheMetrics.monitor(meterRegistry, emailIds, METRIC_NAME, "lookup", "email");
+        CaffeineCacheMetrics.monitor(meterRegistry, usernameIds, METRIC_NAME, "lookup", "username");
+    }
+
+    /**
+     * Возвращает пользователя по ID, загружая его при промахе.
+     *
+     * @param userId ID пользователя.
+     * @param loader Загрузка пользователя из базы данных.
+     * @return Копия пользователя.
+     */
+    public User getById(Long userId, Function<Long, User> loader) {
+        return users.get(userId, key -> {
+            var snapshot = loader.apply(key).copy();
+            emailIds.put(snapshot.getEmail(), snapshot.getId());
+            usernameIds.put(snapshot.getLogin(), snapshot.getId());
+            return snapshot;
+        }).copy();
+    }
+
+    /**
+     * Возвращает пользователя по email, загружая его при промахе.
+     *
+     * @param email  Email пользователя.
+     * @param loader Загрузка пользователя из базы данных.
+     * @return Копия пользователя.
+     */
+    public User getByEmail(String email, Function<String, User> loader) {
+        return getByKey(emailIds, email, User::getEmail, loader);
+    }
+
+    /**
+     * Возвращает пользователя по имени пользователя, загружая его при промахе.
+     *
+     * @param username Имя пользователя.
+     * @param loader   Загрузка пользователя из базы данных.
+     * @return Копия пользователя.
+     */
+    public User getByUsername(String username, Function<String, User> loader) {
+        return getByKey(usernameIds, username, User::getLogin, loader);
+    }
+
+    /**
+     * Заменяет закэшированные данные пользователя актуальными.
+     *
+     * @param user Сохраненный пользователь.
+     */
+    public void refresh(User user) {
+        evict(user.getId());
+        put(user.copy());
+    }
+
+    /**
+     * Удаляет пользователя и ссылки на него по email и имени пользователя.
+     *
+     * @param userId ID пользователя.
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        var cached = users.asMap().remove(userId);
+        if (cached != null) {
+            emailIds.invalidate(cached.getEmail());
+            usernameIds.invalidate(cached.getLogin());
+        }
+    }
+
+    /**
+     * Очищает кэш.
+     */
+    public void invalidateAll() {
+        users.invalidateAll();
+        emailIds.invalidateAll();
+        usernameIds.invalidateAll();
+    }
+
+    private User getByKey(Cache<String, Long> ids, String key, Function<User, String> keyOf,
+                          Function<String, User> loader) {
+        var userId = ids.getIfPresent(key);
+        var cached = userId == null ? null : users.getIfPresent(userId);
+        if (cached == null || !key.equals(keyOf.apply(cached))) {
+            cached = loader.apply(key).copy();
+            evict(cached.getId());
+            put(cached);
+        }
+        return cached.copy();
+    }
+
+    private void put(User snapshot) {
+        users.put(snapshot.getId(), snapshot);
+        emailIds.put(snapshot.getEmail(), snapshot.getId());
+        usernameIds.put(snapshot.getLogin(), snapshot.getId());
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+}
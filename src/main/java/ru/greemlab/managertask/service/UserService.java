@@ -8,17 +8,25 @@ import ru.greemlab.managertask.domain.model.Role;
 import ru.greemlab.managertask.repository.UserRepository;
 import ru.greemlab.managertask.domain.model.User;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Сервис для работы с пользователями.
  * <p>
  * Этот сервис предоставляет методы для создания, получения и обновления данных пользователя.
  * Он также использует репозиторий для взаимодействия с базой данных.
+ * Чтения идут через {@link UserCache}, а все записи обновляют закэшированные данные.
  */
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository repository;
+    private final TokenVersionService tokenVersionService;
+    private final UserCache userCache;
 
     /**
      * Сохранение пользователя в базе данных.
@@ -27,7 +35,9 @@ public class UserService {
      * @return Сохраненный пользователь.
      */
     public User save(User user) {
-        return repository.save(user);
+        var saved = repository.save(user);
+        userCache.refresh(saved);
+        return saved;
     }
 
     /**
@@ -38,8 +48,33 @@ public class UserService {
      * @throws UsernameNotFoundException если пользователь не найден.
      */
     public User getById(Long userId) {
-        return repository.findById(userId)
-                .orElseThrow(() -> new UsernameNotFoundException("Пользователя не существует"));
+        return userCache.getById(userId, id -> repository.findById(id)
+                .orElseThrow(() -> new UsernameNotFoundException("Пользователя не существует")));
+    }
+
+    /**
+     * Проверка существования пользователя запросом по первичному ключу без загрузки пользователя.
+     *
+     * @param userId ID пользователя.
+     * @return true, если пользователь существует.
+     */
+    public boolean exists(Long userId) {
+        return repository.existsById(userId);
+    }
+
+    /**
+     * Получение пользователей по списку ID одним запросом.
+     * Отсутствующие пользователи в результат не попадают.
+     *
+     * @param userIds ID пользователей.
+     * @return Пользователи по ID.
+     */
+    public Map<Long, User> getAllById(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return repository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
     }
 
     /**
@@ -67,8 +102,8 @@ public class UserService {
      * @throws UsernameNotFoundException если пользователь с таким email не найден.
      */
     public User getByEmail(String email) {
-        return repository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("Пользователь c такой почтой не найден"));
+        return userCache.getByEmail(email, key -> repository.findByEmail(key)
+                .orElseThrow(() -> new UsernameNotFoundException("Пользователь c такой почтой не найден")));
     }
 
     /**
@@ -79,8 +114,8 @@ public class UserService {
      * @throws UsernameNotFoundException если пользователь с таким именем не найден.
      */
     public User getByUsername(String username) {
-        return repository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Пользователь не найден"));
+        return userCache.getByUsername(username, key -> repository.findByUsername(key)
+                .orElseThrow(() -> new UsernameNotFoundException("Пользователь не найден")));
     }
 
     /**
@@ -94,14 +129,18 @@ public class UserService {
 
     /**
      * Обновление роли пользователя.
+     * Ранее выданные пользователю токены отзываются, так как содержат старую роль: новая версия токенов
+     * сохраняется тем же запросом, что и роль.
      *
      * @param username Имя пользователя.
      * @param role Новая роль пользователя.
      * @return Обновленный пользователь.
      */
     public User updateUserRole(String username, Role role) {
-        var user = getByUsername(username);
+        var user = repository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("Пользователь не найден"));
         user.setRole(role);
+        tokenVersionService.revoke(user);
         return save(user);
     }
 }
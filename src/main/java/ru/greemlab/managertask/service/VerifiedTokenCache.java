@@ -0,0 +1,143 @@
+package ru.greemlab.managertask.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.greemlab.managertask.domain.model.VerifiedToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Кэш проверенных JWT токенов.
+ * <p>
+ * Ключом служит SHA-256 дайджест строки токена, поэтому сами токены в памяти не хранятся.
+ * Запись живет до {@code exp} токена и вытесняется раньше при достижении максимального размера.
+ * Кэш только экономит повторную проверку подписи: истекший токен никогда не отдается из кэша,
+ * а проверка отзыва выполняется вызывающим кодом на каждом запросе.
+ */
+@Service
+public class VerifiedTokenCache {
+
+    public static final String METRIC_NAME = "jwt.verified.tokens";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    /**
+     * Часы кэша: наносекунды от начала эпохи, чтобы сравнивать их с {@code exp} токена.
+     */
+    private static final Ticker WALL_CLOCK = () -> epochNanos(Instant.now());
+
+    private final boolean enabled;
+    private final Ticker ticker;
+    private final Cache<String, VerifiedToken> cache;
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${app.jwt.cache.enabled:false}") boolean enabled,
+                              @Value("${app.jwt.cache.max-size:10000}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        this(enabled, maxSize, meterRegistry, WALL_CLOCK);
+    }
+
+    /**
+     * @param ticker Часы кэша, возвращают наносекунды от начала эпохи.
+     */
+    public VerifiedTokenCache(boolean enabled, long maxSize, MeterRegistry meterRegistry, Ticker ticker) {
+        this.enabled = enabled;
+        this.ticker = ticker;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, METRIC_NAME);
+    }
+
+    /**
+     * Возвращает проверенный токен из кэша или проверяет его и кладет в кэш.
+     *
+     * @param jwt      Строка JWT токена.
+     * @param verifier Функция полной проверки токена, выбрасывает исключение для невалидного токена.
+     * @return Проверенный токен.
+     */
+    public VerifiedToken get(String jwt, Function<String, VerifiedToken> verifier) {
+        if (!enabled) {
+            return verifier.apply(jwt);
+        }
+        var key = digest(jwt);
+        var cached = cache.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.ofEpochSecond(0, ticker.read()))) {
+            return cached;
+        }
+        var verified = verifier.apply(jwt);
+        if (verified.expiration() != null) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Статистика попаданий и промахов кэша.
+     *
+     * @return Снимок статистики кэша.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Очищает кэш.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static String digest(String jwt) {
+        var hash = SHA_256.get().digest(jwt.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    private static long epochNanos(Instant instant) {
+        return TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
+    }
+
+    /**
+     * Время жизни записи ограничено сроком действия токена и считается от времени часов кэша.
+     */
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return Math.max(0, epochNanos(value.expiration()) - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
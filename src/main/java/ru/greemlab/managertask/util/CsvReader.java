@@ -0,0 +1,66 @@
+package ru.greemlab.managertask.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Потоковое чтение CSV по RFC 4180.
+ * <p>
+ * Читает по одной записи, поддерживает поля в кавычках с запятыми, удвоенными кавычками
+ * и переводами строк внутри. Разделитель записей - LF или CRLF.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+
+    /**
+     * @param reader Источник, лучше буферизованный: чтение идет по одному символу.
+     */
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Читает следующую запись.
+     *
+     * @return Поля записи или null, если данные закончились.
+     * @throws IOException если не удалось прочитать данные или кавычки не закрыты.
+     */
+    public List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        var quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IOException("Незакрытые кавычки в CSV");
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c < 0) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package ru.greemlab.managertask.util;
+
+/**
+ * Хеш-таблица из long в int на примитивных массивах, без упаковки ключей и значений.
+ * <p>
+ * Открытая адресация с линейным пробированием, заполнение не больше половины. Ключ 0 зарезервирован
+ * под пустую ячейку и не поддерживается, отсутствующее значение возвращается как -1.
+ * Не потокобезопасна.
+ */
+public final class LongIntHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final int MISSING = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    public LongIntHashMap(int expectedSize) {
+        var capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Возвращает значение по ключу.
+     *
+     * @param key Ключ, не 0.
+     * @return Значение или -1, если ключа нет.
+     */
+    public int get(long key) {
+        if (key == EMPTY) {
+            return MISSING;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            var current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == EMPTY) {
+                return MISSING;
+            }
+        }
+    }
+
+    /**
+     * Записывает значение по ключу.
+     *
+     * @param key   Ключ, не 0.
+     * @param value Значение, не меньше 0.
+     */
+    public void put(long key, int value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Ключ 0 не поддерживается");
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Удаляет ключ.
+     *
+     * @param key Ключ.
+     * @return Удаленное значение или -1, если ключа нет.
+     */
+    public int remove(long key) {
+        if (key == EMPTY) {
+            return MISSING;
+        }
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return MISSING;
+            }
+            slot = (slot + 1) & mask;
+        }
+        var removed = values[slot];
+        // Сдвигаем следующие ключи цепочки на освободившееся место, чтобы поиск не обрывался на дыре.
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            var home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return removed;
+    }
+
+    /**
+     * @return Количество ключей.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        var hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize() {
+        var oldKeys = keys;
+        var oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
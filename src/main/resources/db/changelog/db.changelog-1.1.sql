@@ -0,0 +1,10 @@
+--liquibase formatted sql
+
+--changeset greemlab:5
+CREATE INDEX idx_tasks_author_id_id ON tasks (author_id, id);
+
+--changeset greemlab:6
+CREATE INDEX idx_tasks_assignee_id_id ON tasks (assignee_id, id);
+
+--changeset greemlab:7
+CREATE INDEX idx_task_comments_task_id_created_at_id ON task_comments (task_id, created_at, id);
@@ -0,0 +1,23 @@
+--liquibase formatted sql
+
+--changeset greemlab:34
+-- Заполнение счетчиков в greemlab:26 не должно менять updated_at, иначе синхронизация отдаст задачи заново.
+-- Для баз, где greemlab:26 уже выполнен, этот и следующий после него changeset выполняются подряд и ничего не меняют.
+ALTER TABLE tasks DISABLE TRIGGER trg_tasks_touch_updated_at;
+
+--changeset greemlab:26
+ALTER TABLE tasks ADD COLUMN comment_count INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE tasks ADD COLUMN last_comment_at TIMESTAMP NULL;
+UPDATE tasks t
+SET comment_count   = s.comment_count,
+    last_comment_at = s.last_comment_at
+FROM (SELECT task_id, count(*) AS comment_count, max(created_at) AS last_comment_at
+      FROM task_comments
+      GROUP BY task_id) s
+WHERE t.id = s.task_id;
+
+--changeset greemlab:35
+ALTER TABLE tasks ENABLE TRIGGER trg_tasks_touch_updated_at;
+
+--changeset greemlab:27
+CREATE INDEX idx_tasks_last_comment_at_id ON tasks (last_comment_at, id) WHERE last_comment_at IS NOT NULL;
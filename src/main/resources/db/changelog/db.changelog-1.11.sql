@@ -0,0 +1,52 @@
+--liquibase formatted sql
+
+--changeset greemlab:28 splitStatements:false
+CREATE FUNCTION task_comments_create_partitions(from_date DATE, to_date DATE) RETURNS INTEGER AS
+$$
+DECLARE
+    partition_month DATE := date_trunc('month', from_date);
+    partition_name  TEXT;
+    created         INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('task_comments_create_partitions'));
+    WHILE partition_month <= to_date LOOP
+        partition_name := 'task_comments_p' || to_char(partition_month, 'YYYYMM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF task_comments FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, partition_month, partition_month + INTERVAL '1 month');
+            created := created + 1;
+        END IF;
+        partition_month := partition_month + INTERVAL '1 month';
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset greemlab:29
+ALTER SEQUENCE task_comments_id_seq OWNED BY NONE;
+ALTER TABLE task_comments RENAME TO task_comments_heap;
+CREATE TABLE task_comments
+(
+    id            BIGINT    DEFAULT nextval('task_comments_id_seq') NOT NULL,
+    task_id       BIGINT                                            NOT NULL,
+    user_id       BIGINT                                            NOT NULL,
+    comment       TEXT                                              NOT NULL,
+    created_at    TIMESTAMP DEFAULT CURRENT_TIMESTAMP               NOT NULL,
+    search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('russian', coalesce(comment, '')), 'C')) STORED,
+    CONSTRAINT fk_task FOREIGN KEY (task_id) REFERENCES tasks (id) ON DELETE CASCADE,
+    CONSTRAINT fk_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) PARTITION BY RANGE (created_at);
+SELECT task_comments_create_partitions(
+               coalesce((SELECT min(created_at) FROM task_comments_heap), CURRENT_TIMESTAMP)::DATE,
+               greatest((SELECT max(created_at) FROM task_comments_heap),
+                        CURRENT_TIMESTAMP + INTERVAL '3 months')::DATE);
+INSERT INTO task_comments (id, task_id, user_id, comment, created_at)
+SELECT id, task_id, user_id, comment, created_at
+FROM task_comments_heap;
+DROP TABLE task_comments_heap;
+ALTER TABLE task_comments ADD PRIMARY KEY (id, created_at);
+CREATE INDEX idx_task_comments_task_id_created_at_id ON task_comments (task_id, created_at, id);
+CREATE INDEX idx_task_comments_user_id ON task_comments (user_id);
+CREATE INDEX idx_task_comments_search_vector ON task_comments USING GIN (search_vector);
+ALTER SEQUENCE task_comments_id_seq OWNED BY task_comments.id;
@@ -0,0 +1,4 @@
+--liquibase formatted sql
+
+--changeset greemlab:30
+CREATE INDEX idx_task_tombstones_deleted_at ON task_tombstones (deleted_at);
@@ -0,0 +1,4 @@
+--liquibase formatted sql
+
+--changeset greemlab:31
+ALTER TABLE users ADD COLUMN token_version BIGINT DEFAULT 0 NOT NULL;
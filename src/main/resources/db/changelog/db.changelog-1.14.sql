@@ -0,0 +1,4 @@
+--liquibase formatted sql
+
+--changeset greemlab:32
+CREATE INDEX idx_tasks_title_simple ON tasks USING GIN (to_tsvector('simple', translate(title, 'Ёё', 'Ее')));
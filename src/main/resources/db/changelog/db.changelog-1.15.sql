@@ -0,0 +1,48 @@
+--liquibase formatted sql
+
+--changeset greemlab:33 splitStatements:false
+CREATE OR REPLACE FUNCTION tasks_count_changes() RETURNS trigger AS
+$$
+DECLARE
+    moved   TEXT;
+    changes TEXT;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        moved := 'SELECT assignee_id, status, priority, 1 AS delta FROM new_tasks';
+    ELSIF TG_OP = 'DELETE' THEN
+        moved := 'SELECT assignee_id, status, priority, -1 AS delta FROM old_tasks';
+    ELSE
+        moved := 'SELECT assignee_id, status, priority, 1 AS delta FROM new_tasks
+                  UNION ALL
+                  SELECT assignee_id, status, priority, -1 AS delta FROM old_tasks';
+    END IF;
+    changes := format('SELECT assignee_id, status, priority, sum(delta) AS delta
+                       FROM (%s) moved
+                       WHERE assignee_id IS NOT NULL
+                       GROUP BY assignee_id, status, priority
+                       HAVING sum(delta) <> 0', moved);
+    EXECUTE format('SELECT 1
+                    FROM task_counters c
+                    JOIN (%s) ch USING (assignee_id, status, priority)
+                    ORDER BY c.assignee_id, c.status, c.priority
+                    FOR UPDATE OF c', changes);
+    EXECUTE format('UPDATE task_counters c
+                    SET task_count = c.task_count + ch.delta
+                    FROM (%s) ch
+                    WHERE c.assignee_id = ch.assignee_id AND c.status = ch.status AND c.priority = ch.priority',
+                   changes);
+    EXECUTE format('INSERT INTO task_counters (assignee_id, status, priority, task_count)
+                    SELECT ch.assignee_id, ch.status, ch.priority, ch.delta
+                    FROM (%s) ch
+                    WHERE ch.delta > 0
+                      AND NOT EXISTS (SELECT 1
+                                      FROM task_counters c
+                                      WHERE c.assignee_id = ch.assignee_id
+                                        AND c.status = ch.status
+                                        AND c.priority = ch.priority)
+                    ORDER BY ch.assignee_id, ch.status, ch.priority
+                    ON CONFLICT (assignee_id, status, priority)
+                        DO UPDATE SET task_count = task_counters.task_count + EXCLUDED.task_count', changes);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
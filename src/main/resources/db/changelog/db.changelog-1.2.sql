@@ -0,0 +1,4 @@
+--liquibase formatted sql
+
+--changeset greemlab:8
+CREATE INDEX idx_task_comments_user_id ON task_comments (user_id);
@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset greemlab:9
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
+ALTER SEQUENCE task_comments_id_seq INCREMENT BY 50;
@@ -0,0 +1,4 @@
+--liquibase formatted sql
+
+--changeset greemlab:10
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
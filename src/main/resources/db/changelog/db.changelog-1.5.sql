@@ -0,0 +1,54 @@
+--liquibase formatted sql
+
+--changeset greemlab:11
+ALTER TABLE tasks ADD COLUMN created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+ALTER TABLE tasks ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+--changeset greemlab:12
+CREATE INDEX idx_tasks_assignee_id_updated_at_id ON tasks (assignee_id, updated_at, id);
+
+--changeset greemlab:13
+CREATE TABLE task_tombstones
+(
+    id          BIGSERIAL PRIMARY KEY,
+    task_id     BIGINT                              NOT NULL,
+    assignee_id BIGINT                              NULL,
+    deleted_at  TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_task_tombstones_assignee_id_deleted_at ON task_tombstones (assignee_id, deleted_at);
+
+--changeset greemlab:14 splitStatements:false
+CREATE FUNCTION tasks_touch_updated_at() RETURNS trigger AS
+$$
+BEGIN
+    NEW.updated_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset greemlab:15
+CREATE TRIGGER trg_tasks_touch_updated_at
+    BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW
+EXECUTE FUNCTION tasks_touch_updated_at();
+
+--changeset greemlab:16 splitStatements:false
+CREATE FUNCTION tasks_write_tombstone() RETURNS trigger AS
+$$
+BEGIN
+    INSERT INTO task_tombstones (task_id, assignee_id, deleted_at)
+    VALUES (OLD.id, OLD.assignee_id, clock_timestamp());
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset greemlab:17
+CREATE TRIGGER trg_tasks_tombstone_on_delete
+    AFTER DELETE ON tasks
+    FOR EACH ROW
+EXECUTE FUNCTION tasks_write_tombstone();
+CREATE TRIGGER trg_tasks_tombstone_on_reassign
+    AFTER UPDATE OF assignee_id ON tasks
+    FOR EACH ROW
+    WHEN (OLD.assignee_id IS DISTINCT FROM NEW.assignee_id)
+EXECUTE FUNCTION tasks_write_tombstone();
@@ -0,0 +1,5 @@
+--liquibase formatted sql
+
+--changeset greemlab:18
+ALTER TABLE tasks ADD COLUMN external_ref VARCHAR(255) NULL;
+CREATE UNIQUE INDEX idx_tasks_external_ref ON tasks (external_ref) WHERE external_ref IS NOT NULL;
@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset greemlab:19
+ALTER TABLE tasks ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('russian', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('russian', coalesce(description, '')), 'B')) STORED;
+CREATE INDEX idx_tasks_search_vector ON tasks USING GIN (search_vector);
+
+--changeset greemlab:20
+ALTER TABLE task_comments ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('russian', coalesce(comment, '')), 'C')) STORED;
+CREATE INDEX idx_task_comments_search_vector ON task_comments USING GIN (search_vector);
@@ -0,0 +1,10 @@
+--liquibase formatted sql
+
+--changeset greemlab:21
+CREATE INDEX idx_tasks_status_priority_id ON tasks (status, priority, id);
+CREATE INDEX idx_tasks_assignee_id_status_id ON tasks (assignee_id, status, id);
+
+--changeset greemlab:22
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_tasks_title_trgm ON tasks USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX idx_tasks_description_trgm ON tasks USING GIN (lower(description) gin_trgm_ops);
@@ -0,0 +1,80 @@
+--liquibase formatted sql
+
+--changeset greemlab:23
+CREATE TABLE task_counters
+(
+    assignee_id BIGINT      NOT NULL,
+    status      VARCHAR(50) NOT NULL,
+    priority    VARCHAR(50) NOT NULL,
+    task_count  BIGINT      NOT NULL,
+    PRIMARY KEY (assignee_id, status, priority),
+    CONSTRAINT fk_task_counters_assignee FOREIGN KEY (assignee_id) REFERENCES users (id) ON DELETE CASCADE
+);
+INSERT INTO task_counters (assignee_id, status, priority, task_count)
+SELECT assignee_id, status, priority, count(*)
+FROM tasks
+WHERE assignee_id IS NOT NULL
+GROUP BY assignee_id, status, priority;
+
+--changeset greemlab:24 splitStatements:false
+CREATE FUNCTION tasks_count_changes() RETURNS trigger AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO task_counters (assignee_id, status, priority, task_count)
+        SELECT assignee_id, status, priority, count(*)
+        FROM new_tasks
+        WHERE assignee_id IS NOT NULL
+        GROUP BY assignee_id, status, priority
+        ORDER BY assignee_id, status, priority
+        ON CONFLICT (assignee_id, status, priority)
+            DO UPDATE SET task_count = task_counters.task_count + EXCLUDED.task_count;
+    ELSIF TG_OP = 'DELETE' THEN
+        UPDATE task_counters c
+        SET task_count = c.task_count - d.task_count
+        FROM (SELECT assignee_id, status, priority, count(*) AS task_count
+              FROM old_tasks
+              WHERE assignee_id IS NOT NULL
+              GROUP BY assignee_id, status, priority) d
+        WHERE c.assignee_id = d.assignee_id AND c.status = d.status AND c.priority = d.priority;
+    ELSE
+        WITH changes AS (SELECT assignee_id, status, priority, sum(delta) AS delta
+                         FROM (SELECT assignee_id, status, priority, 1 AS delta FROM new_tasks
+                               UNION ALL
+                               SELECT assignee_id, status, priority, -1 AS delta FROM old_tasks) moved
+                         WHERE assignee_id IS NOT NULL
+                         GROUP BY assignee_id, status, priority
+                         HAVING sum(delta) <> 0),
+             decremented AS (UPDATE task_counters c
+                 SET task_count = c.task_count + ch.delta
+                 FROM changes ch
+                 WHERE ch.delta < 0
+                   AND c.assignee_id = ch.assignee_id AND c.status = ch.status AND c.priority = ch.priority)
+        INSERT INTO task_counters (assignee_id, status, priority, task_count)
+        SELECT assignee_id, status, priority, delta
+        FROM changes
+        WHERE delta > 0
+        ORDER BY assignee_id, status, priority
+        ON CONFLICT (assignee_id, status, priority)
+            DO UPDATE SET task_count = task_counters.task_count + EXCLUDED.task_count;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset greemlab:25
+CREATE TRIGGER trg_tasks_count_on_insert
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS new_tasks
+    FOR EACH STATEMENT
+EXECUTE FUNCTION tasks_count_changes();
+CREATE TRIGGER trg_tasks_count_on_update
+    AFTER UPDATE ON tasks
+    REFERENCING OLD TABLE AS old_tasks NEW TABLE AS new_tasks
+    FOR EACH STATEMENT
+EXECUTE FUNCTION tasks_count_changes();
+CREATE TRIGGER trg_tasks_count_on_delete
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS old_tasks
+    FOR EACH STATEMENT
+EXECUTE FUNCTION tasks_count_changes();
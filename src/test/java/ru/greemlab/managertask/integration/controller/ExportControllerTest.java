@@ -0,0 +1,81 @@
+package ru.greemlab.managertask.integration.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import ru.greemlab.managertask.domain.dto.CommentRequest;
+import ru.greemlab.managertask.domain.dto.CommentResponse;
+import ru.greemlab.managertask.integration.config.IntegrationTestBase;
+
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportControllerTest extends IntegrationTestBase {
+
+    @Test
+    void testExportTasks_Ndjson() {
+        var response = testRestTemplate.exchange(
+                "/api/v1/admin/export/tasks",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersAdmin()),
+                String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(Objects.requireNonNull(response.getHeaders().getContentType()).toString())
+                .startsWith("application/x-ndjson");
+        var lines = Objects.requireNonNull(response.getBody()).lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"id\":2");
+        assertThat(lines.get(1)).contains("\"id\":3");
+    }
+
+    @Test
+    void testExportTasks_CsvWithFilter() {
+        var response = testRestTemplate.exchange(
+                "/api/v1/admin/export/tasks?format=CSV&authorId={authorId}",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersAdmin()),
+                String.class,
+                2L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentDisposition().getFilename()).isEqualTo("tasks.csv");
+        var lines = Objects.requireNonNull(response.getBody()).lines().toList();
+        assertThat(lines).containsExactly(
+                "id,title,description,status,priority,authorId,assigneeId,version,commentCount,lastCommentAt",
+                "3,Интеграционный тест,Проверка создания задачи,PENDING,LOW,2,2,0,0,");
+    }
+
+    @Test
+    void testExportComments_Csv() {
+        testRestTemplate.postForEntity(
+                "/api/v1/tasks/{taskId}/comments",
+                new HttpEntity<>(new CommentRequest("Текст, с \"кавычками\""), getHeadersUser()),
+                CommentResponse.class,
+                3L);
+
+        var response = testRestTemplate.exchange(
+                "/api/v1/admin/export/comments?format=CSV",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersAdmin()),
+                String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        var lines = Objects.requireNonNull(response.getBody()).lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(1)).endsWith(",\"Текст, с \"\"кавычками\"\"\"");
+    }
+
+    @Test
+    void testExportTasks_ForbiddenForUser() {
+        var response = testRestTemplate.exchange(
+                "/api/v1/admin/export/tasks",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersUser()),
+                String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+}
@@ -0,0 +1,191 @@
+package ru.greemlab.managertask.integration.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.greemlab.managertask.domain.dto.CommentPartition;
+import ru.greemlab.managertask.domain.dto.ImportResponse;
+import ru.greemlab.managertask.domain.dto.PartitionDetachResponse;
+import ru.greemlab.managertask.domain.dto.TaskResponse;
+import ru.greemlab.managertask.integration.config.IntegrationTestBase;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImportControllerTest extends IntegrationTestBase {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final String TASKS_NDJSON = """
+            {"ref":"OLD-1","title":"Импорт","description":"Задача из старого трекера","status":"PENDING","priority":"HIGH","authorEmail":"admin@mail.ru","assigneeEmail":"user@mail.ru"}
+            {"ref":"OLD-2","title":" ","description":"Без названия","status":"PENDING","priority":"LOW","authorEmail":"admin@mail.ru"}
+            {"ref":"OLD-3","title":"Импорт","description":"Неизвестный автор","status":"PENDING","priority":"LOW","authorEmail":"nobody@mail.ru"}
+            """;
+
+    @Test
+    void testImportTasksAndComments() {
+        var headers = getHeadersAdmin();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        var tasks = testRestTemplate.exchange(
+                "/api/v1/admin/import/tasks",
+                HttpMethod.POST,
+                new HttpEntity<>(TASKS_NDJSON, headers),
+                ImportResponse.class);
+
+        assertThat(tasks.getStatusCode()).isEqualTo(HttpStatus.OK);
+        var taskReport = Objects.requireNonNull(tasks.getBody());
+        assertThat(taskReport.processed()).isEqualTo(3);
+        assertThat(taskReport.imported()).isEqualTo(1);
+        assertThat(taskReport.rejected()).isEqualTo(2);
+        assertThat(taskReport.rejections()).extracting("line").containsExactly(2L, 3L);
+
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        var comments = testRestTemplate.exchange(
+                "/api/v1/admin/import/comments?format=CSV",
+                HttpMethod.POST,
+                new HttpEntity<>("""
+                        taskRef,taskId,authorEmail,comment
+                        OLD-1,,user@mail.ru,"Комментарий, перенесенный из ""старого"" трекера"
+                        ,3,admin@mail.ru,Комментарий к существующей задаче
+                        OLD-404,,user@mail.ru,Задачи нет
+                        """, headers),
+                ImportResponse.class);
+
+        assertThat(comments.getStatusCode()).isEqualTo(HttpStatus.OK);
+        var commentReport = Objects.requireNonNull(comments.getBody());
+        assertThat(commentReport.imported()).isEqualTo(2);
+        assertThat(commentReport.rejections()).extracting("line").containsExactly(3L);
+
+        var export = testRestTemplate.exchange(
+                "/api/v1/admin/export/comments?format=CSV",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersAdmin()),
+                String.class);
+        assertThat(Objects.requireNonNull(export.getBody()).lines())
+                .anyMatch(line -> line.endsWith(",\"Комментарий, перенесенный из \"\"старого\"\" трекера\""));
+    }
+
+    @Test
+    void testImportTasks_RowRejectedByDatabaseDoesNotRejectChunk() {
+        var headers = getHeadersAdmin();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        var response = testRestTemplate.exchange(
+                "/api/v1/admin/import/tasks",
+                HttpMethod.POST,
+                new HttpEntity<>("""
+                        {"ref":"COPY-1","title":"Первая","description":"Описание","status":"PENDING","priority":"LOW","authorEmail":"admin@mail.ru"}
+                        {"ref":"COPY-2","title":"%s","description":"Слишком длинное название","status":"PENDING","priority":"LOW","authorEmail":"admin@mail.ru"}
+                        {"ref":"COPY-3","title":"Третья","description":"Описание","status":"PENDING","priority":"LOW","authorEmail":"admin@mail.ru"}
+                        """.formatted("x".repeat(300)), headers),
+                ImportResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        var report = Objects.requireNonNull(response.getBody());
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejections()).extracting("line").containsExactly(2L);
+        assertThat(jdbcTemplate.queryForList(
+                "select external_ref from tasks where external_ref like 'COPY-%' order by external_ref", String.class))
+                .containsExactly("COPY-1", "COPY-3");
+    }
+
+    @Test
+    void testImportComments_OldMonthPartitionCreatedAndDetached() {
+        var headers = getHeadersAdmin();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        var comments = testRestTemplate.exchange(
+                "/api/v1/admin/import/comments",
+                HttpMethod.POST,
+                new HttpEntity<>("""
+                        {"taskId":3,"authorEmail":"user@mail.ru","comment":"Старый комментарий","createdAt":"2024-03-15T10:00:00"}
+                        """, headers),
+                ImportResponse.class);
+        assertThat(Objects.requireNonNull(comments.getBody()).imported()).isEqualTo(1);
+
+        var admin = new HttpEntity<>(getHeadersAdmin());
+        var partitions = testRestTemplate.exchange(
+                "/api/v1/admin/comment-partitions",
+                HttpMethod.GET,
+                admin,
+                new ParameterizedTypeReference<List<CommentPartition>>() {
+                });
+        assertThat(Objects.requireNonNull(partitions.getBody())).extracting(CommentPartition::month)
+                .contains(YearMonth.of(2024, 3), YearMonth.now());
+
+        var current = testRestTemplate.exchange(
+                "/api/v1/admin/comment-partitions/{month}/detach",
+                HttpMethod.POST,
+                admin,
+                String.class,
+                YearMonth.now());
+        assertThat(current.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+        var detached = testRestTemplate.exchange(
+                "/api/v1/admin/comment-partitions/{month}/detach",
+                HttpMethod.POST,
+                admin,
+                PartitionDetachResponse.class,
+                YearMonth.of(2024, 3));
+        assertThat(detached.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(detached.getBody())
+                .isEqualTo(new PartitionDetachResponse("task_comments_archive_202403", 1, 1));
+
+        var task = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}",
+                HttpMethod.GET,
+                admin,
+                TaskResponse.class,
+                3L);
+        assertThat(Objects.requireNonNull(task.getBody()).commentCount()).isZero();
+        assertThat(task.getBody().lastCommentAt()).isNull();
+
+        jdbcTemplate.execute("drop table task_comments_archive_202403");
+    }
+
+    @Test
+    void testDetachCommentPartition_ArchiveNameTaken() {
+        var headers = getHeadersAdmin();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        testRestTemplate.exchange(
+                "/api/v1/admin/import/comments",
+                HttpMethod.POST,
+                new HttpEntity<>("""
+                        {"taskId":2,"authorEmail":"user@mail.ru","comment":"Архивный комментарий","createdAt":"2024-04-10T10:00:00"}
+                        """, headers),
+                ImportResponse.class);
+        jdbcTemplate.execute("create table task_comments_archive_202404 (id bigint)");
+
+        var detached = testRestTemplate.exchange(
+                "/api/v1/admin/comment-partitions/{month}/detach",
+                HttpMethod.POST,
+                new HttpEntity<>(getHeadersAdmin()),
+                PartitionDetachResponse.class,
+                YearMonth.of(2024, 4));
+        assertThat(detached.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(detached.getBody())
+                .isEqualTo(new PartitionDetachResponse("task_comments_archive_202404_2", 1, 1));
+
+        jdbcTemplate.execute("drop table task_comments_archive_202404, task_comments_archive_202404_2");
+    }
+
+    @Test
+    void testImportTasks_ForbiddenForUser() {
+        var headers = getHeadersUser();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        var response = testRestTemplate.exchange(
+                "/api/v1/admin/import/tasks",
+                HttpMethod.POST,
+                new HttpEntity<>(TASKS_NDJSON, headers),
+                String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+}
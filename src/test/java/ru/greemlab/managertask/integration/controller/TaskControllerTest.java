@@ -1,24 +1,40 @@
 package ru.greemlab.managertask.integration.controller;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.greemlab.managertask.domain.dto.BulkTaskFilter;
+import ru.greemlab.managertask.domain.dto.BulkTaskResponse;
+import ru.greemlab.managertask.domain.dto.BulkUpdateResponse;
 import ru.greemlab.managertask.domain.dto.CommentRequest;
 import ru.greemlab.managertask.domain.dto.CommentResponse;
+import ru.greemlab.managertask.domain.dto.CountersRepairResponse;
+import ru.greemlab.managertask.domain.dto.CursorPage;
 import ru.greemlab.managertask.domain.dto.TaskCreateRequest;
+import ru.greemlab.managertask.domain.dto.TaskChangesResponse;
+import ru.greemlab.managertask.domain.dto.TaskCounters;
 import ru.greemlab.managertask.domain.dto.TaskResponse;
+import ru.greemlab.managertask.domain.dto.TaskSuggestion;
 import ru.greemlab.managertask.domain.dto.TaskUpdateRequest;
 import ru.greemlab.managertask.domain.model.TaskPriority;
 import ru.greemlab.managertask.domain.model.TaskStatus;
 import ru.greemlab.managertask.integration.config.IntegrationTestBase;
 
+import java.util.List;
 import java.util.Objects;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 class TaskControllerTest extends IntegrationTestBase {
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void testCreateTask() {
         var taskRequest = new TaskCreateRequest(
@@ -133,6 +149,37 @@ class TaskControllerTest extends IntegrationTestBase {
         assertThat(response.getBody()).isNotNull();
     }
 
+    @Test
+    void testGetTasksByAuthor_UnknownAuthorNotFound() {
+        var response = testRestTemplate.exchange(
+                "/api/v1/tasks/author/{authorId}",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersAdmin()),
+                String.class,
+                404L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void testGetTasksKeyset_UnknownUserNotFound() {
+        var byAuthor = testRestTemplate.exchange(
+                "/api/v1/tasks/author/{authorId}/keyset",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersAdmin()),
+                String.class,
+                404L);
+        var byAssignee = testRestTemplate.exchange(
+                "/api/v1/tasks/assignee/{assigneeId}/keyset",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersAdmin()),
+                String.class,
+                404L);
+
+        assertThat(byAuthor.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(byAssignee.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
     @Test
     void testUpdateTaskStatus() {
         Long taskId = 2L;
@@ -167,6 +214,127 @@ class TaskControllerTest extends IntegrationTestBase {
         assertThat(Objects.requireNonNull(taskResponse).priority()).isEqualTo(TaskPriority.HIGH.toString());
     }
 
+    @Test
+    void testGetTask_ConditionalGet() {
+        Long taskId = 3L;
+        var headers = getHeadersUser();
+
+        var response = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                TaskResponse.class,
+                taskId);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        var task = Objects.requireNonNull(response.getBody());
+        assertThat(task.id()).isEqualTo(taskId);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"" + task.version() + "\"");
+
+        headers.setIfNoneMatch(Objects.requireNonNull(response.getHeaders().getETag()));
+        var notModified = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                String.class,
+                taskId);
+
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getBody()).isNull();
+    }
+
+    @Test
+    void testTaskChanges_IncrementalSync() {
+        Long assigneeId = 2L;
+
+        var initial = testRestTemplate.exchange(
+                "/api/v1/tasks/assignee/{assigneeId}/changes",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersUser()),
+                TaskChangesResponse.class,
+                assigneeId);
+
+        assertThat(initial.getStatusCode()).isEqualTo(HttpStatus.OK);
+        var first = Objects.requireNonNull(initial.getBody());
+        assertThat(first.changed()).extracting(TaskResponse::id).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(first.deleted()).isEmpty();
+
+        testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}/status?status={status}",
+                HttpMethod.PATCH,
+                new HttpEntity<>(getHeadersUser()),
+                TaskResponse.class,
+                3L, TaskStatus.COMPLETED);
+        testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}",
+                HttpMethod.DELETE,
+                new HttpEntity<>(getHeadersAdmin()),
+                Void.class,
+                2L);
+
+        var delta = testRestTemplate.exchange(
+                "/api/v1/tasks/assignee/{assigneeId}/changes?watermark={watermark}",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersUser()),
+                TaskChangesResponse.class,
+                assigneeId, first.watermark());
+
+        assertThat(delta.getStatusCode()).isEqualTo(HttpStatus.OK);
+        var second = Objects.requireNonNull(delta.getBody());
+        assertThat(second.changed()).extracting(TaskResponse::id).containsExactly(3L);
+        assertThat(second.changed().getFirst().status()).isEqualTo(TaskStatus.COMPLETED.name());
+        assertThat(second.deleted()).containsExactly(2L);
+    }
+
+    @Test
+    void testUpdateTaskStatus_IfMatch() {
+        Long taskId = 2L;
+        var headers = getHeadersAdmin();
+
+        var first = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}/priority?priority={priority}",
+                HttpMethod.PATCH,
+                new HttpEntity<>(headers),
+                TaskResponse.class,
+                taskId, TaskPriority.LOW);
+        var etag = first.getHeaders().getETag();
+        assertThat(etag).isEqualTo("\"" + Objects.requireNonNull(first.getBody()).version() + "\"");
+
+        headers.setIfMatch(etag);
+        var updated = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}/status?status={status}",
+                HttpMethod.PATCH,
+                new HttpEntity<>(headers),
+                TaskResponse.class,
+                taskId, TaskStatus.IN_PROGRESS);
+        assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(Objects.requireNonNull(updated.getBody()).version()).isEqualTo(first.getBody().version() + 1);
+
+        var stale = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}/status?status={status}",
+                HttpMethod.PATCH,
+                new HttpEntity<>(headers),
+                String.class,
+                taskId, TaskStatus.COMPLETED);
+        assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void testUpdateTask_StaleIfMatchRejected() {
+        Long taskId = 3L;
+        var headers = getHeadersUser();
+        headers.setIfMatch("\"999\"");
+
+        var response = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}",
+                HttpMethod.PUT,
+                new HttpEntity<>(new TaskUpdateRequest("Устаревшее изменение", null, null, null, null), headers),
+                String.class,
+                taskId);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
     @Test
     void testAssignTask() {
         Long taskId = 2L;
@@ -216,4 +384,382 @@ class TaskControllerTest extends IntegrationTestBase {
         assertThat(commentResponse).isNotNull();
         assertThat(Objects.requireNonNull(commentResponse).comment()).isEqualTo("Комментарий для задачи");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetTasksByAssigneeKeyset() {
+        var type = new ParameterizedTypeReference<CursorPage<TaskResponse>>() {
+        };
+        var headers = getHeadersAdmin();
+
+        var first = testRestTemplate.exchange(
+                "/api/v1/tasks/assignee/{assigneeId}/keyset?size=1",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                type,
+                2L);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        var firstPage = Objects.requireNonNull(first.getBody());
+        assertThat(firstPage.content()).extracting(TaskResponse::id).isEqualTo(List.of(3L));
+        assertThat(firstPage.nextCursor()).isNotNull();
+
+        var second = testRestTemplate.exchange(
+                "/api/v1/tasks/assignee/{assigneeId}/keyset?size=1&cursor={cursor}",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                type,
+                2L, firstPage.nextCursor());
+
+        var secondPage = Objects.requireNonNull(second.getBody());
+        assertThat(secondPage.content()).extracting(TaskResponse::id).isEqualTo(List.of(2L));
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void testGetCommentsKeyset() {
+        Long taskId = 2L;
+        var headers = getHeadersAdmin();
+        for (var text : List.of("Первый", "Второй", "Третий")) {
+            testRestTemplate.postForEntity(
+                    "/api/v1/tasks/{taskId}/comments",
+                    new HttpEntity<>(new CommentRequest(text), headers),
+                    CommentResponse.class,
+                    taskId);
+        }
+        var type = new ParameterizedTypeReference<CursorPage<CommentResponse>>() {
+        };
+
+        var first = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}/comments/keyset?size=2",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                type,
+                taskId);
+        var firstPage = Objects.requireNonNull(first.getBody());
+        var second = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}/comments/keyset?size=2&cursor={cursor}",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                type,
+                taskId, firstPage.nextCursor());
+        var secondPage = Objects.requireNonNull(second.getBody());
+
+        assertThat(firstPage.content()).extracting(CommentResponse::comment).isEqualTo(List.of("Первый", "Второй"));
+        assertThat(secondPage.content()).extracting(CommentResponse::comment).isEqualTo(List.of("Третий"));
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void testCommentCount_MaintainedAndSortedByActivity() {
+        Long taskId = 2L;
+        var admin = getHeadersAdmin();
+        var comments = List.of("Первый", "Второй").stream()
+                .map(text -> testRestTemplate.postForEntity(
+                        "/api/v1/tasks/{taskId}/comments",
+                        new HttpEntity<>(new CommentRequest(text), admin),
+                        CommentResponse.class,
+                        taskId).getBody())
+                .map(Objects::requireNonNull)
+                .toList();
+
+        var task = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}",
+                HttpMethod.GET,
+                new HttpEntity<>(admin),
+                TaskResponse.class,
+                taskId).getBody();
+        assertThat(Objects.requireNonNull(task).commentCount()).isEqualTo(2);
+        assertThat(task.lastCommentAt()).isEqualTo(comments.getLast().createdAt());
+
+        var byActivity = testRestTemplate.exchange(
+                "/api/v1/tasks?sort=ACTIVITY",
+                HttpMethod.GET,
+                new HttpEntity<>(admin),
+                new ParameterizedTypeReference<CursorPage<TaskResponse>>() {
+                });
+        assertThat(Objects.requireNonNull(byActivity.getBody()).content())
+                .extracting(TaskResponse::id).isEqualTo(List.of(taskId));
+
+        var forbidden = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}/comments/{commentId}",
+                HttpMethod.DELETE,
+                new HttpEntity<>(getHeadersUser()),
+                Void.class,
+                taskId, comments.getFirst().id());
+        assertThat(forbidden.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+
+        var deleted = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}/comments/{commentId}",
+                HttpMethod.DELETE,
+                new HttpEntity<>(admin),
+                Void.class,
+                taskId, comments.getLast().id());
+        assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        var afterDelete = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}",
+                HttpMethod.GET,
+                new HttpEntity<>(admin),
+                TaskResponse.class,
+                taskId).getBody();
+        assertThat(Objects.requireNonNull(afterDelete).commentCount()).isEqualTo(1);
+        assertThat(afterDelete.lastCommentAt()).isEqualTo(comments.getFirst().createdAt());
+    }
+
+    @Test
+    void testSearchTasks_RankedKeysetAndVisibility() {
+        var type = new ParameterizedTypeReference<CursorPage<TaskResponse>>() {
+        };
+        var admin = getHeadersAdmin();
+        testRestTemplate.postForEntity(
+                "/api/v1/tasks/{taskId}/comments",
+                new HttpEntity<>(new CommentRequest("Нужно проверить миграцию базы"), admin),
+                CommentResponse.class,
+                2L);
+        testRestTemplate.postForEntity(
+                "/api/v1/tasks",
+                new HttpEntity<>(new TaskCreateRequest("Миграция схемы", "Скрытая задача администратора",
+                        TaskStatus.PENDING, TaskPriority.LOW, null), admin),
+                TaskResponse.class);
+
+        var byAdmin = testRestTemplate.exchange(
+                "/api/v1/tasks/search?q={q}",
+                HttpMethod.GET,
+                new HttpEntity<>(admin),
+                type,
+                "миграции");
+        assertThat(byAdmin.getStatusCode()).isEqualTo(HttpStatus.OK);
+        var adminHits = Objects.requireNonNull(byAdmin.getBody()).content();
+        assertThat(adminHits).hasSize(2);
+        assertThat(adminHits.getFirst().title()).isEqualTo("Миграция схемы");
+        assertThat(adminHits.get(1).id()).isEqualTo(2L);
+
+        var byUser = testRestTemplate.exchange(
+                "/api/v1/tasks/search?q={q}",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersUser()),
+                type,
+                "миграции");
+        assertThat(Objects.requireNonNull(byUser.getBody()).content()).extracting(TaskResponse::id)
+                .isEqualTo(List.of(2L));
+
+        var first = testRestTemplate.exchange(
+                "/api/v1/tasks/search?q={q}&size=1",
+                HttpMethod.GET,
+                new HttpEntity<>(admin),
+                type,
+                "интеграционный тест");
+        var firstPage = Objects.requireNonNull(first.getBody());
+        var second = testRestTemplate.exchange(
+                "/api/v1/tasks/search?q={q}&size=1&cursor={cursor}",
+                HttpMethod.GET,
+                new HttpEntity<>(admin),
+                type,
+                "интеграционный тест", firstPage.nextCursor());
+        var secondPage = Objects.requireNonNull(second.getBody());
+
+        assertThat(firstPage.content()).extracting(TaskResponse::id).isEqualTo(List.of(3L));
+        assertThat(secondPage.content()).extracting(TaskResponse::id).isEqualTo(List.of(2L));
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void testSuggestTasks_PrefixWithFilters() {
+        var type = new ParameterizedTypeReference<List<TaskSuggestion>>() {
+        };
+
+        var response = testRestTemplate.exchange(
+                "/api/v1/tasks/suggest?q={q}",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersUser()),
+                type,
+                "интегр");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(Objects.requireNonNull(response.getBody())).extracting(TaskSuggestion::id)
+                .isEqualTo(List.of(3L, 2L));
+
+        var filtered = testRestTemplate.exchange(
+                "/api/v1/tasks/suggest?q={q}&status={status}",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersUser()),
+                type,
+                "интегр", TaskStatus.COMPLETED);
+        assertThat(Objects.requireNonNull(filtered.getBody())).isEmpty();
+
+        var otherWordForm = testRestTemplate.exchange(
+                "/api/v1/tasks/suggest?q={q}",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersUser()),
+                type,
+                "тесты ");
+        assertThat(Objects.requireNonNull(otherWordForm.getBody())).isEmpty();
+    }
+
+    @Test
+    void testGetTasks_FilterKeysetAndVisibility() {
+        var type = new ParameterizedTypeReference<CursorPage<TaskResponse>>() {
+        };
+        var admin = getHeadersAdmin();
+        var report = testRestTemplate.postForEntity(
+                "/api/v1/tasks",
+                new HttpEntity<>(new TaskCreateRequest("Квартальный отчет", "Отчет 100% готов",
+                        TaskStatus.IN_PROGRESS, TaskPriority.HIGH, 2L), admin),
+                TaskResponse.class).getBody();
+        testRestTemplate.postForEntity(
+                "/api/v1/tasks",
+                new HttpEntity<>(new TaskCreateRequest("Годовой отчет", "Скрытая задача администратора",
+                        TaskStatus.IN_PROGRESS, TaskPriority.HIGH, null), admin),
+                TaskResponse.class);
+
+        var byStatusAndPriority = testRestTemplate.exchange(
+                "/api/v1/tasks?status=PENDING&status=IN_PROGRESS&priority=HIGH",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersUser()),
+                type);
+        assertThat(byStatusAndPriority.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(Objects.requireNonNull(byStatusAndPriority.getBody()).content()).extracting(TaskResponse::id)
+                .isEqualTo(List.of(Objects.requireNonNull(report).id()));
+
+        var byText = testRestTemplate.exchange(
+                "/api/v1/tasks?q={q}",
+                HttpMethod.GET,
+                new HttpEntity<>(admin),
+                type,
+                "ОТЧЕТ 100%");
+        assertThat(Objects.requireNonNull(byText.getBody()).content()).extracting(TaskResponse::id)
+                .isEqualTo(List.of(report.id()));
+
+        var first = testRestTemplate.exchange(
+                "/api/v1/tasks?assigneeId=2&status=PENDING&size=1",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersUser()),
+                type);
+        var firstPage = Objects.requireNonNull(first.getBody());
+        assertThat(firstPage.content()).extracting(TaskResponse::id).isEqualTo(List.of(3L));
+        var second = testRestTemplate.exchange(
+                "/api/v1/tasks?assigneeId=2&status=PENDING&size=1&cursor={cursor}",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersUser()),
+                type,
+                firstPage.nextCursor());
+        var secondPage = Objects.requireNonNull(second.getBody());
+        assertThat(secondPage.content()).extracting(TaskResponse::id).isEqualTo(List.of(2L));
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void testGetTaskCounters_MaintainedAndReconciled() {
+        var type = new ParameterizedTypeReference<List<TaskCounters>>() {
+        };
+        var admin = getHeadersAdmin();
+        testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}/status?status={status}",
+                HttpMethod.PATCH,
+                new HttpEntity<>(admin),
+                TaskResponse.class,
+                2L, TaskStatus.COMPLETED);
+        testRestTemplate.postForEntity(
+                "/api/v1/tasks",
+                new HttpEntity<>(new TaskCreateRequest("Счетчики", "Задача второго пользователя",
+                        TaskStatus.IN_PROGRESS, TaskPriority.HIGH, 3L), admin),
+                TaskResponse.class);
+
+        var byUser = testRestTemplate.exchange(
+                "/api/v1/tasks/counters",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersUser()),
+                type);
+        assertThat(byUser.getStatusCode()).isEqualTo(HttpStatus.OK);
+        var counters = Objects.requireNonNull(byUser.getBody());
+        assertThat(counters).hasSize(1);
+        assertThat(counters.getFirst().assigneeId()).isEqualTo(2L);
+        assertThat(counters.getFirst().total()).isEqualTo(2L);
+        assertThat(counters.getFirst().byStatus())
+                .containsEntry(TaskStatus.PENDING, 1L)
+                .containsEntry(TaskStatus.COMPLETED, 1L)
+                .containsEntry(TaskStatus.IN_PROGRESS, 0L);
+        assertThat(counters.getFirst().byPriority()).containsEntry(TaskPriority.LOW, 2L);
+
+        jdbcTemplate.update("update task_counters set task_count = 42 where assignee_id = 3");
+        var repair = testRestTemplate.postForEntity(
+                "/api/v1/admin/task-counters/reconcile",
+                new HttpEntity<>(admin),
+                CountersRepairResponse.class);
+        assertThat(Objects.requireNonNull(repair.getBody()).repaired()).isEqualTo(1L);
+
+        var byAdmin = testRestTemplate.exchange(
+                "/api/v1/tasks/counters",
+                HttpMethod.GET,
+                new HttpEntity<>(admin),
+                type);
+        assertThat(Objects.requireNonNull(byAdmin.getBody())).extracting(TaskCounters::assigneeId, TaskCounters::total)
+                .containsExactly(tuple(2L, 2L), tuple(3L, 1L));
+    }
+
+    @Test
+    void testGetTasksByAuthorKeyset_InvalidCursor() {
+        var response = testRestTemplate.exchange(
+                "/api/v1/tasks/author/{authorId}/keyset?cursor={cursor}",
+                HttpMethod.GET,
+                new HttpEntity<>(getHeadersAdmin()),
+                String.class,
+                1L, "not a cursor");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testCreateTasksBulk() {
+        var requests = List.of(
+                new TaskCreateRequest("Первая", "Пакетное создание", TaskStatus.PENDING, TaskPriority.LOW, 2L),
+                new TaskCreateRequest("", "Без названия", TaskStatus.PENDING, TaskPriority.LOW, 2L),
+                new TaskCreateRequest("Третья", "Пакетное создание", TaskStatus.PENDING, TaskPriority.HIGH, 3L));
+
+        var response = testRestTemplate.postForEntity(
+                "/api/v1/tasks/bulk",
+                new HttpEntity<>(requests, getHeadersAdmin()),
+                BulkTaskResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        var body = Objects.requireNonNull(response.getBody());
+        assertThat(body.created()).isEqualTo(2);
+        assertThat(body.failed()).isEqualTo(1);
+        assertThat(body.results().get(0).task().assigneeId()).isEqualTo(2L);
+        assertThat(body.results().get(1).error()).isNotBlank();
+        assertThat(body.results().get(2).task().assigneeId()).isEqualTo(3L);
+    }
+
+    @Test
+    void testBulkUpdateStatus_UserLimitedToOwnTasks() {
+        var reassigned = testRestTemplate.exchange(
+                "/api/v1/tasks/bulk/assignee/{userId}",
+                HttpMethod.PATCH,
+                new HttpEntity<>(new BulkTaskFilter(List.of(2L), null, null, null), getHeadersAdmin()),
+                BulkUpdateResponse.class,
+                3L);
+        assertThat(Objects.requireNonNull(reassigned.getBody()).updated()).isEqualTo(1);
+
+        var response = testRestTemplate.exchange(
+                "/api/v1/tasks/bulk/status?status={status}",
+                HttpMethod.PATCH,
+                new HttpEntity<>(new BulkTaskFilter(List.of(2L, 3L), null, null, null), getHeadersUser()),
+                BulkUpdateResponse.class,
+                TaskStatus.COMPLETED);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(Objects.requireNonNull(response.getBody()).updated()).isEqualTo(1);
+    }
+
+    @Test
+    void testBulkUpdatePriority_EmptyFilterRejected() {
+        var response = testRestTemplate.exchange(
+                "/api/v1/tasks/bulk/priority?priority={priority}",
+                HttpMethod.PATCH,
+                new HttpEntity<>(new BulkTaskFilter(null, null, null, null), getHeadersAdmin()),
+                String.class,
+                TaskPriority.HIGH);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,160 @@
+package ru.greemlab.managertask.integration.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import ru.greemlab.managertask.domain.dto.CommentRequest;
+import ru.greemlab.managertask.domain.dto.CommentResponse;
+import ru.greemlab.managertask.domain.dto.TaskResponse;
+import ru.greemlab.managertask.domain.model.Task;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+import ru.greemlab.managertask.domain.model.User;
+import ru.greemlab.managertask.integration.config.IntegrationTestBase;
+import ru.greemlab.managertask.repository.TaskRepository;
+import ru.greemlab.managertask.repository.UserRepository;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет, что проверка прав на задачу и списки задач не добавляют лишних запросов к базе данных.
+ */
+class TaskQueryCountTest extends IntegrationTestBase {
+
+    private static final Long TASK_ID = 3L;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+    private HttpHeaders userHeaders;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userHeaders = getHeadersUser();
+        statistics.clear();
+    }
+
+    @Test
+    void testUpdateStatus_TargetedUpdateWithoutEntityLoad() {
+        var response = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}/status?status={status}",
+                HttpMethod.PATCH,
+                new HttpEntity<>(userHeaders),
+                TaskResponse.class,
+                TASK_ID, TaskStatus.IN_PROGRESS);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().status()).isEqualTo(TaskStatus.IN_PROGRESS.name());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void testGetTask_NotModifiedWithoutEntityLoad() {
+        var version = taskRepository.findVersionById(TASK_ID).orElseThrow();
+        userHeaders.setIfNoneMatch("\"" + version + "\"");
+        statistics.clear();
+
+        var response = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}",
+                HttpMethod.GET,
+                new HttpEntity<>(userHeaders),
+                String.class,
+                TASK_ID);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void testGetComments_SingleJoinPerPage() {
+        for (int i = 0; i < 5; i++) {
+            testRestTemplate.postForEntity(
+                    "/api/v1/tasks/{taskId}/comments",
+                    new HttpEntity<>(new CommentRequest("Комментарий " + i), userHeaders),
+                    CommentResponse.class,
+                    TASK_ID);
+        }
+        statistics.clear();
+
+        var response = testRestTemplate.exchange(
+                "/api/v1/tasks/{taskId}/comments",
+                HttpMethod.GET,
+                new HttpEntity<>(userHeaders),
+                String.class,
+                TASK_ID);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("Комментарий 4");
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void testAddComment_DoesNotReloadTask() {
+        var response = testRestTemplate.postForEntity(
+                "/api/v1/tasks/{taskId}/comments",
+                new HttpEntity<>(new CommentRequest("Комментарий"), userHeaders),
+                CommentResponse.class,
+                TASK_ID);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(statistics.getEntityStatistics(Task.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void testGetTasksByAssignee_ReadsProjectionOnly() {
+        var response = testRestTemplate.exchange(
+                "/api/v1/tasks/assignee/{assigneeId}",
+                HttpMethod.GET,
+                new HttpEntity<>(userHeaders),
+                String.class,
+                2L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Task.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void testSaveAll_InsertsInBatches() {
+        var author = userRepository.findById(1L).orElseThrow();
+        var tasks = IntStream.range(0, 100)
+                .mapToObj(i -> Task.builder()
+                        .title("Задача " + i)
+                        .description("Пакетная вставка")
+                        .status(TaskStatus.PENDING)
+                        .priority(TaskPriority.LOW)
+                        .author(author)
+                        .assignee(author)
+                        .build())
+                .toList();
+        statistics.clear();
+
+        taskRepository.saveAll(tasks);
+
+        assertThat(tasks).allSatisfy(task -> assertThat(task.getId()).isGreaterThan(1000L));
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(100);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+}
@@ -0,0 +1,225 @@
+package ru.greemlab.managertask.integration.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.greemlab.managertask.domain.dto.TaskFilter;
+import ru.greemlab.managertask.domain.model.PageCursor;
+import ru.greemlab.managertask.domain.model.SearchCursor;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskSort;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+import ru.greemlab.managertask.integration.config.IntegrationTestBase;
+import ru.greemlab.managertask.integration.config.SqlCaptureInspector;
+import ru.greemlab.managertask.repository.TaskCommentRepository;
+import ru.greemlab.managertask.repository.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет планы запросов репозиториев на заполненной базе.
+ * <p>
+ * SQL берется у Hibernate, параметры заменяются на {@code $n}, и план строится через
+ * {@code EXPLAIN (GENERIC_PLAN)}, то есть без конкретных значений - так же, как для подготовленного запроса.
+ * Тест падает, если по большим таблицам планируется последовательное чтение. Разделы таблицы считаются
+ * самой таблицей, последовательное чтение пустых разделов не учитывается.
+ */
+class QueryPlanTest extends IntegrationTestBase {
+
+    private static final Set<String> LARGE_TABLES = Set.of("tasks", "task_comments");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCommentRepository commentRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Map<String, String> partitions;
+
+    @DynamicPropertySource
+    static void registerStatementInspector(DynamicPropertyRegistry registry) {
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                SqlCaptureInspector.class::getName);
+    }
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("""
+                insert into users (id, email, username, password, role)
+                select 10 + g, 'plan' || g || '@mail.ru', 'plan' || g, 'password', 'ROLE_USER'
+                from generate_series(1, 2000) g
+                """);
+        jdbcTemplate.execute("""
+                insert into tasks (id, title, description, status, priority, author_id, assignee_id)
+                select 1000 + g, 'Задача ' || g, 'Описание задачи ' || g, 'PENDING', 'LOW',
+                       11 + g % 2000, 11 + (g * 7) % 2000
+                from generate_series(1, 200000) g
+                """);
+        jdbcTemplate.queryForObject(
+                "select task_comments_create_partitions(date '2025-01-01', date '2025-01-01')", Integer.class);
+        jdbcTemplate.execute("""
+                insert into task_comments (task_id, user_id, comment, created_at)
+                select 1001 + g % 20000, 11 + g % 2000, 'Комментарий ' || g,
+                       timestamp '2025-01-01' + g * interval '1 second'
+                from generate_series(1, 200000) g
+                """);
+        jdbcTemplate.execute("analyze users, tasks, task_comments");
+        partitions = new HashMap<>();
+        jdbcTemplate.query("""
+                select c.relname as partition_name, p.relname as table_name
+                from pg_inherits i
+                join pg_class c on c.oid = i.inhrelid
+                join pg_class p on p.oid = i.inhparent
+                where c.relkind = 'r' and c.reltuples > 0
+                """, rs -> {
+            partitions.put(rs.getString("partition_name"), rs.getString("table_name"));
+        });
+    }
+
+    @Test
+    void testTaskQueries_UseIndexes() {
+        var page = PageRequest.of(3, 20);
+        assertIndexed(() -> taskRepository.findResponsesByAuthorId(15L, page));
+        assertIndexed(() -> taskRepository.findResponsesByAssigneeId(15L, page));
+        assertIndexed(() -> taskRepository.findResponsesByAuthorIdBefore(15L, 150_000L, PageRequest.ofSize(21)));
+        assertIndexed(() -> taskRepository.findResponsesByAssigneeIdBefore(15L, 150_000L, PageRequest.ofSize(21)));
+        assertIndexed(() -> taskRepository.findOwnershipById(1500L));
+        assertIndexed(() -> taskRepository.findChangesByAssigneeId(15L, LocalDateTime.of(2025, 1, 1, 12, 0), 100L,
+                LocalDateTime.of(2025, 1, 2, 0, 0), PageRequest.ofSize(101)));
+        assertIndexed(() -> taskRepository.search("описание 15", 15L, SearchCursor.FIRST, 21));
+    }
+
+    @Test
+    void testTaskFilterQueries_UseIndexes() {
+        var pendingHigh = new TaskFilter(List.of(TaskStatus.PENDING), List.of(TaskPriority.HIGH), null, null, null);
+        var assigneeInProgress = new TaskFilter(List.of(TaskStatus.IN_PROGRESS), null, null, 15L, null);
+        var text = new TaskFilter(null, null, null, null, "задача 15");
+        var activity = new TaskFilter(null, null, null, null, null);
+        var before = PageCursor.ofId(150_000L);
+        var beforeActivity = PageCursor.of(LocalDateTime.of(2025, 1, 2, 0, 0), 1500L);
+        assertIndexed(() -> taskRepository.findResponses(pendingHigh, TaskSort.NEWEST, null, null, 21));
+        assertIndexed(() -> taskRepository.findResponses(pendingHigh, TaskSort.NEWEST, 15L, before, 21));
+        assertIndexed(() -> taskRepository.findResponses(assigneeInProgress, TaskSort.NEWEST, null, null, 21));
+        assertIndexed(() -> taskRepository.findResponses(text, TaskSort.NEWEST, null, null, 21));
+        assertIndexed(() -> taskRepository.findResponses(text, TaskSort.NEWEST, 15L, null, 21));
+        assertIndexed(() -> taskRepository.findResponses(activity, TaskSort.ACTIVITY, null, null, 21));
+        assertIndexed(() -> taskRepository.findResponses(activity, TaskSort.ACTIVITY, null, beforeActivity, 21));
+    }
+
+    @Test
+    void testCommentQueries_UseIndexes() {
+        assertIndexed(() -> commentRepository.findResponsesByTaskId(1500L, PageRequest.of(2, 20)));
+        assertIndexed(() -> commentRepository.findFirstResponsesByTaskId(1500L, PageRequest.ofSize(21)));
+        assertIndexed(() -> commentRepository.findResponsesByTaskIdAfter(
+                1500L, LocalDateTime.of(2025, 1, 1, 12, 0), 100L, PageRequest.ofSize(21)));
+        assertIndexed(() -> commentRepository.findOwnershipByIdAndTaskId(150L, 1500L));
+        assertNoSequentialScan("delete from task_comments where id = $1 and task_id = $2 and created_at = $3");
+    }
+
+    @Test
+    void testCommentQueries_PrunePartitions() {
+        jdbcTemplate.queryForObject(
+                "select task_comments_create_partitions(date '2025-02-01', date '2025-02-01')", Integer.class);
+
+        assertThat(scannedPartitions("""
+                select c.id from task_comments c
+                where c.task_id = 1500 and c.created_at >= timestamp '2025-02-01 12:00'
+                order by c.created_at, c.id limit 21
+                """)).contains("task_comments_p202502").doesNotContain("task_comments_p202501");
+        assertThat(scannedPartitions("""
+                delete from task_comments
+                where id = 150 and task_id = 1150 and created_at = timestamp '2025-01-01 00:02:30'
+                """)).containsExactly("task_comments_p202501");
+    }
+
+    @Test
+    void testForeignKeyLookups_UseIndexes() {
+        assertNoSequentialScan("select 1 from tasks where author_id = $1");
+        assertNoSequentialScan("select 1 from tasks where assignee_id = $1");
+        assertNoSequentialScan("select 1 from task_comments where task_id = $1");
+        assertNoSequentialScan("select 1 from task_comments where user_id = $1");
+    }
+
+    private void assertIndexed(Runnable query) {
+        SqlCaptureInspector.clear();
+        query.run();
+        var statements = SqlCaptureInspector.statements();
+        assertThat(statements).isNotEmpty();
+        statements.forEach(sql -> assertNoSequentialScan(numberParameters(sql)));
+    }
+
+    private void assertNoSequentialScan(String sql) {
+        var json = jdbcTemplate.queryForObject("explain (generic_plan, format json) " + sql, String.class);
+        var scans = new ArrayList<String>();
+        try {
+            collectSequentialScans(objectMapper.readTree(json).get(0).get("Plan"), scans);
+        } catch (Exception e) {
+            throw new IllegalStateException("Не удалось разобрать план запроса: " + sql, e);
+        }
+        assertThat(scans).as("Seq Scan в плане запроса: %s%n%s", sql, json).isEmpty();
+    }
+
+    private void collectSequentialScans(JsonNode plan, List<String> scans) {
+        var relation = plan.path("Relation Name").asText();
+        var table = partitions.getOrDefault(relation, relation);
+        if ("Seq Scan".equals(plan.path("Node Type").asText()) && LARGE_TABLES.contains(table)) {
+            scans.add(relation);
+        }
+        for (var child : plan.path("Plans")) {
+            collectSequentialScans(child, scans);
+        }
+    }
+
+    private List<String> scannedPartitions(String sql) {
+        var json = jdbcTemplate.queryForObject("explain (format json) " + sql, String.class);
+        var relations = new ArrayList<String>();
+        try {
+            collectPartitions(objectMapper.readTree(json).get(0).get("Plan"), relations);
+        } catch (Exception e) {
+            throw new IllegalStateException("Не удалось разобрать план запроса: " + sql, e);
+        }
+        return relations;
+    }
+
+    private static void collectPartitions(JsonNode plan, List<String> relations) {
+        var relation = plan.path("Relation Name").asText();
+        if (relation.startsWith("task_comments_p")) {
+            relations.add(relation);
+        }
+        for (var child : plan.path("Plans")) {
+            collectPartitions(child, relations);
+        }
+    }
+
+    private static String numberParameters(String sql) {
+        var result = new StringBuilder();
+        var index = 0;
+        for (var i = 0; i < sql.length(); i++) {
+            var c = sql.charAt(i);
+            if (c == '?') {
+                result.append('$').append(++index);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,101 @@
+package ru.greemlab.managertask.junit.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.util.SimpleMethodInvocation;
+import ru.greemlab.managertask.config.TaskAccessAuthorizationManager;
+import ru.greemlab.managertask.config.TaskRule;
+import ru.greemlab.managertask.domain.model.AccessPrincipal;
+import ru.greemlab.managertask.domain.model.Role;
+import ru.greemlab.managertask.domain.model.TaskOwnership;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+import ru.greemlab.managertask.domain.model.User;
+import ru.greemlab.managertask.service.TaskOwnershipLoader;
+import ru.greemlab.managertask.service.TaskService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskAccessAuthorizationManagerTest {
+
+    @Mock
+    private TaskOwnershipLoader taskOwnershipLoader;
+
+    @InjectMocks
+    private TaskAccessAuthorizationManager manager;
+
+    private final TaskOwnership ownership = new TaskOwnership(3L, 1L, "admin@mail.ru", 2L, "user@mail.ru");
+
+    @Test
+    void testUpdateStatus_AssigneeGranted() throws Exception {
+        when(taskOwnershipLoader.load(3L)).thenReturn(ownership);
+
+        var decision = manager.authorize(() -> authentication(2L, "user@mail.ru", Role.ROLE_USER),
+                invocation("updateStatus", new Class<?>[]{Long.class, TaskStatus.class, Long.class}, 3L, TaskStatus.COMPLETED, null));
+
+        assertTrue(decision.isGranted());
+    }
+
+    @Test
+    void testUpdateStatus_AuthorDenied() throws Exception {
+        when(taskOwnershipLoader.load(3L)).thenReturn(ownership);
+
+        var decision = manager.authorize(() -> authentication(1L, "admin@mail.ru", Role.ROLE_USER),
+                invocation("updateStatus", new Class<?>[]{Long.class, TaskStatus.class, Long.class}, 3L, TaskStatus.COMPLETED, null));
+
+        assertFalse(decision.isGranted());
+    }
+
+    @Test
+    void testGetComments_AdminSkipsOwnershipLoad() throws Exception {
+        var decision = manager.authorize(() -> authentication(1L, "admin@mail.ru", Role.ROLE_ADMIN),
+                invocation("getCommentsByTask", new Class<?>[]{Long.class, Pageable.class}, 3L, Pageable.unpaged()));
+
+        assertTrue(decision.isGranted());
+        verify(taskOwnershipLoader, never()).load(anyLong());
+    }
+
+    @Test
+    void testGetTasksByAuthor_OnlyOwnList() throws Exception {
+        var user = authentication(2L, "user@mail.ru", Role.ROLE_USER);
+        var types = new Class<?>[]{Long.class, Pageable.class};
+
+        assertTrue(manager.authorize(() -> user, invocation("getTasksByAuthor", types, 2L, Pageable.unpaged())).isGranted());
+        assertFalse(manager.authorize(() -> user, invocation("getTasksByAuthor", types, 1L, Pageable.unpaged())).isGranted());
+        verifyNoInteractions(taskOwnershipLoader);
+    }
+
+    @Test
+    void testDelete_UserDenied() throws Exception {
+        var decision = manager.authorize(() -> authentication(2L, "user@mail.ru", Role.ROLE_USER),
+                invocation("delete", new Class<?>[]{Long.class}, 3L));
+
+        assertFalse(decision.isGranted());
+    }
+
+    @Test
+    void testListScope_DerivedFromParticipantRule() {
+        assertNull(TaskRule.PARTICIPANT.listScope(new AccessPrincipal(1L, "admin@mail.ru", Role.ROLE_ADMIN)));
+        assertEquals(2L, TaskRule.PARTICIPANT.listScope(new AccessPrincipal(2L, "user@mail.ru", Role.ROLE_USER)));
+        assertThrows(IllegalStateException.class,
+                () -> TaskRule.AUTHOR.listScope(new AccessPrincipal(2L, "user@mail.ru", Role.ROLE_USER)));
+    }
+
+    private static Authentication authentication(Long id, String email, Role role) {
+        var user = User.builder().id(id).email(email).role(role).build();
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    private static SimpleMethodInvocation invocation(String name, Class<?>[] types, Object... arguments)
+            throws NoSuchMethodException {
+        return new SimpleMethodInvocation(null, TaskService.class.getMethod(name, types), arguments);
+    }
+}
@@ -0,0 +1,114 @@
+package ru.greemlab.managertask.junit.service;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.greemlab.managertask.domain.model.Role;
+import ru.greemlab.managertask.domain.model.User;
+import ru.greemlab.managertask.repository.UserRepository;
+import ru.greemlab.managertask.service.JwtService;
+import ru.greemlab.managertask.service.TokenVersionService;
+import ru.greemlab.managertask.service.UserCache;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "53A73E5F1C4E0A2FSDFGKLDJFGKJLKFJGKLJFGLKDJLKGJFLKJGFLKJFDKLJGFKK";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private UserCache userCache;
+    private TokenVersionService tokenVersionService;
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(100, 300, new SimpleMeterRegistry());
+        tokenVersionService = new TokenVersionService(userRepository, userCache);
+        jwtService = new JwtService(SECRET, tokenVersionService);
+
+        user = User.builder()
+                .id(7L)
+                .username("testuser")
+                .email("test@test.ru")
+                .password("hash")
+                .role(Role.ROLE_ADMIN)
+                .build();
+        when(userRepository.findById(7L)).thenAnswer(invocation -> Optional.of(user.copy()));
+    }
+
+    @Test
+    void testVerify_ReturnsClaims() {
+        var token = jwtService.verify(jwtService.generateToken(user));
+
+        assertEquals("test@test.ru", token.subject());
+        assertEquals(7L, token.userId());
+        assertEquals(Role.ROLE_ADMIN, token.role());
+        assertEquals(0L, token.version());
+        assertNotNull(token.expiration());
+        assertTrue(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    void testVerify_TamperedTokenRejected() {
+        var token = jwtService.generateToken(user);
+        user.setRole(Role.ROLE_USER);
+        var otherToken = jwtService.generateToken(user);
+        var tampered = otherToken.substring(0, otherToken.lastIndexOf('.'))
+                       + token.substring(token.lastIndexOf('.'));
+
+        assertThrows(JwtException.class, () -> jwtService.verify(tampered));
+    }
+
+    @Test
+    void testToPrincipal_FromClaims() {
+        var token = jwtService.generateToken(user);
+
+        var principal = jwtService.verify(token).toPrincipal();
+
+        assertNotNull(principal);
+        assertEquals(7L, principal.getId());
+        assertEquals("test@test.ru", principal.getUsername());
+        assertEquals(Role.ROLE_ADMIN, principal.getRole());
+    }
+
+    @Test
+    void testIsTokenCurrent_RevokedAfterRoleChange() {
+        var token = jwtService.generateToken(user);
+        assertTrue(jwtService.isTokenCurrent(jwtService.verify(token)));
+
+        tokenVersionService.revoke(user);
+        userCache.refresh(user);
+
+        assertFalse(jwtService.isTokenCurrent(jwtService.verify(token)));
+        var newToken = jwtService.generateToken(user);
+        assertEquals(1L, jwtService.verify(newToken).version());
+        assertTrue(jwtService.isTokenCurrent(jwtService.verify(newToken)));
+    }
+
+    @Test
+    void testIsTokenCurrent_VersionReadFromStoredUser() {
+        user.setTokenVersion(2L);
+        var token = jwtService.verify(jwtService.generateToken(user));
+        user.setTokenVersion(0L);
+        var oldToken = jwtService.verify(jwtService.generateToken(user));
+        user.setTokenVersion(2L);
+
+        assertTrue(jwtService.isTokenCurrent(token));
+        assertFalse(jwtService.isTokenCurrent(oldToken));
+        verify(userRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    void testIsTokenCurrent_DeletedUserRejected() {
+        var token = jwtService.verify(jwtService.generateToken(user));
+        when(userRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertFalse(jwtService.isTokenCurrent(token));
+    }
+}
@@ -1,5 +1,8 @@
 package ru.greemlab.managertask.junit.service;
 
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,28 +14,37 @@ import org.mockito.quality.Strictness;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
 import ru.greemlab.managertask.domain.dto.CommentRequest;
 import ru.greemlab.managertask.domain.dto.CommentResponse;
 import ru.greemlab.managertask.domain.dto.TaskCreateRequest;
 import ru.greemlab.managertask.domain.dto.TaskResponse;
 import ru.greemlab.managertask.domain.dto.TaskUpdateRequest;
+import ru.greemlab.managertask.domain.model.CommentOwnership;
 import ru.greemlab.managertask.domain.model.Role;
 import ru.greemlab.managertask.domain.model.Task;
 import ru.greemlab.managertask.domain.model.TaskComment;
+import ru.greemlab.managertask.domain.model.TaskOwnership;
 import ru.greemlab.managertask.domain.model.TaskPriority;
 import ru.greemlab.managertask.domain.model.TaskStatus;
 import ru.greemlab.managertask.domain.model.User;
+import ru.greemlab.managertask.exception.TaskVersionConflictException;
+import ru.greemlab.managertask.exception.UserNotFoundException;
 import ru.greemlab.managertask.mapper.CommentMapper;
 import ru.greemlab.managertask.mapper.TaskMapper;
 import ru.greemlab.managertask.repository.TaskCommentRepository;
 import ru.greemlab.managertask.repository.TaskRepository;
 import ru.greemlab.managertask.service.SecurityService;
+import ru.greemlab.managertask.service.TaskOwnershipLoader;
+import ru.greemlab.managertask.service.TaskSearchIndex;
 import ru.greemlab.managertask.service.TaskService;
 import ru.greemlab.managertask.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -59,6 +71,15 @@ public class TaskServiceTest {
     @Mock
     private SecurityService securityService;
 
+    @Mock
+    private TaskOwnershipLoader taskOwnershipLoader;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -102,7 +123,10 @@ public class TaskServiceTest {
                 TaskStatus.PENDING.name(),
                 TaskPriority.MEDIUM.name(),
                 task.getAuthor().getId(),
-                task.getAssignee() != null ? task.getAssignee().getId() : null
+                task.getAssignee() != null ? task.getAssignee().getId() : null,
+                0L,
+                0,
+                null
         );
 
         when(taskMapper.toResponse(task)).thenReturn(taskResponse);
@@ -117,11 +141,11 @@ public class TaskServiceTest {
     @Test
     void testUpdateTask() {
         when(securityService.getCurrentUserName()).thenReturn("testuser@test.com");
+        when(taskOwnershipLoader.load(1L)).thenReturn(ownership());
         when(taskRepository.findById(1L)).thenReturn(java.util.Optional.of(task));
         when(userService.getByEmail("testuser@test.com")).thenReturn(user);
         when(userService.getById(user.getId())).thenReturn(user);
         when(taskMapper.toEntityForUpdate(taskUpdateRequest, task, user)).thenReturn(task);
-        when(taskRepository.save(task)).thenReturn(task);
 
         var taskResponse = new TaskResponse(
                 task.getId(),
@@ -130,17 +154,20 @@ public class TaskServiceTest {
                 task.getStatus().name(),
                 task.getPriority().name(),
                 task.getAuthor().getId(),
-                task.getAssignee() != null ? task.getAssignee().getId() : null
+                task.getAssignee() != null ? task.getAssignee().getId() : null,
+                0L,
+                0,
+                null
         );
 
         when(taskMapper.toResponse(task)).thenReturn(taskResponse);
 
-        TaskResponse updatedTask = taskService.updateTask(1L, taskUpdateRequest);
+        TaskResponse updatedTask = taskService.updateTask(1L, taskUpdateRequest, null);
 
         assertNotNull(updatedTask, "Updated task response should not be null");
         assertEquals("Updated Title", updatedTask.title());
         assertEquals("Updated Description", updatedTask.description());
-        verify(taskRepository, times(1)).save(task);
+        verify(taskRepository, never()).save(any());
     }
 
     @Test
@@ -151,16 +178,12 @@ public class TaskServiceTest {
         taskService.delete(1L);
 
         verify(taskRepository, times(1)).deleteById(1L);
+        verify(taskSearchIndex).remove(1L);
     }
 
     @Test
     void testGetTasksByAuthor() {
         Pageable pageable = mock(Pageable.class);
-        Page<Task> taskPage = new PageImpl<>(List.of(task));
-
-        when(userService.getById(user.getId())).thenReturn(user);
-        when(taskRepository.findByAuthor(user, pageable)).thenReturn(taskPage);
-
         var taskResponse = new TaskResponse(
                 task.getId(),
                 "Task Title",
@@ -168,22 +191,38 @@ public class TaskServiceTest {
                 task.getStatus().name(),
                 task.getPriority().name(),
                 task.getAuthor().getId(),
-                task.getAssignee() != null ? task.getAssignee().getId() : null
+                task.getAssignee() != null ? task.getAssignee().getId() : null,
+                0L,
+                0,
+                null
         );
-        when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+        Page<TaskResponse> taskPage = new PageImpl<>(List.of(taskResponse));
+
+        when(userService.exists(user.getId())).thenReturn(true);
+        when(taskRepository.findResponsesByAuthorId(user.getId(), pageable)).thenReturn(taskPage);
 
         Page<TaskResponse> tasks = taskService.getTasksByAuthor(user.getId(), pageable);
 
         assertNotNull(tasks, "Tasks page should not be null");
         assertEquals(1, tasks.getTotalElements(), "Page should have 1 task");
-        verify(taskRepository, times(1)).findByAuthor(user, pageable);
-        verify(userService, times(1)).getById(user.getId());
+        verify(taskRepository, times(1)).findResponsesByAuthorId(user.getId(), pageable);
+        verify(userService, never()).getById(anyLong());
+        verify(taskMapper, never()).toResponse(any(Task.class));
+    }
+
+    @Test
+    void testGetTasksByAssignee_UserNotFound() {
+        when(userService.exists(404L)).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> taskService.getTasksByAssignee(404L, Pageable.unpaged()));
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
     void testAddComment() {
         when(securityService.getCurrentUserName()).thenReturn("testuser@test.com");
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskOwnershipLoader.load(1L)).thenReturn(ownership());
+        when(taskRepository.getReferenceById(1L)).thenReturn(task);
         when(userService.getByEmail("testuser@test.com")).thenReturn(user);
 
         TaskComment comment = new TaskComment();
@@ -216,15 +255,38 @@ public class TaskServiceTest {
         assertNotNull(commentResponseResult, "Comment response should not be null");
         verify(commentRepository, times(1)).save(any(TaskComment.class));
         verify(commentMapper, times(1)).toCommentResponse(any(TaskComment.class));
+        verify(taskRepository, times(1)).incrementCommentCount(eq(1L), any(LocalDateTime.class));
     }
 
     @Test
-    void testUpdateStatus() {
+    void testDeleteComment() {
         when(securityService.getCurrentUserName()).thenReturn("testuser@test.com");
-        when(taskRepository.findById(1L)).thenReturn(java.util.Optional.of(task));
-        task.setStatus(TaskStatus.IN_PROGRESS);
-        when(taskRepository.save(task)).thenReturn(task);
+        when(userService.getByEmail("testuser@test.com")).thenReturn(user);
+        var createdAt = LocalDateTime.of(2025, 1, 15, 10, 0);
+        when(commentRepository.findOwnershipByIdAndTaskId(5L, 1L))
+                .thenReturn(Optional.of(new CommentOwnership(user.getId(), createdAt)));
+        when(commentRepository.deleteByIdAndTaskId(5L, 1L, createdAt)).thenReturn(1);
+
+        taskService.deleteComment(1L, 5L);
+
+        verify(commentRepository, times(1)).deleteByIdAndTaskId(5L, 1L, createdAt);
+        verify(taskRepository, times(1)).decrementCommentCount(1L);
+    }
+
+    @Test
+    void testDeleteComment_NotCommentAuthor() {
+        when(securityService.getCurrentUserName()).thenReturn("testuser@test.com");
+        when(userService.getByEmail("testuser@test.com")).thenReturn(user);
+        when(commentRepository.findOwnershipByIdAndTaskId(5L, 1L))
+                .thenReturn(Optional.of(new CommentOwnership(2L, LocalDateTime.of(2025, 1, 15, 10, 0))));
+
+        assertThrows(AccessDeniedException.class, () -> taskService.deleteComment(1L, 5L));
+        verify(commentRepository, never()).deleteByIdAndTaskId(anyLong(), anyLong(), any(LocalDateTime.class));
+        verify(taskRepository, never()).decrementCommentCount(anyLong());
+    }
 
+    @Test
+    void testUpdateStatus() {
         var taskResponse = new TaskResponse(
                 task.getId(),
                 "Task Title",
@@ -232,24 +294,56 @@ public class TaskServiceTest {
                 TaskStatus.IN_PROGRESS.name(),
                 TaskPriority.MEDIUM.name(),
                 task.getAuthor().getId(),
-                task.getAssignee() != null ? task.getAssignee().getId() : null
+                task.getAssignee() != null ? task.getAssignee().getId() : null,
+                0L,
+                0,
+                null
         );
-        when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+        when(taskRepository.updateStatusById(1L, TaskStatus.IN_PROGRESS, null)).thenReturn(1);
+        when(taskRepository.findResponseById(1L)).thenReturn(java.util.Optional.of(taskResponse));
 
-        TaskResponse updatedTask = taskService.updateStatus(1L, TaskStatus.IN_PROGRESS);
+        TaskResponse updatedTask = taskService.updateStatus(1L, TaskStatus.IN_PROGRESS, null);
 
         assertNotNull(updatedTask);
         assertEquals(TaskStatus.IN_PROGRESS.name(), updatedTask.status());
-        verify(taskRepository, times(1)).save(task);
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any());
+        verify(taskSearchIndex).put(taskResponse);
     }
 
     @Test
-    void testUpdatePriority() {
+    void testUpdateStatus_TaskNotFound() {
+        when(taskRepository.updateStatusById(1L, TaskStatus.IN_PROGRESS, null)).thenReturn(0);
+        when(taskRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> taskService.updateStatus(1L, TaskStatus.IN_PROGRESS, null));
+        verify(taskRepository, never()).findResponseById(any());
+    }
+
+    @Test
+    void testUpdateStatus_StaleVersionRejected() {
+        when(taskRepository.updateStatusById(1L, TaskStatus.IN_PROGRESS, 3L)).thenReturn(0);
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(TaskVersionConflictException.class,
+                () -> taskService.updateStatus(1L, TaskStatus.IN_PROGRESS, 3L));
+    }
+
+    @Test
+    void testUpdateTask_StaleVersionRejected() {
         when(securityService.getCurrentUserName()).thenReturn("testuser@test.com");
+        when(userService.getByEmail("testuser@test.com")).thenReturn(user);
+        when(taskOwnershipLoader.load(1L)).thenReturn(ownership());
         when(taskRepository.findById(1L)).thenReturn(java.util.Optional.of(task));
-        task.setPriority(TaskPriority.HIGH);
-        when(taskRepository.save(task)).thenReturn(task);
+        task.setVersion(5L);
 
+        assertThrows(TaskVersionConflictException.class,
+                () -> taskService.updateTask(1L, taskUpdateRequest, 4L));
+        verify(taskMapper, never()).toEntityForUpdate(any(), any(), any());
+    }
+
+    @Test
+    void testUpdatePriority() {
         var taskResponse = new TaskResponse(
                 task.getId(),
                 "Task Title",
@@ -257,15 +351,79 @@ public class TaskServiceTest {
                 TaskStatus.PENDING.name(),
                 TaskPriority.HIGH.name(),
                 task.getAuthor().getId(),
-                task.getAssignee() != null ? task.getAssignee().getId() : null
+                task.getAssignee() != null ? task.getAssignee().getId() : null,
+                0L,
+                0,
+                null
         );
-        when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+        when(taskRepository.updatePriorityById(1L, TaskPriority.HIGH, null)).thenReturn(1);
+        when(taskRepository.findResponseById(1L)).thenReturn(java.util.Optional.of(taskResponse));
 
-        TaskResponse updatedTask = taskService.updatePriority(1L, TaskPriority.HIGH);
+        TaskResponse updatedTask = taskService.updatePriority(1L, TaskPriority.HIGH, null);
 
         assertNotNull(updatedTask);
         assertEquals(TaskPriority.HIGH.name(), updatedTask.priority());
-        verify(taskRepository, times(1)).save(task);
+        verify(taskRepository, never()).save(any());
     }
-}
 
+    @Test
+    void testUpdateTask_NotAssigneeRejected() {
+        when(securityService.getCurrentUserName()).thenReturn("testuser@test.com");
+        when(userService.getByEmail("testuser@test.com")).thenReturn(user);
+        when(taskOwnershipLoader.load(1L)).thenReturn(
+                new TaskOwnership(1L, 2L, "author@test.com", 2L, "author@test.com"));
+        var request = new TaskUpdateRequest("Updated Title", null, null, null, null);
+
+        assertThrows(RuntimeException.class, () -> taskService.updateTask(1L, request, null));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void testGetCommentsByTask() {
+        Pageable pageable = mock(Pageable.class);
+        var commentResponse = new CommentResponse(1L, "Test comment", task.getId(), user.getId(),
+                user.getEmail(), LocalDateTime.now());
+        when(commentRepository.findResponsesByTaskId(task.getId(), pageable))
+                .thenReturn(new PageImpl<>(List.of(commentResponse)));
+
+        Page<CommentResponse> comments = taskService.getCommentsByTask(task.getId(), pageable);
+
+        assertEquals(List.of(commentResponse), comments.getContent());
+        verify(commentMapper, never()).toCommentResponse(any(TaskComment.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateTasks_PerItemResults() {
+        user.setRole(Role.ROLE_ADMIN);
+        var invalid = new TaskCreateRequest("", "Task Description", TaskStatus.PENDING, TaskPriority.LOW, 1L);
+        var unknownAssignee = new TaskCreateRequest("Task Title", "Task Description", TaskStatus.PENDING, TaskPriority.LOW, 99L);
+        ConstraintViolation<TaskCreateRequest> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("Назначение не может быть пустым");
+
+        when(securityService.getCurrentUserName()).thenReturn("testuser@test.com");
+        when(userService.getByEmail("testuser@test.com")).thenReturn(user);
+        when(userService.getAllById(Set.of(1L, 99L))).thenReturn(Map.of(1L, user));
+        when(validator.validate(invalid)).thenReturn(Set.of(violation));
+        when(taskMapper.toEntity(taskCreateRequest, user, user)).thenReturn(task);
+        when(taskRepository.saveAll(List.of(task))).thenReturn(List.of(task));
+        var taskResponse = new TaskResponse(task.getId(), "Task Title", "Task Description",
+                TaskStatus.PENDING.name(), TaskPriority.MEDIUM.name(), user.getId(), user.getId(), 0L, 0, null);
+        when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+        var response = taskService.createTasks(List.of(taskCreateRequest, invalid, unknownAssignee));
+
+        assertEquals(1, response.created());
+        assertEquals(2, response.failed());
+        assertEquals(taskResponse, response.results().get(0).task());
+        assertEquals("Назначение не может быть пустым", response.results().get(1).error());
+        assertNotNull(response.results().get(2).error());
+        verify(userService, times(1)).getAllById(anySet());
+        verify(userService, never()).getById(anyLong());
+        verify(taskRepository, times(1)).saveAll(anyList());
+    }
+
+    private TaskOwnership ownership() {
+        return new TaskOwnership(task.getId(), user.getId(), user.getEmail(), user.getId(), user.getEmail());
+    }
+}
@@ -0,0 +1,137 @@
+package ru.greemlab.managertask.junit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import ru.greemlab.managertask.domain.dto.TaskChange;
+import ru.greemlab.managertask.domain.dto.TaskResponse;
+import ru.greemlab.managertask.domain.model.PageCursor;
+import ru.greemlab.managertask.domain.model.TaskTombstone;
+import ru.greemlab.managertask.exception.InvalidCursorException;
+import ru.greemlab.managertask.exception.SyncWatermarkExpiredException;
+import ru.greemlab.managertask.repository.TaskRepository;
+import ru.greemlab.managertask.repository.TaskSyncRepository;
+import ru.greemlab.managertask.repository.TaskTombstoneRepository;
+import ru.greemlab.managertask.service.TaskSyncService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskSyncServiceTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskTombstoneRepository tombstoneRepository = mock(TaskTombstoneRepository.class);
+    private final TaskSyncRepository syncRepository = mock(TaskSyncRepository.class);
+    private final LocalDateTime now = LocalDateTime.of(2025, 3, 2, 12, 0);
+    private TaskSyncService taskSyncService;
+
+    @BeforeEach
+    void setUp() {
+        taskSyncService = new TaskSyncService(taskRepository, tombstoneRepository, syncRepository,
+                Duration.ofSeconds(5), Duration.ofDays(30));
+        when(syncRepository.findHorizon(Duration.ofSeconds(5)))
+                .thenReturn(new TaskSyncRepository.SyncHorizon(now, now.minusSeconds(5)));
+    }
+
+    @Test
+    void testGetChanges_FirstSyncSkipsTombstones() {
+        when(taskRepository.findChangesByAssigneeId(eq(2L), any(), eq(0L), any(), any(Pageable.class)))
+                .thenReturn(List.of(change(3L, LocalDateTime.of(2025, 3, 1, 12, 0))));
+
+        var response = taskSyncService.getChangesByAssignee(2L, null, 10);
+
+        assertEquals(1, response.changed().size());
+        assertTrue(response.deleted().isEmpty());
+        assertFalse(response.hasMore());
+        assertEquals(Long.MAX_VALUE, PageCursor.decode(response.watermark()).id());
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    @Test
+    void testGetChanges_TruncatedPageContinuesFromLastRow() {
+        var since = LocalDateTime.of(2025, 3, 1, 12, 0);
+        var last = since.plusMinutes(1);
+        when(taskRepository.findChangesByAssigneeId(eq(2L), eq(since), eq(7L), any(), any(Pageable.class)))
+                .thenReturn(List.of(change(8L, since.plusSeconds(1)), change(9L, last), change(10L, last)));
+        when(tombstoneRepository.findByAssigneeIdDeletedBetween(eq(2L), eq(since), eq(last), any(Pageable.class)))
+                .thenReturn(List.of(tombstone(5L, since.plusSeconds(2))));
+
+        var response = taskSyncService.getChangesByAssignee(2L, PageCursor.of(since, 7L).encode(), 2);
+
+        assertTrue(response.hasMore());
+        assertEquals(List.of(8L, 9L), response.changed().stream().map(TaskResponse::id).toList());
+        assertEquals(List.of(5L), response.deleted());
+        assertEquals(PageCursor.of(last, 9L), PageCursor.decode(response.watermark()));
+    }
+
+    @Test
+    void testGetChanges_TombstonesPagedAndChangesCutAtLastTombstone() {
+        var since = LocalDateTime.of(2025, 3, 1, 12, 0);
+        var cut = since.plusSeconds(2);
+        when(taskRepository.findChangesByAssigneeId(eq(2L), eq(since), eq(7L), any(), any(Pageable.class)))
+                .thenReturn(List.of(change(8L, since.plusSeconds(1)), change(9L, since.plusSeconds(3))));
+        when(tombstoneRepository.findByAssigneeIdDeletedBetween(eq(2L), eq(since), eq(now.minusSeconds(5)), any(Pageable.class)))
+                .thenReturn(List.of(tombstone(4L, since.plusSeconds(1)), tombstone(5L, cut), tombstone(6L, cut),
+                        tombstone(7L, since.plusSeconds(4))));
+        when(tombstoneRepository.findByAssigneeIdDeletedBetween(2L, since, cut, Pageable.unpaged()))
+                .thenReturn(List.of(tombstone(4L, since.plusSeconds(1)), tombstone(5L, cut), tombstone(6L, cut)));
+
+        var response = taskSyncService.getChangesByAssignee(2L, PageCursor.of(since, 7L).encode(), 2);
+
+        assertTrue(response.hasMore());
+        assertEquals(List.of(8L), response.changed().stream().map(TaskResponse::id).toList());
+        assertEquals(List.of(4L, 5L, 6L), response.deleted());
+        assertEquals(PageCursor.of(cut, Long.MAX_VALUE), PageCursor.decode(response.watermark()));
+    }
+
+    @Test
+    void testGetChanges_TaskReassignedAwayAndBackNotDeleted() {
+        var since = LocalDateTime.of(2025, 3, 1, 12, 0);
+        when(taskRepository.findChangesByAssigneeId(eq(2L), eq(since), eq(7L), any(), any(Pageable.class)))
+                .thenReturn(List.of(change(8L, since.plusSeconds(3)), change(9L, since.plusSeconds(4))));
+        when(tombstoneRepository.findByAssigneeIdDeletedBetween(eq(2L), eq(since), eq(now.minusSeconds(5)), any(Pageable.class)))
+                .thenReturn(List.of(tombstone(8L, since.plusSeconds(1)), tombstone(6L, since.plusSeconds(2)),
+                        tombstone(9L, since.plusSeconds(5))));
+
+        var response = taskSyncService.getChangesByAssignee(2L, PageCursor.of(since, 7L).encode(), 10);
+
+        assertEquals(List.of(8L, 9L), response.changed().stream().map(TaskResponse::id).toList());
+        assertEquals(List.of(6L, 9L), response.deleted());
+    }
+
+    @Test
+    void testGetChanges_ExpiredWatermarkRejected() {
+        var watermark = PageCursor.of(now.minusDays(31), 7L).encode();
+
+        assertThrows(SyncWatermarkExpiredException.class, () -> taskSyncService.getChangesByAssignee(2L, watermark, 10));
+        verifyNoInteractions(taskRepository, tombstoneRepository);
+    }
+
+    @Test
+    void testPurgeTombstones_RepeatsWhileBatchIsFull() {
+        when(syncRepository.purgeTombstones(Duration.ofDays(30), 10_000)).thenReturn(10_000, 10_000, 42);
+
+        assertEquals(20_042, taskSyncService.purgeTombstones());
+        verify(syncRepository, times(3)).purgeTombstones(Duration.ofDays(30), 10_000);
+    }
+
+    @Test
+    void testGetChanges_IdOnlyWatermarkRejected() {
+        var watermark = PageCursor.ofId(5L).encode();
+
+        assertThrows(InvalidCursorException.class, () -> taskSyncService.getChangesByAssignee(2L, watermark, 10));
+        verify(taskRepository, never()).findChangesByAssigneeId(anyLong(), any(), any(), any(), any());
+    }
+
+    private static TaskTombstone tombstone(Long taskId, LocalDateTime deletedAt) {
+        return new TaskTombstone(null, taskId, 2L, deletedAt);
+    }
+
+    private static TaskChange change(Long id, LocalDateTime updatedAt) {
+        return new TaskChange(new TaskResponse(id, "Задача", "Описание", "PENDING", "LOW", 1L, 2L, 0L, 0, null), updatedAt);
+    }
+}
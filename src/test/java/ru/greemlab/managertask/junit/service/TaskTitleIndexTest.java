@@ -0,0 +1,108 @@
+package ru.greemlab.managertask.junit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.greemlab.managertask.domain.dto.TaskIndexEntry;
+import ru.greemlab.managertask.domain.dto.TaskSuggestion;
+import ru.greemlab.managertask.domain.model.TaskPriority;
+import ru.greemlab.managertask.domain.model.TaskStatus;
+import ru.greemlab.managertask.service.TaskTitleIndex;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskTitleIndexTest {
+
+    private TaskTitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskTitleIndex();
+        index.put(entry(10L, "Миграция базы данных", TaskStatus.PENDING, TaskPriority.HIGH, 1L, 2L, 0L));
+        index.put(entry(11L, "Миграция схемы отчетов", TaskStatus.IN_PROGRESS, TaskPriority.LOW, 1L, 3L, 0L));
+        index.put(entry(12L, "Отчет для бухгалтерии", TaskStatus.PENDING, TaskPriority.HIGH, 2L, 2L, 0L));
+    }
+
+    @Test
+    void testFind_PrefixOfLastWordNewestFirst() {
+        assertEquals(List.of(11L, 10L), ids(index.find("мигр", null, null, null, null, 10)));
+        assertEquals(List.of(12L, 11L), ids(index.find("отч", null, null, null, null, 10)));
+        assertEquals(List.of(11L), ids(index.find("миграция сх", null, null, null, null, 10)));
+    }
+
+    @Test
+    void testFind_CompletedWordMatchedExactly() {
+        assertTrue(index.find("мигр ", null, null, null, null, 10).isEmpty());
+        assertEquals(List.of(10L), ids(index.find("базы ", null, null, null, null, 10)));
+    }
+
+    @Test
+    void testFind_FiltersAndVisibility() {
+        assertEquals(List.of(10L), ids(index.find("миграция", TaskStatus.PENDING, null, null, null, 10)));
+        assertEquals(List.of(12L, 10L), ids(index.find("", null, TaskPriority.HIGH, 2L, null, 10)));
+        assertEquals(List.of(12L, 10L), ids(index.find("", null, null, null, 2L, 10)));
+        assertTrue(index.find("миграция", null, null, null, 4L, 10).isEmpty());
+        assertEquals(List.of(12L), ids(index.find("", null, null, null, null, 1)));
+    }
+
+    @Test
+    void testPut_UpdateReplacesTokensAndFacets() {
+        index.put(entry(10L, "Резервное копирование", TaskStatus.COMPLETED, TaskPriority.HIGH, 1L, 3L, 1L));
+
+        assertEquals(List.of(11L), ids(index.find("миграция", null, null, null, null, 10)));
+        assertEquals(List.of(10L), ids(index.find("резерв", TaskStatus.COMPLETED, null, 3L, null, 10)));
+        assertTrue(index.find("", TaskStatus.PENDING, null, 3L, null, 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testPut_StaleVersionIgnored() {
+        index.put(entry(10L, "Новое название", TaskStatus.PENDING, TaskPriority.HIGH, 1L, 2L, 2L));
+        index.put(entry(10L, "Старое название", TaskStatus.PENDING, TaskPriority.HIGH, 1L, 2L, 1L));
+
+        assertEquals("Новое название", index.find("назв", null, null, null, null, 10).getFirst().title());
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(11L);
+        index.remove(999L);
+
+        assertEquals(List.of(10L), ids(index.find("мигр", null, null, null, null, 10)));
+        assertTrue(index.find("схемы", null, null, null, null, 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testRemove_CompactsOrdinalsAndKeepsOrder() {
+        for (long id = 100; id < 2100; id++) {
+            index.put(entry(id, "Задача " + id, TaskStatus.COMPLETED, TaskPriority.LOW, 3L, 4L, 0L));
+        }
+        for (long id = 100; id < 1100; id++) {
+            index.remove(id);
+        }
+
+        assertEquals(1003, index.size());
+        assertTrue(index.ordinalCount() - index.size() <= index.ordinalCount() * TaskTitleIndex.MAX_DEAD_FRACTION);
+        assertEquals(List.of(2099L, 2098L), ids(index.find("задача", null, null, 4L, null, 2)));
+        assertEquals(List.of(11L, 10L), ids(index.find("мигр", null, null, null, null, 10)));
+        assertEquals(List.of(12L, 10L), ids(index.find("", TaskStatus.PENDING, null, null, null, 10)));
+        assertTrue(index.find("1099 ", null, null, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void testTokenize() {
+        assertEquals(List.of("еж", "и", "api", "2"), TaskTitleIndex.tokenize("Ёж и API-2!"));
+        assertTrue(TaskTitleIndex.tokenize(null).isEmpty());
+    }
+
+    private static TaskIndexEntry entry(Long id, String title, TaskStatus status, TaskPriority priority,
+                                        Long authorId, Long assigneeId, Long version) {
+        return new TaskIndexEntry(id, title, status, priority, authorId, assigneeId, version);
+    }
+
+    private static List<Long> ids(List<TaskSuggestion> suggestions) {
+        return suggestions.stream().map(TaskSuggestion::id).toList();
+    }
+}
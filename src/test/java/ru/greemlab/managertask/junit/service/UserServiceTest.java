@@ -1,15 +1,19 @@
 package ru.greemlab.managertask.junit.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import ru.greemlab.managertask.domain.model.Role;
 import ru.greemlab.managertask.domain.model.User;
 import ru.greemlab.managertask.repository.UserRepository;
+import ru.greemlab.managertask.service.TokenVersionService;
+import ru.greemlab.managertask.service.UserCache;
 import ru.greemlab.managertask.service.UserService;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,6 +25,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    @Spy
+    private UserCache userCache = new UserCache(100, 300, new SimpleMeterRegistry());
+
     @InjectMocks
     private UserService userService;
 
@@ -98,32 +108,76 @@ class UserServiceTest {
 
     @Test
     void testGetByUsername_UserFound() {
-        when(userRepository.findByUsername(user.getUsername())).thenReturn(java.util.Optional.of(user));
+        when(userRepository.findByUsername(user.getLogin())).thenReturn(java.util.Optional.of(user));
 
-        var foundUser = userService.getByUsername(user.getUsername());
+        var foundUser = userService.getByUsername(user.getLogin());
 
         assertNotNull(foundUser);
-        assertEquals(user.getUsername(), foundUser.getUsername());
-        verify(userRepository, times(1)).findByUsername(user.getUsername());
+        assertEquals(user.getLogin(), foundUser.getLogin());
+        verify(userRepository, times(1)).findByUsername(user.getLogin());
     }
 
     @Test
     void testGetByUsername_UserNotFound() {
-        when(userRepository.findByUsername(user.getUsername())).thenReturn(java.util.Optional.empty());
+        when(userRepository.findByUsername(user.getLogin())).thenReturn(java.util.Optional.empty());
 
-        assertThrows(UsernameNotFoundException.class, () -> userService.getByUsername(user.getUsername()));
+        assertThrows(UsernameNotFoundException.class, () -> userService.getByUsername(user.getLogin()));
     }
 
     @Test
     void testUpdateUserRole() {
-        when(userRepository.findByUsername(user.getUsername())).thenReturn(java.util.Optional.of(user));
+        when(userRepository.findByUsername(user.getLogin())).thenReturn(java.util.Optional.of(user));
         when(userRepository.save(user)).thenReturn(user);
 
         var newRole = Role.ROLE_ADMIN;
-        var updatedUser = userService.updateUserRole(user.getUsername(), newRole);
+        var updatedUser = userService.updateUserRole(user.getLogin(), newRole);
 
         assertNotNull(updatedUser);
         assertEquals(newRole, updatedUser.getRole());
+        verify(tokenVersionService, times(1)).revoke(user);
         verify(userRepository, times(1)).save(updatedUser);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetByEmail_CachedAfterFirstLookup() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(java.util.Optional.of(user));
+
+        var first = userService.getByEmail(user.getEmail());
+        var second = userService.getByEmail(user.getEmail());
+
+        assertEquals(user.getId(), first.getId());
+        assertEquals(user.getId(), second.getId());
+        assertNotSame(first, second);
+        verify(userRepository, times(1)).findByEmail(user.getEmail());
+    }
+
+    @Test
+    void testGetByUsername_CachedAfterFirstLookup() {
+        when(userRepository.findByUsername("testuser")).thenReturn(java.util.Optional.of(user));
+
+        var first = userService.getByUsername("testuser");
+        var second = userService.getByUsername("testuser");
+
+        assertEquals(user.getId(), first.getId());
+        assertEquals(user.getId(), second.getId());
+        verify(userRepository, times(1)).findByUsername("testuser");
+        verify(userRepository, never()).findByUsername(user.getEmail());
+    }
+
+    @Test
+    void testUpdateUserRole_RefreshesCache() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(java.util.Optional.of(user.copy()));
+        when(userRepository.findByUsername(user.getLogin())).thenReturn(java.util.Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        assertEquals(Role.ROLE_USER, userService.getByEmail(user.getEmail()).getRole());
+        userService.updateUserRole(user.getLogin(), Role.ROLE_ADMIN);
+
+        assertEquals(Role.ROLE_ADMIN, userService.getByEmail(user.getEmail()).getRole());
+        assertEquals(Role.ROLE_ADMIN, userService.getById(user.getId()).getRole());
+        assertEquals(Role.ROLE_ADMIN, userService.getByUsername(user.getLogin()).getRole());
+        verify(userRepository, times(1)).findByEmail(user.getEmail());
+        verify(userRepository, times(1)).findByUsername(user.getLogin());
+        verify(userRepository, never()).findById(user.getId());
+    }
+}
@@ -0,0 +1,119 @@
+package ru.greemlab.managertask.junit.service;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.greemlab.managertask.domain.model.Role;
+import ru.greemlab.managertask.domain.model.VerifiedToken;
+import ru.greemlab.managertask.service.VerifiedTokenCache;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class VerifiedTokenCacheTest {
+
+    private final VerifiedToken token = new VerifiedToken(
+            "user@mail.ru", 2L, Role.ROLE_USER, 0L, Instant.now().plusSeconds(3600));
+
+    @Test
+    void testGet_SecondCallIsHit() {
+        var cache = new VerifiedTokenCache(true, 100, new SimpleMeterRegistry());
+        var verifications = new AtomicInteger();
+
+        cache.get("jwt", jwt -> {
+            verifications.incrementAndGet();
+            return token;
+        });
+        var cached = cache.get("jwt", jwt -> {
+            verifications.incrementAndGet();
+            return token;
+        });
+
+        assertSame(token, cached);
+        assertEquals(1, verifications.get());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void testGet_InvalidTokenIsNotCached() {
+        var cache = new VerifiedTokenCache(true, 100, new SimpleMeterRegistry());
+        var expired = mock(ExpiredJwtException.class);
+
+        assertThrows(ExpiredJwtException.class, () -> cache.get("jwt", jwt -> {
+            throw expired;
+        }));
+        assertThrows(ExpiredJwtException.class, () -> cache.get("jwt", jwt -> {
+            throw expired;
+        }));
+        assertEquals(0, cache.stats().hitCount());
+    }
+
+    @Test
+    void testGet_ExpiredEntryIsVerifiedAgain() {
+        var cache = new VerifiedTokenCache(true, 100, new SimpleMeterRegistry());
+        var expiredToken = new VerifiedToken(
+                "user@mail.ru", 2L, Role.ROLE_USER, 0L, Instant.now().minusSeconds(1));
+        var verifications = new AtomicInteger();
+
+        cache.get("jwt", jwt -> {
+            verifications.incrementAndGet();
+            return expiredToken;
+        });
+        cache.get("jwt", jwt -> {
+            verifications.incrementAndGet();
+            return expiredToken;
+        });
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void testGet_EntryExpiresByCacheTicker() {
+        var now = Instant.parse("2025-03-01T12:00:00Z");
+        var clock = new AtomicLong(TimeUnit.SECONDS.toNanos(now.getEpochSecond()));
+        var cache = new VerifiedTokenCache(true, 100, new SimpleMeterRegistry(), clock::get);
+        var shortLived = new VerifiedToken("user@mail.ru", 2L, Role.ROLE_USER, 0L, now.plusSeconds(60));
+        var verifications = new AtomicInteger();
+
+        cache.get("jwt", jwt -> {
+            verifications.incrementAndGet();
+            return shortLived;
+        });
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        cache.get("jwt", jwt -> {
+            verifications.incrementAndGet();
+            return shortLived;
+        });
+        assertEquals(1, verifications.get());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        cache.get("jwt", jwt -> {
+            verifications.incrementAndGet();
+            return shortLived;
+        });
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void testGet_DisabledAlwaysVerifies() {
+        var cache = new VerifiedTokenCache(false, 100, new SimpleMeterRegistry());
+        var verifications = new AtomicInteger();
+
+        cache.get("jwt", jwt -> {
+            verifications.incrementAndGet();
+            return token;
+        });
+        cache.get("jwt", jwt -> {
+            verifications.incrementAndGet();
+            return token;
+        });
+
+        assertEquals(2, verifications.get());
+    }
+}
@@ -1,12 +1,13 @@
 TRUNCATE TABLE users RESTART IDENTITY CASCADE;
-INSERT INTO users (email, username, password, role)
-VALUES ('admin@mail.ru', 'admin',
+TRUNCATE TABLE task_tombstones;
+INSERT INTO users (id, email, username, password, role)
+VALUES (1, 'admin@mail.ru', 'admin',
         '$2a$10$gBY2ViYvLULQSiIdn0E85.bbzDn2z0hAk0S4hicMFikzNWaOEV.86',
         'ROLE_ADMIN'),
-       ('user@mail.ru', 'user',
+       (2, 'user@mail.ru', 'user',
         '$2a$10$OcKeJhVizXLJ2w1VDVf2YeXpyVTXN6aFAL04s3UxMHU3HpFMHisvq',
         'ROLE_USER'),
-       ('user2@mail.ru', 'user2',
+       (3, 'user2@mail.ru', 'user2',
         '$2a$10$HG1gjtPnJJYJZSFHqahn6uGzwmSw8Q/yeaBpOu8JGYWWJ77FbGapO',
         'ROLE_USER');
 INSERT INTO tasks (id, title, description, status, priority, author_id,
@@ -14,4 +15,7 @@ INSERT INTO tasks (id, title, description, status, priority, author_id,
 VALUES (2, 'Интеграционный тест', 'Проверка создания задачи', 'PENDING', 'LOW',
         1, 2),
        (3, 'Интеграционный тест', 'Проверка создания задачи', 'PENDING', 'LOW',
-        2, 2);
\ No newline at end of file
+        2, 2);
+SELECT setval('users_id_seq', 1000);
+SELECT setval('tasks_id_seq', 1000);
+SELECT setval('task_comments_id_seq', 1000);